@@ -0,0 +1,144 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2019 Ricardo Daniel Monteiro Simoes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package ch.hephaistos.utilities.loki.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * This annotation processor generates a binder for every class that declares fields annotated with
+ * <b>@TransferGrid</b> or methods annotated with <b>@TransferMethod</b>.
+ * <p>
+ * A binder reads and writes the annotated fields and calls the annotated methods directly, so Loki does
+ * not have to use reflection for them. It is placed in the same package as the class and named
+ * <b>ClassName_LokiBinder</b>. Loki automatically uses it as soon as it is on the classpath.
+ * <p>
+ * To use the processor, add it to the annotation processor path of your project:
+ *
+ * <pre> <code>
+ * {@literal <}plugin{@literal >}
+ *     {@literal <}artifactId{@literal >}maven-compiler-plugin{@literal <}/artifactId{@literal >}
+ *     {@literal <}configuration{@literal >}
+ *         {@literal <}annotationProcessorPaths{@literal >}
+ *             {@literal <}path{@literal >}
+ *                 {@literal <}groupId{@literal >}ch.hephaistos.utilities{@literal <}/groupId{@literal >}
+ *                 {@literal <}artifactId{@literal >}loki-processor{@literal <}/artifactId{@literal >}
+ *                 {@literal <}version{@literal >}1.9.9{@literal <}/version{@literal >}
+ *             {@literal <}/path{@literal >}
+ *         {@literal <}/annotationProcessorPaths{@literal >}
+ *     {@literal <}/configuration{@literal >}
+ * {@literal <}/plugin{@literal >}
+ * </code> </pre>
+ *
+ * @author Ricardo Daniel Monteiro Simoes
+ */
+public class BinderProcessor extends AbstractProcessor {
+
+    static final String TRANSFER_GRID = "ch.hephaistos.utilities.loki.util.annotations.TransferGrid";
+    static final String TRANSFER_METHOD = "ch.hephaistos.utilities.loki.util.annotations.TransferMethod";
+
+    /**
+     * Must be the same as GridBinder.BINDER_SUFFIX in Loki itself.
+     */
+    static final String BINDER_SUFFIX = "_LokiBinder";
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return new HashSet<>(Arrays.asList(TRANSFER_GRID, TRANSFER_METHOD));
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        Set<TypeElement> classes = new LinkedHashSet<>();
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                Element enclosing = element.getEnclosingElement();
+                if (enclosing instanceof TypeElement) {
+                    classes.add((TypeElement) enclosing);
+                }
+            }
+        }
+
+        for (TypeElement type : classes) {
+            if (isBindable(type)) {
+                writeBinder(type);
+            }
+        }
+        // the annotations are also read by Loki at runtime, so they are not claimed here
+        return false;
+    }
+
+    /**
+     * A binder lives in a separate class of the same package, so it can only be generated for classes
+     * that can be referenced from there.
+     */
+    private boolean isBindable(TypeElement type) {
+        Element current = type;
+        while (current instanceof TypeElement) {
+            TypeElement currentType = (TypeElement) current;
+            if (currentType.getModifiers().contains(Modifier.PRIVATE)
+                    || currentType.getNestingKind() == NestingKind.LOCAL
+                    || currentType.getNestingKind() == NestingKind.ANONYMOUS) {
+                return false;
+            }
+            current = current.getEnclosingElement();
+        }
+        return type.getKind() == ElementKind.CLASS;
+    }
+
+    private void writeBinder(TypeElement type) {
+        String binderName = processingEnv.getElementUtils().getBinaryName(type).toString().replace('$', '_')
+                + BINDER_SUFFIX;
+        BinderSource source = new BinderSource(processingEnv, type, binderName);
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(binderName, type);
+            try (Writer writer = file.openWriter()) {
+                writer.write(source.generate());
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Couldnt write the binder " + binderName + " " + e.getMessage(), type);
+        }
+    }
+}
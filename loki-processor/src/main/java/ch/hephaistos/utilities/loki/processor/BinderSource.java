@@ -0,0 +1,224 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2019 Ricardo Daniel Monteiro Simoes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package ch.hephaistos.utilities.loki.processor;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Types;
+
+/**
+ * Builds the source code of the binder for one class.
+ * <p>
+ * Fields that are neither private nor final are accessed directly. For all other fields a getter
+ * ({@code getX()} or {@code isX()}) and a setter ({@code setX(value)}) of the same type are used if the
+ * class has them. Fields and methods the binder can not reach are left out; Loki uses reflection for them.
+ *
+ * @author Ricardo Daniel Monteiro Simoes
+ */
+final class BinderSource {
+
+    private static final String GRID_BINDER = "ch.hephaistos.utilities.loki.util.access.GridBinder";
+    private static final String FIELD_ACCESSOR = "ch.hephaistos.utilities.loki.util.access.FieldAccessor";
+    private static final String METHOD_INVOKER = "ch.hephaistos.utilities.loki.util.access.MethodInvoker";
+
+    private final ProcessingEnvironment processingEnv;
+    private final Types types;
+    private final TypeElement type;
+    private final String binderName;
+    private final String typeName;
+
+    BinderSource(ProcessingEnvironment processingEnv, TypeElement type, String binderName) {
+        this.processingEnv = processingEnv;
+        this.types = processingEnv.getTypeUtils();
+        this.type = type;
+        this.binderName = binderName;
+        this.typeName = type.getQualifiedName().toString();
+    }
+
+    String generate() {
+        StringBuilder out = new StringBuilder();
+        PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(type);
+        if (!packageElement.isUnnamed()) {
+            out.append("package ").append(packageElement.getQualifiedName()).append(";\n\n");
+        }
+        String simpleName = binderName.substring(binderName.lastIndexOf('.') + 1);
+
+        out.append("/**\n")
+                .append(" * Generated by loki-processor for {@link ").append(typeName).append("}, do not edit.\n")
+                .append(" */\n")
+                .append("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n")
+                .append("public final class ").append(simpleName).append(" implements ").append(GRID_BINDER).append(" {\n\n");
+
+        out.append("    @Override\n")
+                .append("    public ").append(FIELD_ACCESSOR).append(" fieldAccessor(String fieldName) {\n")
+                .append("        switch (fieldName) {\n");
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            if (hasAnnotation(field, BinderProcessor.TRANSFER_GRID)) {
+                appendFieldCase(out, field);
+            }
+        }
+        out.append("            default:\n")
+                .append("                return null;\n")
+                .append("        }\n")
+                .append("    }\n\n");
+
+        out.append("    @Override\n")
+                .append("    public ").append(METHOD_INVOKER).append(" methodInvoker(String methodName) {\n")
+                .append("        switch (methodName) {\n");
+        for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+            if (hasAnnotation(method, BinderProcessor.TRANSFER_METHOD)) {
+                appendMethodCase(out, method);
+            }
+        }
+        out.append("            default:\n")
+                .append("                return null;\n")
+                .append("        }\n")
+                .append("    }\n")
+                .append("}\n");
+        return out.toString();
+    }
+
+    private void appendFieldCase(StringBuilder out, VariableElement field) {
+        String name = field.getSimpleName().toString();
+        boolean isStatic = field.getModifiers().contains(Modifier.STATIC);
+        String receiver = isStatic ? typeName : "((" + typeName + ") target)";
+        TypeMirror fieldType = field.asType();
+
+        String read;
+        String write;
+        if (!field.getModifiers().contains(Modifier.PRIVATE) && !field.getModifiers().contains(Modifier.FINAL)) {
+            read = receiver + "." + name;
+            write = receiver + "." + name + " = %s;";
+        } else {
+            ExecutableElement getter = findAccessor(field, isStatic, true);
+            ExecutableElement setter = findAccessor(field, isStatic, false);
+            if (getter == null || setter == null) {
+                return;
+            }
+            read = receiver + "." + getter.getSimpleName() + "()";
+            write = receiver + "." + setter.getSimpleName() + "(%s);";
+        }
+
+        out.append("            case \"").append(name).append("\":\n")
+                .append("                return new ").append(FIELD_ACCESSOR).append("() {\n")
+                .append("                    @Override\n")
+                .append("                    public Object get(Object target) {\n")
+                .append("                        return ").append(read).append(";\n")
+                .append("                    }\n\n")
+                .append("                    @Override\n")
+                .append("                    public void set(Object target, Object value) {\n")
+                .append("                        ").append(String.format(write, "(" + boxedName(fieldType) + ") value")).append("\n")
+                .append("                    }\n");
+
+        if (fieldType.getKind().isPrimitive()) {
+            String primitive = fieldType.toString();
+            String suffix = Character.toUpperCase(primitive.charAt(0)) + primitive.substring(1);
+            out.append("\n")
+                    .append("                    @Override\n")
+                    .append("                    public ").append(primitive).append(" get").append(suffix).append("(Object target) {\n")
+                    .append("                        return ").append(read).append(";\n")
+                    .append("                    }\n\n")
+                    .append("                    @Override\n")
+                    .append("                    public void set").append(suffix).append("(Object target, ").append(primitive).append(" value) {\n")
+                    .append("                        ").append(String.format(write, "value")).append("\n")
+                    .append("                    }\n");
+        }
+        out.append("                };\n");
+    }
+
+    private void appendMethodCase(StringBuilder out, ExecutableElement method) {
+        if (method.getModifiers().contains(Modifier.PRIVATE) || !method.getParameters().isEmpty()) {
+            return;
+        }
+        String name = method.getSimpleName().toString();
+        String receiver = method.getModifiers().contains(Modifier.STATIC) ? typeName : "((" + typeName + ") target)";
+        out.append("            case \"").append(name).append("\":\n")
+                .append("                return target -> {\n")
+                .append("                    try {\n")
+                .append("                        ").append(receiver).append(".").append(name).append("();\n")
+                .append("                    } catch (Throwable t) {\n")
+                .append("                        throw new java.lang.reflect.InvocationTargetException(t);\n")
+                .append("                    }\n")
+                .append("                };\n");
+    }
+
+    /**
+     * Looks for a non-private getter or setter of the field, with exactly the type of the field.
+     */
+    private ExecutableElement findAccessor(VariableElement field, boolean isStatic, boolean getter) {
+        String name = field.getSimpleName().toString();
+        String capitalized = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        TypeMirror fieldType = field.asType();
+
+        for (ExecutableElement method : ElementFilter.methodsIn(
+                processingEnv.getElementUtils().getAllMembers(type))) {
+            if (method.getModifiers().contains(Modifier.PRIVATE)
+                    || method.getModifiers().contains(Modifier.STATIC) != isStatic) {
+                continue;
+            }
+            String methodName = method.getSimpleName().toString();
+            if (getter) {
+                boolean nameMatches = methodName.equals("get" + capitalized)
+                        || (fieldType.getKind() == TypeKind.BOOLEAN && methodName.equals("is" + capitalized));
+                if (nameMatches && method.getParameters().isEmpty()
+                        && types.isSameType(method.getReturnType(), fieldType)) {
+                    return method;
+                }
+            } else if (methodName.equals("set" + capitalized) && method.getParameters().size() == 1
+                    && types.isSameType(method.getParameters().get(0).asType(), fieldType)) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    private String boxedName(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return types.boxedClass((PrimitiveType) type).getQualifiedName().toString();
+        }
+        return types.erasure(type).toString();
+    }
+
+    private static boolean hasAnnotation(Element element, String annotationName) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            Element annotation = mirror.getAnnotationType().asElement();
+            if (annotation instanceof TypeElement
+                    && ((TypeElement) annotation).getQualifiedName().contentEquals(annotationName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,88 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2019 Ricardo Daniel Monteiro Simoes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package ch.hephaistos.utilities.loki;
+
+import ch.hephaistos.utilities.loki.util.LazyTooltip;
+import ch.hephaistos.utilities.loki.util.binding.ControlPool;
+import ch.hephaistos.utilities.loki.util.binding.FieldBinding;
+import ch.hephaistos.utilities.loki.util.schema.FieldDescriptor;
+import ch.hephaistos.utilities.loki.util.schema.MemberDescriptor;
+import javafx.scene.control.Control;
+
+/**
+ * Prepares and releases the input fields that the cells of {@link ReflectorTable}, {@link ReflectorOutline} and
+ * {@link VirtualReflectorGrid}, and the rows of {@link MultiReflectorGrid}, take from a {@link ControlPool}.
+ *
+ * @author Ricardo Daniel Monteiro Simoes
+ */
+final class CellEditors {
+
+    private CellEditors() {
+    }
+
+    /**
+     * Makes the control of the binding editable according to its field and limits its width.
+     *
+     * @param binding the binding of the field
+     * @param maxWidth the maximum width of the control
+     * @return the control of the binding
+     */
+    static Control prepare(FieldBinding<?, ?> binding, double maxWidth) {
+        FieldDescriptor descriptor = binding.getDescriptor();
+        Control node = binding.getControl();
+        ReflectorGrid.setEditable(node, descriptor.isEditable());
+        node.setMouseTransparent(!descriptor.isEditable());
+        node.setFocusTraversable(descriptor.isEditable());
+        node.setMaxWidth(maxWidth);
+        return node;
+    }
+
+    /**
+     * Gives the control of the binding back to the pool, or only disconnects it if there is no pool.
+     *
+     * @param binding the binding to release, may be null
+     * @param controlPool the pool the control was taken from, may be null
+     */
+    static void release(FieldBinding<?, ?> binding, ControlPool controlPool) {
+        if (binding == null) {
+            return;
+        }
+        if (controlPool != null) {
+            controlPool.release(binding);
+        } else {
+            binding.detach();
+        }
+    }
+
+    /**
+     * Shows the tooltip of the member on a reused control, created the first time the mouse enters it.
+     *
+     * @param control the control, for example a cell
+     * @param descriptor the member the control shows, may be null
+     */
+    static void setTooltip(Control control, MemberDescriptor descriptor) {
+        LazyTooltip.setText(control, descriptor != null && descriptor.hasTooltip() ? descriptor.getTooltip() : null);
+    }
+}
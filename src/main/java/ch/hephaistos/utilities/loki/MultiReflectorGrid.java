@@ -0,0 +1,406 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2019 Ricardo Daniel Monteiro Simoes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package ch.hephaistos.utilities.loki;
+
+import ch.hephaistos.utilities.loki.util.*;
+import ch.hephaistos.utilities.loki.util.binding.ControlPool;
+import ch.hephaistos.utilities.loki.util.binding.FieldBinding;
+import ch.hephaistos.utilities.loki.util.binding.MethodBinding;
+import ch.hephaistos.utilities.loki.util.binding.ObjectGroup;
+import ch.hephaistos.utilities.loki.util.binding.TextInputBinding;
+import ch.hephaistos.utilities.loki.util.interfaces.ChangeListener;
+import ch.hephaistos.utilities.loki.util.schema.EditorKind;
+import ch.hephaistos.utilities.loki.util.schema.FieldDescriptor;
+import ch.hephaistos.utilities.loki.util.schema.MemberDescriptor;
+import ch.hephaistos.utilities.loki.util.schema.MethodDescriptor;
+import ch.hephaistos.utilities.loki.util.statics.ReflectionHelper;
+import ch.hephaistos.utilities.loki.util.statics.ReflectionNodeCollection;
+import javafx.geometry.Insets;
+import javafx.scene.Node;
+import javafx.scene.control.*;
+import javafx.scene.layout.GridPane;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Edits several objects of the same class at once, for example a selection of objects in a list.
+ * <p>
+ * The grid looks like a {@link ReflectorGrid}. A field whose value is the same in all objects shows that value,
+ * a field with different values shows {@link ObjectGroup#MIXED_TEXT}. Changing a field writes the new value into
+ * every object, in parallel for big selections, and the {@link ChangeListener}s are called once with
+ * {@link ChangeListener#onObjectsValueChanged(java.lang.reflect.Field, List, Object, List)} instead of once per
+ * object. Pressing a button calls the method on every object.
+ * <p>
+ * Sub-objects are shown if every object holds one and they are all of the same class, their fields are then
+ * edited the same way. Collections, maps and arrays are only shown as text.
+ *
+ * @author Ricardo Daniel Monteiro Simoes
+ */
+public class MultiReflectorGrid extends GridPane {
+
+    /**
+     * The objects the grid was generated for.
+     */
+    private ObjectGroup group;
+
+    /**
+     * {@link LabelDisplayOrder} for more information
+     */
+    private LabelDisplayOrder displayOrder = LabelDisplayOrder.SIDE_BY_SIDE;
+
+    /**
+     * The max width of the input fields. Standard is set to 300.
+     */
+    private double NODE_WIDTH_LIMIT = 300;
+
+    /**
+     * {@link FieldNamingStrategy} for more information
+     */
+    private FieldNamingStrategy fieldNamingConvention = DefaultFieldNamingStrategy.SPLIT_TO_CAPITALIZED_WORDS;
+
+    /**
+     * {@link MethodNamingStrategy} for more information
+     */
+    private MethodNamingStrategy methodNamingConvention = DefaultMethodNamingStrategy.SPLIT_TO_CAPITALIZED_WORDS;
+
+    /**
+     * The pool the editors are taken from when generating the grid, and given back to when clearing it.
+     */
+    private ControlPool controlPool = ControlPool.getDefault();
+
+    /**
+     * The maximum amount of nested sub-objects that are shown.
+     */
+    private int maxDepth = Integer.MAX_VALUE;
+
+    /**
+     * When the text of TextFields and TextAreas is written into the objects, unless their annotation defines it.
+     */
+    private CommitPolicy commitPolicy = CommitPolicy.EVERY_CHANGE;
+
+    /**
+     * The listeners that only receive the changes made trough this grid.
+     */
+    private final ListenerRegistry listenerRegistry = new ListenerRegistry();
+
+    /**
+     * The bindings of all fields shown in the grid, including the ones of sub-objects.
+     */
+    private final List<FieldBinding<?, ?>> bindings = new ArrayList<>();
+
+    /**
+     * The group of sub-objects every sub-object row was generated for, null if it was not expanded.
+     */
+    private final List<SubGroupSlot> subGroupSlots = new ArrayList<>();
+
+    /**
+     * Sets a standard formatting for the GridPane.
+     */
+    public MultiReflectorGrid() {
+        this.setHgap(5);
+        this.setVgap(5);
+        this.setPadding(new Insets(10, 10, 10, 10));
+    }
+
+    /**
+     * Shows the given objects, which have to be of the same class.
+     *
+     * @param objects the objects to edit together
+     * @throws IllegalArgumentException if there are no objects, or they are not all of the same class
+     */
+    public void transformIntoGrid(Collection<?> objects) {
+        Objects.requireNonNull(objects, "The received Collection is null!");
+        group = new ObjectGroup(objects);
+        generateGrid();
+    }
+
+    /**
+     * Shows the current values of the objects. If a sub-object was replaced in one of the objects, the grid is
+     * generated anew.
+     */
+    public void refresh() {
+        if (group == null) {
+            return;
+        }
+        for (SubGroupSlot slot : subGroupSlots) {
+            if (!Objects.equals(slot.owner.subGroup(slot.descriptor), slot.subGroup)) {
+                generateGrid();
+                return;
+            }
+        }
+        for (FieldBinding<?, ?> binding : bindings) {
+            binding.pushValue();
+        }
+    }
+
+    /**
+     * @return the objects shown, or an empty list if no objects were shown yet
+     */
+    public List<Object> getObjects() {
+        return group == null ? new ArrayList<>() : group.getObjects();
+    }
+
+    private void generateGrid() {
+        clearGrid();
+        Map<ObjectGroup, String> visited = new HashMap<>();
+        String path = group.getType().getSimpleName();
+        visited.put(group, path);
+        List<Node> nodes = new ArrayList<>();
+        layoutGroup(group, path, 0, 0, visited, nodes);
+        getChildren().setAll(nodes);
+    }
+
+    /**
+     * Places the nodes of the members of a group at the rows of its {@link LayoutPlan}, shifted by the rows of
+     * the sub-objects before them.
+     *
+     * @return the first row after the group
+     */
+    private int layoutGroup(ObjectGroup owner, String path, int depth, int startRow, Map<ObjectGroup, String> visited,
+                            List<Node> nodes) {
+        LayoutPlan plan = LayoutPlan.of(owner.getType(), displayOrder);
+        int firstRow = startRow;
+        for (LayoutPlan.Entry entry : plan.getEntries()) {
+            MemberDescriptor member = entry.getMember();
+            if (entry.isSubObject()) {
+                firstRow += layoutSubGroup(owner, (FieldDescriptor) member, path, depth,
+                        firstRow + entry.getLabelRow(), visited, nodes);
+                continue;
+            }
+            Label label;
+            Node node;
+            if (member instanceof MethodDescriptor) {
+                MethodDescriptor descriptor = (MethodDescriptor) member;
+                Button button = new Button(descriptor.getButtonText());
+                button.setDisable(!descriptor.isEnabled());
+                button.setMaxWidth(NODE_WIDTH_LIMIT);
+                new MethodBinding(descriptor, button, owner).setListenerRegistry(listenerRegistry);
+                label = createLabel(member, descriptor.getLabelText(methodNamingConvention));
+                node = button;
+            } else {
+                FieldDescriptor descriptor = (FieldDescriptor) member;
+                label = createLabel(member, descriptor.getLabelText(fieldNamingConvention));
+                node = isShownAsText(descriptor.getEditorKind())
+                        ? new Label(String.valueOf(owner.read(descriptor))) : createEditor(descriptor, owner);
+            }
+            place(nodes, label, entry.getLabelColumn(), firstRow + entry.getLabelRow());
+            place(nodes, node, entry.getNodeColumn(), firstRow + entry.getNodeRow());
+        }
+        return firstRow + plan.getRowCount();
+    }
+
+    /**
+     * @return the amount of rows used by the sub-object
+     */
+    private int layoutSubGroup(ObjectGroup owner, FieldDescriptor descriptor, String ownerPath, int depth, int row,
+                               Map<ObjectGroup, String> visited, List<Node> nodes) {
+        String label = descriptor.getLabelText(fieldNamingConvention);
+        String subPath = ownerPath + " > " + label;
+        ObjectGroup subGroup = owner.subGroup(descriptor);
+        subGroupSlots.add(new SubGroupSlot(descriptor, owner, subGroup));
+        if (subGroup == null) {
+            Object value = owner.read(descriptor);
+            return addTextRow(createLabel(descriptor, label),
+                    value == ObjectGroup.MIXED ? ObjectGroup.MIXED_TEXT : String.valueOf(value), row, nodes);
+        } else if (visited.containsKey(subGroup)) {
+            return addTextRow(createLabel(descriptor, label), "\u2192 " + visited.get(subGroup), row, nodes);
+        } else if (depth >= maxDepth) {
+            return addTextRow(createLabel(descriptor, label), "[" + subGroup.getType().getSimpleName() + "]", row,
+                    nodes);
+        }
+        visited.put(subGroup, subPath);
+        addSeparator(row, nodes);
+        place(nodes, new Label(label + ":"), 0, row + 1);
+        int endRow = layoutGroup(subGroup, subPath, depth + 1, row + 2, visited, nodes);
+        addSeparator(endRow, nodes);
+        return endRow + 1 - row;
+    }
+
+    private int addTextRow(Label label, String text, int row, List<Node> nodes) {
+        place(nodes, label, 0, row);
+        place(nodes, new Label(text), displayOrder.getNodeColumn(), row + displayOrder.getNodeRowOffset());
+        return displayOrder.getRowsPerEntry();
+    }
+
+    private void addSeparator(int row, List<Node> nodes) {
+        for (int column = 0; column < displayOrder.getColumnCount(); column++) {
+            place(nodes, new Separator(), column, row);
+        }
+    }
+
+    private static void place(List<Node> nodes, Node node, int column, int row) {
+        GridPane.setConstraints(node, column, row);
+        nodes.add(node);
+    }
+
+    private static boolean isShownAsText(EditorKind kind) {
+        return kind == EditorKind.COLLECTION || kind == EditorKind.MAP || kind == EditorKind.PRIMITIVE_ARRAY;
+    }
+
+    private Label createLabel(MemberDescriptor descriptor, String text) {
+        Label label = new Label(text);
+        if (descriptor.hasTooltip()) {
+            LazyTooltip.install(label, descriptor.getTooltip());
+        }
+        return label;
+    }
+
+    private Control createEditor(FieldDescriptor descriptor, ObjectGroup owner) {
+        FieldBinding<?, ?> binding = ReflectionNodeCollection.createBinding(descriptor, owner, group, controlPool);
+        bindings.add(binding);
+        binding.setListenerRegistry(listenerRegistry);
+        if (binding instanceof TextInputBinding) {
+            CommitPolicy fieldPolicy = descriptor.getCommitPolicy();
+            ((TextInputBinding<?>) binding).setCommitPolicy(fieldPolicy != null ? fieldPolicy : commitPolicy);
+        }
+        return CellEditors.prepare(binding, NODE_WIDTH_LIMIT);
+    }
+
+    private void clearGrid() {
+        getChildren().clear();
+        for (FieldBinding<?, ?> binding : bindings) {
+            CellEditors.release(binding, controlPool);
+        }
+        bindings.clear();
+        subGroupSlots.clear();
+    }
+
+    /**
+     * Sets the format for the grid.
+     * <p>
+     * {@link LabelDisplayOrder} for information about the different avaliable formats.
+     *
+     * @param labelDisplayOrder the new labelDisplayOrder
+     */
+    public void setLabelDisplayOrder(LabelDisplayOrder labelDisplayOrder) {
+        displayOrder = labelDisplayOrder;
+    }
+
+    /**
+     * Manually set your own limit to how wide TextInputs can get. Standard is set to 300.
+     * <b>This does not change the Width of an already generated Grid!</b>
+     *
+     * @param limit the max width to be use for the input fields.
+     */
+    public void setNodeWidthLimit(double limit) {
+        NODE_WIDTH_LIMIT = limit;
+    }
+
+    /**
+     * @param fieldNamingStrategy The {@link FieldNamingStrategy} to use
+     */
+    public void setFieldNamingStrategy(FieldNamingStrategy fieldNamingStrategy) {
+        fieldNamingConvention = fieldNamingStrategy;
+    }
+
+    public void setMethodNamingConvention(MethodNamingStrategy methodNamingStrategy) {
+        methodNamingConvention = methodNamingStrategy;
+    }
+
+    /**
+     * Sets the pool the editors are taken from.
+     *
+     * @param controlPool the pool to use, or null to always create new editors
+     */
+    public void setControlPool(ControlPool controlPool) {
+        this.controlPool = controlPool;
+    }
+
+    public ControlPool getControlPool() {
+        return controlPool;
+    }
+
+    /**
+     * Limits how many levels of nested sub-objects are shown, see {@link ReflectorGrid#setMaxDepth(int)}.
+     *
+     * @param maxDepth the maximum amount of nested sub-objects to show
+     */
+    public void setMaxDepth(int maxDepth) {
+        if (maxDepth < 0) {
+            throw new IllegalArgumentException("The max depth can't be negative: " + maxDepth);
+        }
+        this.maxDepth = maxDepth;
+    }
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * Decides when the text of TextFields and TextAreas is written into the objects, see
+     * {@link ReflectorGrid#setCommitPolicy(CommitPolicy)}. As every write goes to all objects, writing on
+     * Enter or after a delay is recommended for big selections.
+     * <b>This does not change an already generated Grid!</b>
+     *
+     * @param commitPolicy the policy to use
+     */
+    public void setCommitPolicy(CommitPolicy commitPolicy) {
+        this.commitPolicy = Objects.requireNonNull(commitPolicy, "The commit policy is null!");
+    }
+
+    public CommitPolicy getCommitPolicy() {
+        return commitPolicy;
+    }
+
+    /**
+     * @return the registry of listeners that only receive the changes made trough this grid, see
+     * {@link ReflectorGrid#getListenerRegistry()}
+     */
+    public ListenerRegistry getListenerRegistry() {
+        return listenerRegistry;
+    }
+
+    /**
+     * Use this function to add an object to be called every time a value is updated trough reflection.
+     * {@link ReflectorGrid#addChangeListener(ChangeListener)} for more information
+     *
+     * @param object an object that implemented  {@link ChangeListener}
+     */
+    public void addChangeListener(ChangeListener object) {
+        ReflectionHelper.addInterfaceToUpdate(object);
+    }
+
+    /**
+     * Remembers which sub-objects a row was generated for, so that {@link #refresh()} notices replaced sub-objects.
+     */
+    private static final class SubGroupSlot {
+
+        private final FieldDescriptor descriptor;
+        private final ObjectGroup owner;
+        private final ObjectGroup subGroup;
+
+        private SubGroupSlot(FieldDescriptor descriptor, ObjectGroup owner, ObjectGroup subGroup) {
+            this.descriptor = descriptor;
+            this.owner = owner;
+            this.subGroup = subGroup;
+        }
+    }
+}
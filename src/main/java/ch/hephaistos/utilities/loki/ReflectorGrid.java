@@ -25,23 +25,50 @@
 package ch.hephaistos.utilities.loki;
 
 import ch.hephaistos.utilities.loki.util.*;
-import ch.hephaistos.utilities.loki.util.annotations.TransferGrid;
-import ch.hephaistos.utilities.loki.util.annotations.TransferMethod;
+import ch.hephaistos.utilities.loki.util.binding.ArrayEditor;
+import ch.hephaistos.utilities.loki.util.binding.CollectionEditor;
+import ch.hephaistos.utilities.loki.util.binding.ControlPool;
+import ch.hephaistos.utilities.loki.util.binding.FieldBinding;
+import ch.hephaistos.utilities.loki.util.binding.LabelBinding;
+import ch.hephaistos.utilities.loki.util.binding.MethodBinding;
+import ch.hephaistos.utilities.loki.util.binding.TextInputBinding;
+import ch.hephaistos.utilities.loki.util.binding.ValueSnapshot;
 import ch.hephaistos.utilities.loki.util.interfaces.ChangeListener;
+import ch.hephaistos.utilities.loki.util.schema.ClassDescriptor;
+import ch.hephaistos.utilities.loki.util.schema.EditorKind;
+import ch.hephaistos.utilities.loki.util.schema.FieldDescriptor;
+import ch.hephaistos.utilities.loki.util.schema.MemberDescriptor;
+import ch.hephaistos.utilities.loki.util.schema.MethodDescriptor;
 import ch.hephaistos.utilities.loki.util.statics.ReflectionHelper;
 import ch.hephaistos.utilities.loki.util.statics.ReflectionNodeCollection;
-import ch.hephaistos.utilities.loki.util.statics.TypeHelper;
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyDoubleProperty;
+import javafx.beans.property.ReadOnlyDoubleWrapper;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
 import javafx.geometry.Insets;
+import javafx.scene.Cursor;
 import javafx.scene.Node;
 import javafx.scene.control.*;
 import javafx.scene.layout.GridPane;
 import javafx.util.Pair;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
 
 /**
  * This class is used in conjunction with TransferGrid.java and enables a user
@@ -100,6 +127,136 @@ public class ReflectorGrid extends GridPane{
      */
     private MethodNamingStrategy methodNamingConvention = DefaultMethodNamingStrategy.SPLIT_TO_CAPITALIZED_WORDS;
 
+    /**
+     * Contains the bindings of all fields shown in the grid, including the ones of sub-objects.
+     * They are used by {@link #refresh()} to show new values without rebuilding the grid.
+     */
+    private final List<FieldBinding<?, ?>> bindings = new ArrayList<>();
+
+    /**
+     * Contains the bindings of all buttons shown in the grid, including the ones of sub-objects.
+     */
+    private final List<MethodBinding> methodBindings = new ArrayList<>();
+
+    /**
+     * Contains all sub-objects shown in the grid, together with the field that holds them. If one of those
+     * fields now holds another object, the grid needs to be rebuilt.
+     */
+    private final List<SubObjectSlot> subObjectSlots = new ArrayList<>();
+
+    /**
+     * The pool the editors are taken from when generating the grid, and given back to when clearing it.
+     */
+    private ControlPool controlPool = ControlPool.getDefault();
+
+    /**
+     * The settings that influence the layout of the grid, as they were when the grid was generated.
+     */
+    private List<Object> generatedLayout;
+
+    /**
+     * If set, sub-objects are shown in collapsed sections whose content is only generated when they are
+     * expanded for the first time. {@link #setLazySubObjects(boolean)} for more information
+     */
+    private boolean lazySubObjects = false;
+
+    /**
+     * If set, the content of a lazy sub-object section is released again when it is collapsed.
+     */
+    private boolean releaseCollapsedSubObjects = false;
+
+    /**
+     * The maximum amount of nested sub-objects that are shown. Sub-objects deeper than that are only
+     * shown as a row with their class name.
+     */
+    private int maxDepth = Integer.MAX_VALUE;
+
+    /**
+     * If set, fields are shown as plain labels until they are edited.
+     * {@link #setLightweightRendering(boolean)} for more information
+     */
+    private boolean lightweightRendering = false;
+
+    /**
+     * When the text of TextFields and TextAreas is written into the fields, unless their annotation defines it.
+     * {@link #setCommitPolicy(CommitPolicy)} for more information
+     */
+    private CommitPolicy commitPolicy = CommitPolicy.EVERY_CHANGE;
+
+    /**
+     * The listeners that only receive the changes made trough this grid and the grids nested in it.
+     */
+    private ListenerRegistry listenerRegistry = new ListenerRegistry();
+
+    /**
+     * How deep this grid is nested in the grid the user created. 0 for the grid the user created.
+     */
+    private int depth = 0;
+
+    /**
+     * The name under which this grid shows its object, used by reference rows pointing to it.
+     * Null for the grid the user created, which uses the simple class name of its object.
+     */
+    private String path;
+
+    /**
+     * Objects already shown by the grids this grid is nested in, mapped to the path they are shown under.
+     */
+    private Map<Object, String> ancestorObjects = Collections.emptyMap();
+
+    /**
+     * All objects shown during the last generation, mapped to the path they are shown under. It is
+     * identity based, so that every distinct object is only expanded once, no matter how often it is
+     * referenced or whether its class overrides equals().
+     */
+    private Map<Object, String> visitedObjects = new IdentityHashMap<>();
+
+    /**
+     * The values read ahead of time by {@link #transformIntoGridAsync(Object)}. Only set while the nodes
+     * are created from it.
+     */
+    private ValueSnapshot snapshot;
+
+    /**
+     * The asynchronous generation that did not finish yet, if any.
+     */
+    private CompletableFuture<Void> pendingGeneration;
+
+    /**
+     * The time in nanoseconds a progressive generation may spend per frame. 0 disables progressive generation.
+     * {@link #setProgressiveGenerationBudget(long)} for more information
+     */
+    private long progressiveBudget = 0;
+
+    /**
+     * The last generation, which might still be adding nodes if it is progressive.
+     */
+    private Generation runningGeneration;
+
+    private final ReadOnlyDoubleWrapper generationProgress = new ReadOnlyDoubleWrapper(this, "generationProgress", 1);
+
+    /**
+     * Only the rows whose label or field name contain this text are shown.
+     * {@link #filterProperty()} for more information
+     */
+    private final StringProperty filter = new SimpleStringProperty(this, "filter", "");
+
+    /**
+     * The index over the rows of the last generation, null until it added all its nodes.
+     */
+    private FilterIndex filterIndex;
+
+    /**
+     * The nodes of every row in {@link #filterIndex}, and the sub-objects they belong to.
+     */
+    private List<Node[]> filterRows = Collections.emptyList();
+    private List<FilterGroup> filterGroups = Collections.emptyList();
+
+    /**
+     * The rows that are currently shown.
+     */
+    private BitSet shownRows = new BitSet();
+
     /**
      * Sets a standard formatting for the GridPane.
      */
@@ -107,6 +264,7 @@ public class ReflectorGrid extends GridPane{
         this.setHgap(5);
         this.setVgap(5);
         this.setPadding(new Insets(10, 10, 10, 10));
+        filter.addListener((observable, oldFilter, newFilter) -> applyFilter());
     }
 
     /**
@@ -124,6 +282,17 @@ public class ReflectorGrid extends GridPane{
         this.NODE_WIDTH_LIMIT = refGrid.getNodeWidth();
         this.displayOrder = refGrid.getDisplayOrder();
         this.fieldNamingConvention = refGrid.getFieldNamingConvention();
+        this.methodNamingConvention = refGrid.getMethodNamingConvention();
+        this.controlPool = refGrid.getControlPool();
+        this.lazySubObjects = refGrid.isLazySubObjects();
+        this.releaseCollapsedSubObjects = refGrid.isReleaseCollapsedSubObjects();
+        this.maxDepth = refGrid.getMaxDepth();
+        this.lightweightRendering = refGrid.isLightweightRendering();
+        this.commitPolicy = refGrid.getCommitPolicy();
+        this.listenerRegistry = refGrid.getListenerRegistry();
+        this.progressiveBudget = refGrid.progressiveBudget;
+        this.filter.set(refGrid.getFilter());
+        filter.addListener((observable, oldFilter, newFilter) -> applyFilter());
     }
 
 
@@ -135,205 +304,710 @@ public class ReflectorGrid extends GridPane{
      */
     public void transformIntoGrid(Object object) {
         Objects.requireNonNull(object, "The received Object is null!");
+        cancelPendingGeneration();
         setGridObject(object);
         generateGrid();
     }
 
+    /**
+     * Does the same as {@link #transformIntoGrid(Object)}, but keeps the work on the JavaFX Application
+     * Thread to a minimum. The classes are scanned and the values of the object read and converted on the
+     * common ForkJoinPool; only the nodes are created on the JavaFX Application Thread afterwards.
+     * <p>
+     * If another object is shown before the generation finished, the generation is cancelled and the returned
+     * future completes with a {@link CancellationException}. Cancelling the future has the same effect.
+     * Like every other method of the grid, this has to be called on the JavaFX Application Thread.
+     *
+     * @param object object that the UI will represent
+     * @return a future that completes once the grid shows the object
+     */
+    public CompletableFuture<Void> transformIntoGridAsync(Object object) {
+        return transformIntoGridAsync(object, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Same as {@link #transformIntoGridAsync(Object)}, but reads the object on the given executor.
+     *
+     * @param object object that the UI will represent
+     * @param executor the executor reading the object
+     * @return a future that completes once the grid shows the object
+     */
+    public CompletableFuture<Void> transformIntoGridAsync(Object object, Executor executor) {
+        Objects.requireNonNull(object, "The received Object is null!");
+        cancelPendingGeneration();
+        CompletableFuture<Void> generation = new CompletableFuture<>();
+        pendingGeneration = generation;
+
+        WalkSettings settings = new WalkSettings(this, object);
+        CompletableFuture.supplyAsync(() -> takeSnapshot(object, settings, generation), executor)
+                .whenComplete((valueSnapshot, error) -> Platform.runLater(() -> {
+                    if (pendingGeneration == generation) {
+                        pendingGeneration = null;
+                    }
+                    if (generation.isDone()) {
+                        return;
+                    }
+                    if (error != null) {
+                        generation.completeExceptionally(error instanceof CompletionException ? error.getCause() : error);
+                        return;
+                    }
+                    try {
+                        setGridObject(object);
+                        snapshot = valueSnapshot;
+                        generateGrid();
+                        whenGenerated().whenComplete((result, generationError) -> {
+                            if (generationError != null) {
+                                generation.completeExceptionally(generationError);
+                            } else {
+                                generation.complete(null);
+                            }
+                        });
+                    } catch (RuntimeException e) {
+                        generation.completeExceptionally(e);
+                    } finally {
+                        snapshot = null;
+                    }
+                }));
+        return generation;
+    }
+
+    private void cancelPendingGeneration() {
+        if (pendingGeneration != null) {
+            pendingGeneration.cancel(false);
+            pendingGeneration = null;
+        }
+    }
+
+    /**
+     * Walks trough the object the same way {@link #generateGrid()} does and reads all values that will be
+     * shown. Every class met on the way is scanned, so that generating the grid afterwards finds everything
+     * cached.
+     *
+     * The walk runs on another thread, so it only reads the settings copied before, never the fields of the grid.
+     *
+     * @param object the object to read
+     * @param settings the settings of the grid, copied on the JavaFX Application Thread
+     * @param generation the generation the snapshot is taken for; reading stops once it is cancelled
+     * @return the snapshot of the values
+     */
+    private static ValueSnapshot takeSnapshot(Object object, WalkSettings settings,
+                                              CompletableFuture<Void> generation) {
+        ValueSnapshot valueSnapshot = new ValueSnapshot();
+        Map<Object, String> visited = new IdentityHashMap<>(settings.ancestorObjects);
+        visited.put(object, settings.path);
+        snapshotObject(object, settings.path, settings.depth, visited, settings, valueSnapshot, generation);
+        return valueSnapshot;
+    }
+
+    private static void snapshotObject(Object object, String objectPath, int objectDepth, Map<Object, String> visited,
+                                       WalkSettings settings, ValueSnapshot valueSnapshot,
+                                       CompletableFuture<Void> generation) {
+        if (generation.isDone()) {
+            throw new CancellationException("The generation was cancelled");
+        }
+        for (LayoutPlan.Entry entry : LayoutPlan.of(object.getClass(), settings.displayOrder).getEntries()) {
+            if (entry.getMember() instanceof MethodDescriptor) {
+                ((MethodDescriptor) entry.getMember()).getLabelText(settings.methodNamingConvention);
+                continue;
+            }
+            FieldDescriptor descriptor = (FieldDescriptor) entry.getMember();
+            descriptor.getLabelText(settings.fieldNamingConvention);
+            if (!entry.isSubObject()) {
+                valueSnapshot.record(descriptor, object);
+                continue;
+            }
+            String subObjectPath = getSubObjectPath(objectPath, descriptor, settings.fieldNamingConvention);
+            SubObjectSlot slot = createSlot(descriptor, object, subObjectPath, objectDepth, settings.maxDepth, visited);
+            if (slot.kind == SubObjectKind.EXPANDED && !settings.lazySubObjects) {
+                snapshotObject(slot.value, subObjectPath, objectDepth + 1, visited, settings, valueSnapshot, generation);
+            }
+        }
+    }
+
 
     /**
-     * This Method can be used externally to regenerate the Grid.
-     * This is supposed to be used when you do changes to the layout after generating the Grid.
+     * Shows another object of the same class in this Grid, without creating any new nodes.
+     * <p>
+     * All controls are kept and connected to the fields of the new object, and only the controls that show
+     * a different value are updated. If the object is of another class, one of its sub-objects is of another
+     * class than before, the sub-objects are shared or nested differently, the layout changed, or a progressive
+     * generation is still running, the Grid is generated anew like with
+     * {@link #transformIntoGrid(Object)}.
+     *
+     * @param object object that the UI will represent from now on
+     */
+    public void rebind(Object object) {
+        Objects.requireNonNull(object, "The received Object is null!");
+        cancelPendingGeneration();
+        if (object.getClass() != gridObject.getClass() || !currentLayout().equals(generatedLayout) || isGenerating()) {
+            transformIntoGrid(object);
+            return;
+        }
+
+        List<Object> fieldHandles = new ArrayList<>(bindings.size());
+        List<Object> methodHandles = new ArrayList<>(methodBindings.size());
+        List<SubObjectSlot> slots = new ArrayList<>(subObjectSlots.size());
+        Map<Object, String> visited = new IdentityHashMap<>(ancestorObjects);
+        visited.put(object, getPath(object));
+        collectHandles(object, getPath(object), depth, visited, fieldHandles, methodHandles, slots);
+        if (!hasSameStructure(slots)) {
+            transformIntoGrid(object);
+            return;
+        }
+
+        setGridObject(object);
+        visitedObjects = visited;
+        for (int i = 0; i < bindings.size(); i++) {
+            bindings.get(i).rebind(fieldHandles.get(i), object);
+        }
+        for (int i = 0; i < methodBindings.size(); i++) {
+            methodBindings.get(i).rebind(methodHandles.get(i));
+        }
+        for (int i = 0; i < slots.size(); i++) {
+            SubObjectSection section = subObjectSlots.get(i).section;
+            subObjectSlots.set(i, slots.get(i).withSection(section));
+            if (section != null) {
+                section.rebind(slots.get(i).value);
+            }
+        }
+    }
+
+    /**
+     * Walks trough the object in the same order in which {@link #generateGrid()} creates the nodes, and
+     * collects the object every field and method belongs to.
+     *
+     * Sub-objects in lazy sections are not walked, their sections take care of them.
+     */
+    private void collectHandles(Object object, String objectPath, int objectDepth, Map<Object, String> visited,
+                                List<Object> fieldHandles, List<Object> methodHandles, List<SubObjectSlot> slots) {
+        for (MemberDescriptor member : ClassDescriptor.of(object.getClass()).getMembers()) {
+            if (member instanceof MethodDescriptor) {
+                methodHandles.add(object);
+                continue;
+            }
+            FieldDescriptor descriptor = (FieldDescriptor) member;
+            if (!descriptor.isSubObject()) {
+                fieldHandles.add(object);
+                continue;
+            }
+            String subObjectPath = getSubObjectPath(objectPath, descriptor, fieldNamingConvention);
+            SubObjectSlot slot = createSlot(descriptor, object, subObjectPath, objectDepth, maxDepth, visited);
+            slots.add(slot);
+            if (slot.kind == SubObjectKind.EXPANDED && !lazySubObjects) {
+                collectHandles(slot.value, subObjectPath, objectDepth + 1, visited, fieldHandles, methodHandles, slots);
+            }
+        }
+    }
+
+    /**
+     * Decides how the sub-object held by the given field is shown, and marks it as visited if it will be
+     * expanded.
+     *
+     * @param descriptor the descriptor of the field holding the sub-object
+     * @param owner the object the field belongs to
+     * @param subObjectPath the path the sub-object is shown under if it gets expanded
+     * @param ownerDepth the depth of the owner
+     * @param visited the objects that were already expanded
+     * @return the slot describing the sub-object
+     */
+    private static SubObjectSlot createSlot(FieldDescriptor descriptor, Object owner, String subObjectPath,
+                                            int ownerDepth, int maxDepth, Map<Object, String> visited) {
+        Object value = descriptor.getAccessor().get(owner);
+        if (value == null) {
+            return new SubObjectSlot(descriptor, owner, null, SubObjectKind.NULL, null);
+        }
+        String reference = visited.get(value);
+        if (reference != null) {
+            return new SubObjectSlot(descriptor, owner, value, SubObjectKind.REFERENCE, reference);
+        }
+        if (ownerDepth >= maxDepth) {
+            return new SubObjectSlot(descriptor, owner, value, SubObjectKind.TOO_DEEP, null);
+        }
+        visited.put(value, subObjectPath);
+        return new SubObjectSlot(descriptor, owner, value, SubObjectKind.EXPANDED, null);
+    }
+
+    private boolean hasSameStructure(List<SubObjectSlot> slots) {
+        if (slots.size() != subObjectSlots.size()) {
+            return false;
+        }
+        for (int i = 0; i < slots.size(); i++) {
+            SubObjectSlot slot = slots.get(i);
+            SubObjectSlot existing = subObjectSlots.get(i);
+            if (slot.kind != existing.kind || !Objects.equals(slot.reference, existing.reference)) {
+                return false;
+            }
+            if (slot.kind == SubObjectKind.EXPANDED && !lazySubObjects
+                    && slot.value.getClass() != existing.value.getClass()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * This Method can be used externally to update the Grid.
+     * <p>
+     * If only the values of the object changed, the existing nodes are kept and only the controls that
+     * show an outdated value are updated. The Grid is regenerated if you changed the layout
+     * ({@link LabelDisplayOrder}, naming strategies or the width limit) after generating it, or if a
+     * sub-object was replaced by another object. Sub-objects shown in lazy sections don't cause a
+     * regeneration, the section simply shows the new object once it is expanded.
      */
     public void refresh() {
+        if (!currentLayout().equals(generatedLayout)) {
+            generateGrid();
+        } else if (isGenerating()) {
+            refreshValues();
+        } else if (lazySubObjects && refreshSections()) {
+            refreshValues();
+        } else if (lazySubObjects || hasSubObjectChanged()) {
+            generateGrid();
+        } else {
+            refreshValues();
+        }
+    }
+
+    /**
+     * Regenerates the whole Grid, no matter what changed.
+     */
+    public void rebuild() {
         generateGrid();
     }
 
+    /**
+     * Shows the current values of the object in the existing controls.
+     */
+    private void refreshValues() {
+        for (FieldBinding<?, ?> binding : bindings) {
+            binding.pushValue();
+        }
+        for (SubObjectSlot slot : subObjectSlots) {
+            if (slot.section != null) {
+                slot.section.refresh();
+            }
+        }
+    }
+
+    /**
+     * Hands sub-objects that were replaced to their lazy sections.
+     *
+     * @return false if a replaced sub-object is not shown in a section, or can't be shown in one anymore,
+     * in which case the grid needs to be regenerated
+     */
+    private boolean refreshSections() {
+        for (int i = 0; i < subObjectSlots.size(); i++) {
+            SubObjectSlot slot = subObjectSlots.get(i);
+            Object current = slot.descriptor.getAccessor().get(slot.owner);
+            if (current == slot.value) {
+                continue;
+            }
+            if (slot.section == null || current == null || visitedObjects.containsKey(current)) {
+                return false;
+            }
+            visitedObjects.remove(slot.value);
+            visitedObjects.put(current, slot.section.path);
+            subObjectSlots.set(i, new SubObjectSlot(slot.descriptor, slot.owner, current, slot.kind, null)
+                    .withSection(slot.section));
+            slot.section.rebind(current);
+        }
+        return true;
+    }
+
+    private boolean hasSubObjectChanged() {
+        for (SubObjectSlot slot : subObjectSlots) {
+            if (slot.descriptor.getAccessor().get(slot.owner) != slot.value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private List<Object> currentLayout() {
+        return Arrays.asList(displayOrder, fieldNamingConvention, methodNamingConvention, NODE_WIDTH_LIMIT,
+                lazySubObjects, maxDepth, lightweightRendering);
+    }
+
+    private String getPath(Object object) {
+        return path != null ? path : object.getClass().getSimpleName();
+    }
+
+    private static String getSubObjectPath(String ownerPath, FieldDescriptor descriptor,
+                                           FieldNamingStrategy fieldNamingConvention) {
+        return ownerPath + " > " + descriptor.getLabelText(fieldNamingConvention);
+    }
+
     private void setGridObject(Object object) {
         gridObject = object;
     }
 
     /**
      * This function starts all necessary functions to generate the grid.
+     * The members are read from the cached {@link ClassDescriptor}, so the class hierarchy
+     * is only scanned the first time an object of a class is shown.
      */
     private void generateGrid() {
-        clearGrid();
+        Map<Object, String> visited = new IdentityHashMap<>(ancestorObjects);
+        visited.put(gridObject, getPath(gridObject));
+        generateGrid(visited);
+    }
 
-        LabelDisplayOrder.InsertionPosition insertionPosition = new LabelDisplayOrder.InsertionPosition(0, 0);
+    /**
+     * Generates the grid, expanding only the sub-objects that are not part of the given visited objects.
+     * The object is walked first, which only decides where every node goes. The nodes themselves are
+     * created afterwards, either all at once and inserted with a single change of the children, or in
+     * chunks over several frames if {@link #progressiveBudget} is set.
+     *
+     * @param visited the objects that were already expanded, mapped to the path they are shown under
+     */
+    private void generateGrid(Map<Object, String> visited) {
+        cancelRunningGeneration();
+        releaseNodes();
+        generatedLayout = currentLayout();
+        visitedObjects = visited;
 
-        Class clazz = gridObject.getClass();
+        Generation generation = new Generation(snapshot);
+        layoutObject(gridObject, getPath(gridObject), depth, 0, generation);
+        runningGeneration = generation;
+        if (progressiveBudget <= 0) {
+            generation.runSteps(Long.MAX_VALUE);
+            this.getChildren().setAll(generation.nodes);
+            generation.finish();
+        } else {
+            this.getChildren().clear();
+            generation.start();
+        }
+    }
 
-        while(clazz != null) {
-            for (Field field : clazz.getDeclaredFields()) {
-                if (shouldTransferToGrid(field)) {
-                    insertionPosition = handleField(insertionPosition, field, gridObject);
-                }
-            }
-            for (Method method : clazz.getDeclaredMethods()) {
-                if (hasMethodAnnotation(method)) {
-                    insertionPosition = handleMethod(insertionPosition, method, gridObject);
-                }
+    /**
+     * Plans the nodes for all members of the given object, at the positions its {@link LayoutPlan} defines.
+     * Sub-objects are laid out into the same generation, so that no temporary grids are needed.
+     *
+     * @param object the object whose members are laid out
+     * @param objectPath the path the object is shown under
+     * @param objectDepth how deep the object is nested
+     * @param startRow the first row of the object
+     * @param generation the generation receiving the steps that create the nodes
+     * @return the first row after the object
+     */
+    private int layoutObject(Object object, String objectPath, int objectDepth, int startRow, Generation generation) {
+        LayoutPlan plan = LayoutPlan.of(object.getClass(), displayOrder);
+        int firstRow = startRow;
+        for (LayoutPlan.Entry entry : plan.getEntries()) {
+            if (entry.isSubObject()) {
+                firstRow += layoutSubObject((FieldDescriptor) entry.getMember(), object, objectPath, objectDepth,
+                        firstRow + entry.getLabelRow(), generation);
+                continue;
             }
-            clazz = clazz.getSuperclass();
+            int labelRow = firstRow + entry.getLabelRow();
+            int nodeRow = firstRow + entry.getNodeRow();
+            generation.steps.add(() -> {
+                Pair<Label, Node> pair = entry.getMember() instanceof FieldDescriptor
+                        ? getNodePairForField((FieldDescriptor) entry.getMember(), object)
+                        : getNodePairForMethod((MethodDescriptor) entry.getMember(), object);
+                generation.place(pair.getKey(), entry.getLabelColumn(), labelRow);
+                generation.place(pair.getValue(), entry.getNodeColumn(), nodeRow);
+                generation.addFilterRow(entry.getMember().getMember().getName(), pair.getKey(), pair.getValue());
+            });
         }
+        return firstRow + plan.getRowCount();
     }
 
     /**
      * This Function handles the use case, when an Object contains an Object in itself.
-     * If annotated correctly, it will create a new TransferGrid for said "sub-object" and then
-     * take its Nodes and add them to this GridPane. It also adds in a
+     * If annotated correctly, the fields of said "sub-object" are laid out right below a
      * "separator" with the Name of the object in the parent object.
+     * If {@link #lazySubObjects} is set, a collapsed section is added instead.
+     * <p>
+     * Every distinct object is only expanded once. If it is reached again, or lies deeper than
+     * {@link #maxDepth}, only a single row referring to it is added.
      *
-     * @param insertionPosition
-     * @param field
-     * @param subObject
-     * @return
+     * @param descriptor the descriptor of the field holding the sub-object
+     * @param owner the object the field belongs to
+     * @param ownerPath the path the owner is shown under
+     * @param ownerDepth how deep the owner is nested
+     * @param row the first row of the sub-object
+     * @param generation the generation receiving the steps that create the nodes
+     * @return the amount of rows used
      */
-    private LabelDisplayOrder.InsertionPosition handleSubClassField(LabelDisplayOrder.InsertionPosition insertionPosition, Field field, Object subObject) {
-        insertionPosition = addSeparator(insertionPosition, this);
-        insertionPosition = displayOrder.addNode(insertionPosition, new Label(fieldNamingConvention.toString(field) + ":"), this);
-        ReflectorGrid tempRefGrid = new ReflectorGrid(this);
-        Object object = ReflectionHelper.getFieldValue(field, subObject);
-        tempRefGrid.transformIntoGrid(object);
-        insertionPosition =  addGridElements(insertionPosition, tempRefGrid);
-        return addSeparator(insertionPosition, this);
+    private int layoutSubObject(FieldDescriptor descriptor, Object owner, String ownerPath, int ownerDepth, int row,
+                                Generation generation) {
+        String subObjectPath = getSubObjectPath(ownerPath, descriptor, fieldNamingConvention);
+        SubObjectSlot slot = createSlot(descriptor, owner, subObjectPath, ownerDepth, maxDepth, visitedObjects);
+        subObjectSlots.add(slot);
+        switch (slot.kind) {
+            case NULL:
+                return addSubObjectRow(slot, "null", row, generation);
+            case REFERENCE:
+                return addSubObjectRow(slot, "\u2192 " + slot.reference, row, generation);
+            case TOO_DEEP:
+                return addSubObjectRow(slot, "[" + slot.value.getClass().getSimpleName() + "]", row, generation);
+            default:
+                break;
+        }
+        if (lazySubObjects) {
+            return addSubObjectSection(slot, subObjectPath, row, generation);
+        }
+        String title = descriptor.getLabelText(fieldNamingConvention) + ":";
+        generation.steps.add(() -> {
+            List<Node> header = addSeparator(row, generation);
+            Label titleLabel = new Label(title);
+            generation.place(titleLabel, 0, row + 1);
+            header.add(titleLabel);
+            generation.beginFilterGroup(header);
+        });
+        int endRow = layoutObject(slot.value, subObjectPath, ownerDepth + 1, row + 2, generation);
+        generation.steps.add(() -> generation.endFilterGroup(addSeparator(endRow, generation)));
+        return endRow + 1 - row;
     }
 
-    private LabelDisplayOrder.InsertionPosition addSeparator(LabelDisplayOrder.InsertionPosition insertionPosition, GridPane pane){
-        return displayOrder.addSeparator(insertionPosition, this);
+    /**
+     * Adds a collapsed section for a sub-object, spanning all columns of the grid. Nothing but the
+     * {@link TitledPane} itself is created until the user expands it, but the title and the members of the
+     * sub-object are added to the filter index right away, so the filter can hide the section.
+     *
+     * @param slot the slot of the sub-object
+     * @param subObjectPath the path the sub-object is shown under
+     * @param row the row of the section
+     * @param generation the generation receiving the step that creates the section
+     * @return the amount of rows used
+     */
+    private int addSubObjectSection(SubObjectSlot slot, String subObjectPath, int row, Generation generation) {
+        String title = slot.descriptor.getLabelText(fieldNamingConvention);
+        generation.steps.add(() -> {
+            SubObjectSection section = new SubObjectSection(title, slot.value, subObjectPath);
+            slot.withSection(section);
+            GridPane.setColumnSpan(section.pane, displayOrder.getColumnCount());
+            generation.place(section.pane, 0, row);
+
+            List<Node> header = new ArrayList<>();
+            header.add(section.pane);
+            generation.beginFilterGroup(header);
+            section.titleRow = generation.addIndexedRow(title, slot.descriptor.getField().getName());
+            for (LayoutPlan.Entry entry : LayoutPlan.of(slot.value.getClass(), displayOrder).getEntries()) {
+                String label = entry.getMember() instanceof MethodDescriptor
+                        ? ((MethodDescriptor) entry.getMember()).getLabelText(methodNamingConvention)
+                        : ((FieldDescriptor) entry.getMember()).getLabelText(fieldNamingConvention);
+                generation.addIndexedRow(label, entry.getMember().getMember().getName());
+            }
+            generation.endFilterGroup(Collections.emptyList());
+        });
+        return 1;
     }
 
     /**
-     * This function takes the Nodes of a subObject and moves them to the main GridPane.
-     * Due to the nature of JavaFX we need to cast the subObject GridPane to a List.
-     * @param position The starting position for the positioning of the Nodes in
-     *                 the main GridPane
-     * @param gridToAdd The GridPane of the subObject
-     * @return returns the position where the element shall be inserted
+     * Adds a single entry for a sub-object that is not expanded, consisting of the name of the field and
+     * a short text describing the sub-object.
+     *
+     * @param slot the slot of the sub-object
+     * @param text the text shown instead of the sub-object
+     * @param row the row of the label
+     * @param generation the generation receiving the step that creates the nodes
+     * @return the amount of rows used
      */
-    protected LabelDisplayOrder.InsertionPosition addGridElements(LabelDisplayOrder.InsertionPosition position, GridPane gridToAdd) {
-        Label label = null;
-        for (Node node : new ArrayList<>(gridToAdd.getChildren())) {
-            if (label == null) {
-                label = (Label) node;
-            } else {
-                position = displayOrder.addNode(position, label, node, this);
-                label = null;
-            }
+    private int addSubObjectRow(SubObjectSlot slot, String text, int row, Generation generation) {
+        String label = slot.descriptor.getLabelText(fieldNamingConvention);
+        generation.steps.add(() -> {
+            Label labelNode = new Label(label);
+            Label textNode = new Label(text);
+            generation.place(labelNode, 0, row);
+            generation.place(textNode, displayOrder.getNodeColumn(), row + displayOrder.getNodeRowOffset());
+            generation.addFilterRow(slot.descriptor.getField().getName(), labelNode, textNode);
+        });
+        return displayOrder.getRowsPerEntry();
+    }
+
+    /**
+     * Creates a grid for a sub-object, nested one level deeper than this grid.
+     */
+    private ReflectorGrid createNestedGrid(Object object, String subObjectPath) {
+        ReflectorGrid nestedGrid = new ReflectorGrid(this);
+        nestedGrid.setGridObject(object);
+        nestedGrid.depth = depth + 1;
+        nestedGrid.path = subObjectPath;
+        return nestedGrid;
+    }
+
+    private List<Node> addSeparator(int row, Generation generation) {
+        List<Node> separators = new ArrayList<>();
+        for (int column = 0; column < displayOrder.getColumnCount(); column++) {
+            Separator separator = new Separator();
+            generation.place(separator, column, row);
+            separators.add(separator);
         }
-        return position;
+        return separators;
     }
 
     /**
-     * This function handles a single Field. It looks if the field is a normal field or a subObject
-     * @param insertionPosition the position in which the Nodes for this field get inserted
-     * @param field the Field itself
-     * @param object the object to which the field belongs. This change was needed in case the Field
-     *               belongs to a subObject rather than the object itself.
-     * @return position for the next Node in the Grid
+     * Stops a progressive generation that did not finish yet. Its future completes with a
+     * {@link CancellationException}.
      */
-    private LabelDisplayOrder.InsertionPosition handleField(LabelDisplayOrder.InsertionPosition insertionPosition, Field field, Object object) {
-        if (TypeHelper.isNumericType(field.getType()) || TypeHelper.isJavaLang(field.getType()) || TypeHelper.isEnum(field.getType())) {
-            Pair<Label, Node> nodes = getNodePairForField(field, object);
-            return insertionPosition = displayOrder
-                    .addNode(insertionPosition, nodes.getKey(), nodes.getValue(), this);
+    private void cancelRunningGeneration() {
+        if (runningGeneration != null && !runningGeneration.future.isDone()) {
+            runningGeneration.stop();
+            runningGeneration.future.cancel(false);
         }
-        return insertionPosition = handleSubClassField(insertionPosition, field, object);
+        runningGeneration = null;
+    }
+
+    /**
+     * @return true while a progressive generation is still adding nodes
+     */
+    public boolean isGenerating() {
+        return runningGeneration != null && !runningGeneration.future.isDone();
     }
 
     /**
-     * Defines the position for Nodes
+     * Returns a future that completes once the last generation added all its nodes. Without progressive
+     * generation, the future is always completed already. If the generation is replaced by another one
+     * before it finished, the future completes with a {@link CancellationException}.
      *
-     * @param insertionPosition the position in which the Nodes for this field get inserted
-     * @param method the Field itself
-     * @param object the object to which the field belongs. This change was needed in case the Field
-     *               belongs to a subObject rather than the object itself.
-     * @return position for the next Node in the Grid
+     * @return the future of the last generation
      */
-    private LabelDisplayOrder.InsertionPosition handleMethod(LabelDisplayOrder.InsertionPosition insertionPosition, Method method, Object object) {
-        Pair<Label, Node> nodes = getNodePairForMethod(method, object);
-        return insertionPosition = displayOrder
-                .addNode(insertionPosition, nodes.getKey(), nodes.getValue(), this);
+    public CompletableFuture<Void> whenGenerated() {
+        return runningGeneration != null ? runningGeneration.future : CompletableFuture.completedFuture(null);
     }
 
+    /**
+     * @return how much of the last generation is done, from 0 to 1
+     */
+    public ReadOnlyDoubleProperty generationProgressProperty() {
+        return generationProgress.getReadOnlyProperty();
+    }
 
     /**
      * Creates a Pair of a Label as well as an InputField for normal declared Fields.
      *
-     * @param field the field itself
+     * @param descriptor the descriptor of the field itself
      * @param handle the object it belongs to
      * @return a Pair<> consisting of a Label with the Fieldname as well as an InputField
      */
-    private Pair<Label, Node> getNodePairForField(Field field, Object handle) {
-        Label label = new Label(fieldNamingConvention.toString(field));
-        Control node;
-        TransferGrid annotation = field.getAnnotation(TransferGrid.class);
-
-        if (annotation.options().length > 0) {
-            node = ReflectionNodeCollection.createComboBox(annotation, field, handle, gridObject);
-        } else if (TypeHelper.isNumericType(field.getType())) {
-            node = ReflectionNodeCollection.createSpinner(field, handle, gridObject);
-        } else if (TypeHelper.isEnum(field.getType())) {
-            node = ReflectionNodeCollection.createEnumComboBox((Class<? extends Enum>) field.getType(), field, handle, gridObject);
-        } else {
-            switch (annotation.fieldtype()) {
-                case TEXT_FIELD:
-                    node = ReflectionNodeCollection.createTextField(field, handle, gridObject);
-                    break;
-                case TEXT_AREA:
-                    node = ReflectionNodeCollection.createTextArea(field, handle, gridObject);
-                    break;
-                default:
-                    throw new IllegalArgumentException("Unknown field type: " + annotation.fieldtype());
-            }
+    private Pair<Label, Node> getNodePairForField(FieldDescriptor descriptor, Object handle) {
+        Label label = new Label(descriptor.getLabelText(fieldNamingConvention));
+        if (descriptor.hasTooltip()) {
+            LazyTooltip.install(label, descriptor.getTooltip());
         }
 
-        if(!annotation.tooltip().isEmpty()) {
-        Tooltip tempTip = new Tooltip(annotation.tooltip());
-        tempTip.setWrapText(true);
-        label.setTooltip(tempTip);
+        if (lightweightRendering && hasLabelPreview(descriptor.getEditorKind())) {
+            LabelBinding binding = ReflectionNodeCollection.createLabelBinding(descriptor, handle, gridObject, snapshot);
+            bindings.add(binding);
+            adjustPreviewProperties(binding);
+            return new Pair<>(label, binding.getControl());
         }
 
-        adjustNodeProperties(annotation, node);
+        FieldBinding<?, ?> binding = ReflectionNodeCollection.createBinding(descriptor, handle, gridObject, controlPool, snapshot);
+        bindings.add(binding);
+        applyCommitPolicy(binding);
+        binding.setListenerRegistry(listenerRegistry);
+        Control node = binding.getControl();
+
+        adjustNodeProperties(descriptor, node);
 
         return new Pair<>(label, node);
 
     }
 
+    /**
+     * Sets the commit policy of the field's annotation on a text binding, or the one of the grid.
+     */
+    private void applyCommitPolicy(FieldBinding<?, ?> binding) {
+        if (binding instanceof TextInputBinding) {
+            CommitPolicy fieldPolicy = binding.getDescriptor().getCommitPolicy();
+            ((TextInputBinding<?>) binding).setCommitPolicy(fieldPolicy != null ? fieldPolicy : commitPolicy);
+        }
+    }
+
+    /**
+     * @param kind the editor kind of a field
+     * @return true if the value of the field can be shown as the text of a label, while collections, maps
+     * and arrays keep their own editors
+     */
+    private static boolean hasLabelPreview(EditorKind kind) {
+        return kind != EditorKind.COLLECTION && kind != EditorKind.MAP && kind != EditorKind.PRIMITIVE_ARRAY;
+    }
+
+    /**
+     * Lets the label of an editable field be replaced by its editor as soon as it is clicked or focused.
+     * Read-only fields keep their label.
+     *
+     * @param binding the binding of the label shown instead of the editor
+     */
+    private void adjustPreviewProperties(LabelBinding binding) {
+        Label preview = binding.getControl();
+        preview.setMaxWidth(NODE_WIDTH_LIMIT);
+        if (!binding.getDescriptor().isEditable()) {
+            return;
+        }
+        preview.setCursor(Cursor.TEXT);
+        preview.setFocusTraversable(true);
+        preview.setOnMouseClicked(event -> showEditor(binding));
+        preview.focusedProperty().addListener((observable, wasFocused, focused) -> {
+            if (focused) {
+                showEditor(binding);
+            }
+        });
+    }
+
+    /**
+     * Replaces the label of a field by its real editor, at the same position of the grid and in the same
+     * row of the filter, and moves the focus into the editor.
+     *
+     * @param preview the binding of the label shown instead of the editor
+     */
+    private void showEditor(LabelBinding preview) {
+        int index = bindings.indexOf(preview);
+        if (index < 0) {
+            return;
+        }
+        Label label = preview.getControl();
+        FieldDescriptor descriptor = preview.getDescriptor();
+        FieldBinding<?, ?> binding = ReflectionNodeCollection.createBinding(descriptor, preview.getHandle(),
+                preview.getMasterObject(), controlPool);
+        preview.detach();
+        bindings.set(index, binding);
+        applyCommitPolicy(binding);
+        binding.setListenerRegistry(listenerRegistry);
+        Control node = binding.getControl();
+        adjustNodeProperties(descriptor, node);
+
+        GridPane.setConstraints(node, GridPane.getColumnIndex(label), GridPane.getRowIndex(label));
+        int childIndex = getChildren().indexOf(label);
+        if (childIndex >= 0) {
+            getChildren().set(childIndex, node);
+        }
+        replaceFilterNode(isGenerating() ? runningGeneration.filterRows : filterRows, label, node);
+        node.requestFocus();
+    }
+
+    private static void replaceFilterNode(List<Node[]> rows, Node oldNode, Node newNode) {
+        for (Node[] row : rows) {
+            if (row[1] == oldNode) {
+                row[1] = newNode;
+                return;
+            }
+        }
+    }
+
     /**
      * Creates a Pair containing the Label as well as the Button to call a function.2
      *
      *
-     * @param method the field itself
+     * @param descriptor the descriptor of the method itself
      * @param handle the object it belongs to
      * @return a Pair<> consisting of a Label with the Fieldname as well as an InputField
      */
-    private Pair<Label, Node> getNodePairForMethod(Method method, Object handle) {
-        Label label = new Label(methodNamingConvention.toString(method));
+    private Pair<Label, Node> getNodePairForMethod(MethodDescriptor descriptor, Object handle) {
+        Label label = new Label(descriptor.getLabelText(methodNamingConvention));
         Control node;
-        TransferMethod annotation = method.getAnnotation(TransferMethod.class);
-
-        node = new Button(annotation.name());
-        node.setDisable(!annotation.enabled());
-        ((Button) node).setOnAction( eg -> {
-            try{
-                if(method.isAccessible()){
-                    method.invoke(handle);
-                } else {
-                    method.setAccessible(true);
-                    method.invoke(handle);
-                    method.setAccessible(false);
-                }
-            } catch (IllegalAccessException ieA) {
-                System.out.println("Cannot access method: " + method.getName() + " error: " + ieA.getMessage());
-            } catch (InvocationTargetException itE) {
-                System.out.println("Could not invoke method: " + method.getName() + " error: " + itE.getMessage());
-            }
-        } );
 
-        if(!annotation.tooltip().isEmpty()) {
-            Tooltip tempTip = new Tooltip(annotation.tooltip());
-            tempTip.setWrapText(true);
-            label.setTooltip(tempTip);
+        node = new Button(descriptor.getButtonText());
+        node.setDisable(!descriptor.isEnabled());
+        MethodBinding methodBinding = new MethodBinding(descriptor, (Button) node, handle);
+        methodBinding.setListenerRegistry(listenerRegistry);
+        methodBindings.add(methodBinding);
+
+        if (descriptor.hasTooltip()) {
+            LazyTooltip.install(label, descriptor.getTooltip());
         }
 
         adjustNodeProperties(node);
@@ -344,13 +1018,13 @@ public class ReflectorGrid extends GridPane{
 
     /**
      * This method is used internally to set if a field is editable or not.
-     * @param annotation the annotation of said field; is needed to determine if it can be edited or not
+     * @param descriptor the descriptor of said field; is needed to determine if it can be edited or not
      * @param node the node which is supposed to be set according to the annotation
      */
-    private void adjustNodeProperties(TransferGrid annotation, Control node) {
-        setEditable(node, annotation.editable());
-        node.setMouseTransparent(!annotation.editable());
-        node.setFocusTraversable(annotation.editable());
+    private void adjustNodeProperties(FieldDescriptor descriptor, Control node) {
+        setEditable(node, descriptor.isEditable());
+        node.setMouseTransparent(!descriptor.isEditable());
+        node.setFocusTraversable(descriptor.isEditable());
 
         node.setMaxWidth(NODE_WIDTH_LIMIT);
     }
@@ -368,60 +1042,113 @@ public class ReflectorGrid extends GridPane{
      * @param node the inputField itself
      * @param editable if it is editable or not
      */
-    private void setEditable(Control node, boolean editable) {
+    static void setEditable(Control node, boolean editable) {
         if (node instanceof TextInputControl) {
             ((TextInputControl) node).setEditable(editable);
         } else if (node instanceof ComboBoxBase) {
             ((ComboBoxBase) node).setEditable(false);
         } else if (node instanceof Spinner) {
             ((Spinner) node).setEditable(editable);
+        } else if (node instanceof CollectionEditor) {
+            ((CollectionEditor) node).setEditable(editable);
+        } else if (node instanceof ArrayEditor) {
+            ((ArrayEditor) node).setEditable(editable);
         } else {
             throw new IllegalArgumentException("Can't make node uneditable: " + node);
         }
     }
 
     private void clearGrid() {
+        cancelRunningGeneration();
         this.getChildren().clear();
-
+        releaseNodes();
     }
 
     /**
-     * Checks to see if given Field has the correct annotation
-     * @param field the field itself
-     * @return true if it contains the annotation <b>@TransferGrid</b>
+     * Gives the editors back to the pool and forgets all bindings, without touching the children.
      */
-    private boolean shouldTransferToGrid(Field field) {
-        return field.isAnnotationPresent(TransferGrid.class);
+    private void releaseNodes() {
+        if (controlPool != null) {
+            for (FieldBinding<?, ?> binding : bindings) {
+                controlPool.release(binding);
+            }
+        }
+        bindings.clear();
+        methodBindings.clear();
+        for (SubObjectSlot slot : subObjectSlots) {
+            if (slot.section != null) {
+                slot.section.release();
+            }
+        }
+        subObjectSlots.clear();
+        filterIndex = null;
+        filterRows = Collections.emptyList();
+        filterGroups = Collections.emptyList();
     }
 
     /**
-     * WRITE SOMETHING
-     * @param method the field to be checked
-     * @return if it is annoted with <b>@TransferMethod</b>
+     * Takes over the rows of a generation that added all its nodes, and hides the ones not matching the filter.
+     * Every row is shown first, as its nodes may be pooled controls that were hidden by the filter of another grid.
      */
-    private boolean hasMethodAnnotation(Method method) {
-        return method.isAnnotationPresent(TransferMethod.class);
-    }
-
-    private void setMaxWidth(TextInputControl field) {
-        field.setMaxWidth(NODE_WIDTH_LIMIT);
+    private void installFilter(Generation generation) {
+        filterIndex = generation.filterIndex;
+        filterRows = generation.filterRows;
+        filterGroups = generation.filterGroups;
+        for (Node[] row : filterRows) {
+            setShown(row, true);
+        }
+        for (FilterGroup group : filterGroups) {
+            group.shown = true;
+            setShown(group.nodes, true);
+        }
+        shownRows = new BitSet();
+        shownRows.set(0, filterRows.size());
+        applyFilter();
     }
 
     /**
-     * This method sets the value to show in the GUI for the ComboBox.
-     * @param field the field with the value ot show
-     * @param combo the comboBox to set
+     * Shows the rows matching the filter and hides all others. Only the rows whose state changes are touched.
+     * A sub-object's header and separators are shown as long as one of its rows is shown.
      */
-    private void selectCurrentValue(Field field, ComboBox combo) {
-        try {
-            field.setAccessible(true);
-            combo.getSelectionModel().select(field.get(gridObject));
-            field.setAccessible(false);
-        } catch (Exception e) {
-            System.err.println("Couldnt set the value of the ComboBox " + e.getMessage());
-            field.setAccessible(false);
+    private void applyFilter() {
+        if (filterIndex == null) {
+            for (SubObjectSlot slot : subObjectSlots) {
+                if (slot.section != null && slot.section.content != null) {
+                    slot.section.content.setFilter(getFilter());
+                }
+            }
+            return;
+        }
+        BitSet matches = filterIndex.match(getFilter());
+        for (SubObjectSlot slot : subObjectSlots) {
+            if (slot.section != null && slot.section.content != null) {
+                // a section found by its title shows all of its content
+                boolean titleMatches = slot.section.titleRow >= 0 && matches.get(slot.section.titleRow);
+                slot.section.content.setFilter(titleMatches ? "" : getFilter());
+            }
+        }
+        BitSet changed = (BitSet) shownRows.clone();
+        changed.xor(matches);
+        for (int row = changed.nextSetBit(0); row >= 0; row = changed.nextSetBit(row + 1)) {
+            setShown(filterRows.get(row), matches.get(row));
         }
+        shownRows = matches;
+        boolean showAll = getFilter().trim().isEmpty();
+        for (FilterGroup group : filterGroups) {
+            int next = matches.nextSetBit(group.firstRow);
+            boolean shown = showAll || next >= 0 && next < group.endRow;
+            if (shown != group.shown) {
+                group.shown = shown;
+                setShown(group.nodes, shown);
+            }
+        }
+    }
 
+    private static void setShown(Node[] nodes, boolean shown) {
+        for (Node node : nodes) {
+            node.setVisible(shown);
+            node.setManaged(shown);
+        }
     }
 
     /**
@@ -440,7 +1167,7 @@ public class ReflectorGrid extends GridPane{
      * Manually set your own limit to how wide TextInputs can get. Standard is
      * set to 300.
      * <b>This does not change the Width of an already generated Grid! You can
-     * call redoGrid() to regenerate the Grid!</b>
+     * call refresh() to regenerate the Grid!</b>
      *
      * @param limit the max width to be use for the input fields.
      */
@@ -462,6 +1189,160 @@ public class ReflectorGrid extends GridPane{
         methodNamingConvention = methodNamingStrategy;
     }
 
+    /**
+     * Sets the pool the editors are taken from. Editors of a cleared or regenerated grid are given back to
+     * this pool, so that the next generation can reuse them. By default all grids share
+     * {@link ControlPool#getDefault()}.
+     *
+     * @param controlPool the pool to use, or null to always create new editors
+     */
+    public void setControlPool(ControlPool controlPool) {
+        this.controlPool = controlPool;
+    }
+
+    public ControlPool getControlPool() {
+        return controlPool;
+    }
+
+    /**
+     * Shows sub-objects in collapsed sections instead of adding all their fields to this grid right away.
+     * The content of a section is only generated the first time it is expanded, so deeply nested objects
+     * only create the controls the user actually looks at.
+     * <b>This does not change an already generated Grid! You can call refresh() to regenerate the Grid!</b>
+     *
+     * @param lazySubObjects true to show sub-objects in collapsed sections
+     */
+    public void setLazySubObjects(boolean lazySubObjects) {
+        this.lazySubObjects = lazySubObjects;
+    }
+
+    public boolean isLazySubObjects() {
+        return lazySubObjects;
+    }
+
+    /**
+     * If set, the content of a lazy sub-object section is released when the section is collapsed, and
+     * its editors are given back to the {@link ControlPool}. It is generated anew when expanded again.
+     *
+     * @param releaseCollapsedSubObjects true to release the content of collapsed sections
+     */
+    public void setReleaseCollapsedSubObjects(boolean releaseCollapsedSubObjects) {
+        this.releaseCollapsedSubObjects = releaseCollapsedSubObjects;
+        for (SubObjectSlot slot : subObjectSlots) {
+            if (releaseCollapsedSubObjects && slot.section != null && !slot.section.pane.isExpanded()) {
+                slot.section.release();
+            }
+        }
+    }
+
+    public boolean isReleaseCollapsedSubObjects() {
+        return releaseCollapsedSubObjects;
+    }
+
+    /**
+     * Limits how many levels of nested sub-objects are shown. Sub-objects below that level are shown as a
+     * single row with their class name. 0 shows no sub-objects at all, the default is no limit.
+     * <b>This does not change an already generated Grid! You can call refresh() to regenerate the Grid!</b>
+     *
+     * @param maxDepth the maximum amount of nested sub-objects to show
+     */
+    public void setMaxDepth(int maxDepth) {
+        if (maxDepth < 0) {
+            throw new IllegalArgumentException("The max depth can't be negative: " + maxDepth);
+        }
+        this.maxDepth = maxDepth;
+    }
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * Shows fields as plain labels instead of TextFields, Spinners and ComboBoxes, which need far fewer nodes
+     * and CSS-styled skins for big objects. Read-only fields stay labels, editable fields are replaced by their
+     * editor as soon as they are clicked or focused. Collections, maps and arrays always show their editor.
+     * <b>This does not change an already generated Grid! You can call refresh() to regenerate the Grid!</b>
+     *
+     * @param lightweightRendering true to show fields as labels until they are edited
+     */
+    public void setLightweightRendering(boolean lightweightRendering) {
+        this.lightweightRendering = lightweightRendering;
+    }
+
+    public boolean isLightweightRendering() {
+        return lightweightRendering;
+    }
+
+    /**
+     * Decides when the text of TextFields and TextAreas is written into the fields. Fields whose
+     * {@link ch.hephaistos.utilities.loki.util.annotations.TransferGrid#commit()} is set keep their own policy.
+     * The default writes every change right away. The already generated editors, including the ones of
+     * sub-object sections, are changed as well.
+     *
+     * @param commitPolicy the policy to use
+     */
+    public void setCommitPolicy(CommitPolicy commitPolicy) {
+        this.commitPolicy = Objects.requireNonNull(commitPolicy, "The commit policy is null!");
+        for (FieldBinding<?, ?> binding : bindings) {
+            applyCommitPolicy(binding);
+        }
+        for (SubObjectSlot slot : subObjectSlots) {
+            if (slot.section != null && slot.section.content != null) {
+                slot.section.content.setCommitPolicy(commitPolicy);
+            }
+        }
+    }
+
+    public CommitPolicy getCommitPolicy() {
+        return commitPolicy;
+    }
+
+    /**
+     * Enables progressive generation. Instead of creating all nodes at once, which blocks the GUI for big
+     * objects, the grid only spends the given time per frame creating nodes. The first nodes are shown right
+     * away and the rest is added over the following frames. {@link #whenGenerated()} and
+     * {@link #generationProgressProperty()} tell when the generation is complete.
+     *
+     * @param millisPerFrame the time in milliseconds to spend per frame, or 0 to create all nodes at once
+     */
+    public void setProgressiveGenerationBudget(long millisPerFrame) {
+        if (millisPerFrame < 0) {
+            throw new IllegalArgumentException("The budget can't be negative: " + millisPerFrame);
+        }
+        this.progressiveBudget = TimeUnit.MILLISECONDS.toNanos(millisPerFrame);
+    }
+
+    public long getProgressiveGenerationBudget() {
+        return TimeUnit.NANOSECONDS.toMillis(progressiveBudget);
+    }
+
+    /**
+     * Only the rows whose label or field name contain the filter are shown, ignoring case. An empty filter
+     * shows every row.
+     * <p>
+     * Changing the filter does not regenerate the grid, the existing rows are only hidden or shown. The rows are
+     * looked up in an index that is built while the grid is generated, and typing more characters only narrows
+     * down the previous result, so the grid responds right away even for big objects. The headers of sub-objects
+     * are shown as long as one of their rows is shown. Lazy sub-object sections are found by their title and by the
+     * fields of their sub-object, even before they were expanded, and filter their own content once they are.
+     *
+     * @return the property holding the filter
+     */
+    public StringProperty filterProperty() {
+        return filter;
+    }
+
+    /**
+     * @param filter the text the shown rows have to contain, or an empty text to show every row
+     */
+    public void setFilter(String filter) {
+        this.filter.set(filter == null ? "" : filter);
+    }
+
+    public String getFilter() {
+        return filter.get();
+    }
+
     private double getNodeWidth() {
         return NODE_WIDTH_LIMIT;
     }
@@ -494,6 +1375,10 @@ public class ReflectorGrid extends GridPane{
      * This will show you the object that was updated.
      *
      *
+     * <b>The listener is added globally and receives the updates of every grid.</b> Use
+     * {@link #getListenerRegistry()} to only receive the updates made trough this grid, optionally only
+     * for some fields, classes or objects.
+     *
      * @param object an object that implemented  {@link ChangeListener}
      *
      */
@@ -501,4 +1386,369 @@ public class ReflectorGrid extends GridPane{
         ReflectionHelper.addInterfaceToUpdate(object);
     }
 
+    /**
+     * Starts a transaction, see {@link ReflectionHelper#beginTransaction()}. Until it is committed, the changes
+     * made trough the grid, or trough {@link ReflectionHelper} on the JavaFX Application Thread, are collected and
+     * then reported together with a single {@link ChangeListener#onChangeSet(ChangeSet)} call. This is meant for
+     * operations that change several fields at once, like resetting a section or applying a preset.
+     */
+    public void beginTransaction() {
+        ReflectionHelper.beginTransaction();
+    }
+
+    /**
+     * Writes the text the user is still typing and reports all changes of the transaction,
+     * see {@link ReflectionHelper#commitTransaction()}.
+     */
+    public void commitTransaction() {
+        flushPendingEdits();
+        ReflectionHelper.commitTransaction();
+    }
+
+    /**
+     * Restores the values the fields had when the transaction began, see
+     * {@link ReflectionHelper#rollbackTransaction()}, and shows them in the grid.
+     */
+    public void rollbackTransaction() {
+        flushPendingEdits();
+        ReflectionHelper.rollbackTransaction();
+        refresh();
+    }
+
+    private void flushPendingEdits() {
+        for (FieldBinding<?, ?> binding : bindings) {
+            if (binding instanceof TextInputBinding) {
+                ((TextInputBinding<?>) binding).flush();
+            }
+        }
+        for (SubObjectSlot slot : subObjectSlots) {
+            if (slot.section != null && slot.section.content != null) {
+                slot.section.content.flushPendingEdits();
+            }
+        }
+    }
+
+    /**
+     * Returns the registry of listeners that receive the changes made trough this grid, including the grids
+     * of its sub-objects. Unlike {@link #addChangeListener(ChangeListener)}, listeners subscribed here are not
+     * called for changes made by other grids, and can be limited to fields, classes or objects:
+     *
+     * <pre> <code>
+     * reflectorGrid.getListenerRegistry().subscribeToField(Config.class.getDeclaredField("port"), listener);
+     * </code> </pre>
+     *
+     * @return the registry of this grid
+     */
+    public ListenerRegistry getListenerRegistry() {
+        return listenerRegistry;
+    }
+
+    /**
+     * Lets this grid report its changes to another registry, for example to share one registry between
+     * several grids. The already generated editors, including the ones of sub-object sections, are changed
+     * as well.
+     *
+     * @param listenerRegistry the registry to use
+     */
+    public void setListenerRegistry(ListenerRegistry listenerRegistry) {
+        this.listenerRegistry = Objects.requireNonNull(listenerRegistry, "The listener registry is null!");
+        for (FieldBinding<?, ?> binding : bindings) {
+            binding.setListenerRegistry(listenerRegistry);
+        }
+        for (MethodBinding binding : methodBindings) {
+            binding.setListenerRegistry(listenerRegistry);
+        }
+        for (SubObjectSlot slot : subObjectSlots) {
+            if (slot.section != null && slot.section.content != null) {
+                slot.section.content.setListenerRegistry(listenerRegistry);
+            }
+        }
+    }
+
+    /**
+     * The ways a sub-object can be shown in the grid.
+     */
+    private enum SubObjectKind {
+        /** The fields of the sub-object are shown. */
+        EXPANDED,
+        /** The sub-object is already shown elsewhere, only a reference to it is shown. */
+        REFERENCE,
+        /** The sub-object is nested deeper than the max depth. */
+        TOO_DEEP,
+        /** The field holds no sub-object. */
+        NULL
+    }
+
+    /**
+     * The settings of the grid that {@link #takeSnapshot(Object, WalkSettings, CompletableFuture)} needs.
+     */
+    private static final class WalkSettings {
+
+        private final LabelDisplayOrder displayOrder;
+        private final FieldNamingStrategy fieldNamingConvention;
+        private final MethodNamingStrategy methodNamingConvention;
+        private final boolean lazySubObjects;
+        private final int maxDepth;
+        private final int depth;
+        private final String path;
+        private final Map<Object, String> ancestorObjects;
+
+        private WalkSettings(ReflectorGrid grid, Object object) {
+            this.displayOrder = grid.displayOrder;
+            this.fieldNamingConvention = grid.fieldNamingConvention;
+            this.methodNamingConvention = grid.methodNamingConvention;
+            this.lazySubObjects = grid.lazySubObjects;
+            this.maxDepth = grid.maxDepth;
+            this.depth = grid.depth;
+            this.path = grid.getPath(object);
+            this.ancestorObjects = new IdentityHashMap<>(grid.ancestorObjects);
+        }
+    }
+
+    /**
+     * Remembers which object a field held when its sub-grid was generated, and how it was shown.
+     */
+    private static final class SubObjectSlot {
+
+        private final FieldDescriptor descriptor;
+        private final Object owner;
+        private final Object value;
+        private final SubObjectKind kind;
+        private final String reference;
+        private SubObjectSection section;
+
+        private SubObjectSlot(FieldDescriptor descriptor, Object owner, Object value, SubObjectKind kind,
+                              String reference) {
+            this.descriptor = descriptor;
+            this.owner = owner;
+            this.value = value;
+            this.kind = kind;
+            this.reference = reference;
+        }
+
+        private SubObjectSlot withSection(SubObjectSection section) {
+            this.section = section;
+            return this;
+        }
+    }
+
+    /**
+     * The header and separators of an expanded sub-object, and the range of filter rows it contains.
+     */
+    private static final class FilterGroup {
+
+        private final int firstRow;
+        private int endRow;
+        private Node[] nodes;
+        private boolean shown = true;
+
+        private FilterGroup(int firstRow) {
+            this.firstRow = firstRow;
+        }
+    }
+
+    /**
+     * The nodes of one generation of the grid. Walking the object only adds the steps that create the nodes,
+     * which are run either all at once or a few per frame.
+     */
+    private final class Generation {
+
+        private final List<Runnable> steps = new ArrayList<>();
+        private final List<Node> nodes = new ArrayList<>();
+        private final ValueSnapshot valueSnapshot;
+        private final FilterIndex filterIndex = new FilterIndex();
+        private final List<Node[]> filterRows = new ArrayList<>();
+        private final List<FilterGroup> filterGroups = new ArrayList<>();
+        private final ArrayDeque<FilterGroup> openGroups = new ArrayDeque<>();
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+        private final AnimationTimer timer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                runFrame();
+            }
+        };
+        private int nextStep;
+        private int insertedNodes;
+
+        private Generation(ValueSnapshot valueSnapshot) {
+            this.valueSnapshot = valueSnapshot;
+        }
+
+        /**
+         * Sets the position of the node and adds it to the nodes that will be inserted into the grid.
+         */
+        private void place(Node node, int column, int row) {
+            GridPane.setConstraints(node, column, row);
+            nodes.add(node);
+        }
+
+        /**
+         * Adds the nodes of a row to the filter index, found by the text of its label and the name of its member.
+         */
+        private void addFilterRow(String name, Label label, Node node) {
+            filterIndex.add(label.getText(), name);
+            filterRows.add(new Node[]{label, node});
+        }
+
+        /**
+         * Adds a row without nodes of its own, like a field of a collapsed section, which is found by the given texts.
+         *
+         * @return the number of the row
+         */
+        private int addIndexedRow(String... texts) {
+            filterRows.add(new Node[0]);
+            return filterIndex.add(texts);
+        }
+
+        /**
+         * Starts a sub-object, whose header is shown as long as one of the rows added until
+         * {@link #endFilterGroup(List)} is shown.
+         */
+        private void beginFilterGroup(List<Node> header) {
+            FilterGroup group = new FilterGroup(filterRows.size());
+            group.nodes = header.toArray(new Node[0]);
+            openGroups.push(group);
+        }
+
+        private void endFilterGroup(List<Node> footer) {
+            FilterGroup group = openGroups.pop();
+            group.endRow = filterRows.size();
+            List<Node> nodes = new ArrayList<>(Arrays.asList(group.nodes));
+            nodes.addAll(footer);
+            group.nodes = nodes.toArray(new Node[0]);
+            filterGroups.add(group);
+        }
+
+        /**
+         * Runs steps until the budget is used up, but at least one.
+         *
+         * @param budget the time in nanoseconds to spend
+         */
+        private void runSteps(long budget) {
+            ValueSnapshot previous = snapshot;
+            snapshot = valueSnapshot;
+            try {
+                long start = System.nanoTime();
+                while (nextStep < steps.size()) {
+                    steps.get(nextStep++).run();
+                    if (System.nanoTime() - start >= budget) {
+                        break;
+                    }
+                }
+            } finally {
+                snapshot = previous;
+            }
+            generationProgress.set(steps.isEmpty() ? 1 : (double) nextStep / steps.size());
+        }
+
+        /**
+         * Shows the first nodes right away and adds the rest over the following frames.
+         */
+        private void start() {
+            generationProgress.set(0);
+            runFrame();
+            if (!future.isDone()) {
+                timer.start();
+            }
+        }
+
+        private void runFrame() {
+            try {
+                runSteps(progressiveBudget);
+            } catch (RuntimeException e) {
+                stop();
+                future.completeExceptionally(e);
+                throw e;
+            }
+            getChildren().addAll(nodes.subList(insertedNodes, nodes.size()));
+            insertedNodes = nodes.size();
+            if (nextStep >= steps.size()) {
+                stop();
+                finish();
+            }
+        }
+
+        private void stop() {
+            timer.stop();
+        }
+
+        private void finish() {
+            installFilter(this);
+            generationProgress.set(1);
+            future.complete(null);
+        }
+    }
+
+    /**
+     * A collapsible section that shows a sub-object in its own grid, which is only generated once the
+     * section is expanded.
+     */
+    private final class SubObjectSection {
+
+        private final TitledPane pane = new TitledPane();
+        private final String path;
+        private Object value;
+        private ReflectorGrid content;
+        /**
+         * The filter row found by the title of the section, or -1 while it is not in the filter index.
+         */
+        private int titleRow = -1;
+
+        private SubObjectSection(String title, Object value, String path) {
+            this.value = value;
+            this.path = path;
+            pane.setText(title);
+            pane.setExpanded(false);
+            pane.expandedProperty().addListener((observable, wasExpanded, expanded) -> {
+                if (expanded) {
+                    show();
+                } else if (releaseCollapsedSubObjects) {
+                    release();
+                }
+            });
+        }
+
+        /**
+         * Generates the content on the first expansion, and only refreshes it afterwards.
+         */
+        private void show() {
+            if (content != null) {
+                content.refresh();
+            } else {
+                content = createNestedGrid(value, path);
+                content.ancestorObjects = new IdentityHashMap<>(visitedObjects);
+                content.generateGrid();
+                pane.setContent(content);
+                applyFilter();
+            }
+        }
+
+        private void rebind(Object value) {
+            this.value = value;
+            if (content != null) {
+                content.ancestorObjects = new IdentityHashMap<>(visitedObjects);
+                content.rebind(value);
+                return;
+            }
+            release();
+            if (pane.isExpanded()) {
+                show();
+            }
+        }
+
+        private void refresh() {
+            if (content != null) {
+                content.refresh();
+            }
+        }
+
+        private void release() {
+            if (content != null) {
+                content.clearGrid();
+                content = null;
+            }
+            pane.setContent(null);
+        }
+    }
+
 }
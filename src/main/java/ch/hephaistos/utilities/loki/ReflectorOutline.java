@@ -0,0 +1,431 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2019 Ricardo Daniel Monteiro Simoes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package ch.hephaistos.utilities.loki;
+
+import ch.hephaistos.utilities.loki.util.*;
+import ch.hephaistos.utilities.loki.util.binding.ControlPool;
+import ch.hephaistos.utilities.loki.util.binding.FieldBinding;
+import ch.hephaistos.utilities.loki.util.binding.MethodBinding;
+import ch.hephaistos.utilities.loki.util.interfaces.ChangeListener;
+import ch.hephaistos.utilities.loki.util.schema.ClassDescriptor;
+import ch.hephaistos.utilities.loki.util.schema.FieldDescriptor;
+import ch.hephaistos.utilities.loki.util.schema.MemberDescriptor;
+import ch.hephaistos.utilities.loki.util.schema.MethodDescriptor;
+import ch.hephaistos.utilities.loki.util.statics.ReflectionHelper;
+import ch.hephaistos.utilities.loki.util.statics.ReflectionNodeCollection;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.collections.ObservableList;
+import javafx.scene.control.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Shows an object as a tree, for object graphs that are too deep to be flattened into a {@link ReflectorGrid}.
+ * <p>
+ * The {@link TreeTableView} has a name column and a value column. Every sub-object is a node of the tree, and the
+ * nodes for its fields are only created when it is expanded for the first time. Collapsing a sub-object drops its
+ * nodes again, so only the expanded part of the graph is kept in memory. The value cells use the same input fields
+ * as {@link ReflectorGrid}, and since a TreeTableView only creates cells for the visible rows, and the cells take
+ * their input fields from a {@link ControlPool}, only about a screen full of input fields ever exists.
+ * <p>
+ * A sub-object that is already expanded further up in the same branch is shown as a reference to it instead of
+ * being expanded again, so cyclic graphs can be shown as well.
+ *
+ * @author Ricardo Daniel Monteiro Simoes
+ */
+public class ReflectorOutline extends TreeTableView<ReflectorOutline.Entry> {
+
+    /**
+     * The object the tree was generated for.
+     */
+    private Object gridObject = new Object();
+
+    /**
+     * The max width of the input fields. Standard is set to 300.
+     */
+    private double NODE_WIDTH_LIMIT = 300;
+
+    /**
+     * {@link FieldNamingStrategy} for more information
+     */
+    private FieldNamingStrategy fieldNamingConvention = DefaultFieldNamingStrategy.SPLIT_TO_CAPITALIZED_WORDS;
+
+    /**
+     * {@link MethodNamingStrategy} for more information
+     */
+    private MethodNamingStrategy methodNamingConvention = DefaultMethodNamingStrategy.SPLIT_TO_CAPITALIZED_WORDS;
+
+    /**
+     * The pool the cells take their input fields from, and give them back to when they show another row.
+     */
+    private ControlPool controlPool = ControlPool.getDefault();
+
+    /**
+     * The maximum amount of nested sub-objects that can be expanded.
+     */
+    private int maxDepth = Integer.MAX_VALUE;
+
+    /**
+     * The settings that influence the tree, as they were when the tree was generated.
+     */
+    private List<Object> generatedLayout;
+
+    /**
+     * Creates the name and the value column.
+     */
+    public ReflectorOutline() {
+        TreeTableColumn<Entry, Entry> nameColumn = new TreeTableColumn<>("Name");
+        nameColumn.setCellValueFactory(features -> new ReadOnlyObjectWrapper<>(features.getValue().getValue()));
+        nameColumn.setCellFactory(column -> new NameCell());
+        nameColumn.setSortable(false);
+        nameColumn.setPrefWidth(200);
+        TreeTableColumn<Entry, Entry> valueColumn = new TreeTableColumn<>("Value");
+        valueColumn.setCellValueFactory(features -> new ReadOnlyObjectWrapper<>(features.getValue().getValue()));
+        valueColumn.setCellFactory(column -> new ValueCell());
+        valueColumn.setSortable(false);
+        valueColumn.setPrefWidth(NODE_WIDTH_LIMIT);
+        getColumns().setAll(Arrays.asList(nameColumn, valueColumn));
+        setShowRoot(false);
+        setColumnResizePolicy(CONSTRAINED_RESIZE_POLICY);
+    }
+
+    /**
+     * Shows the given object as a tree. Only the first level of fields is created, everything below is created
+     * when it is expanded.
+     *
+     * @param object object that the UI will represent
+     */
+    public void transformIntoGrid(Object object) {
+        Objects.requireNonNull(object, "The received Object is null!");
+        gridObject = object;
+        generateTree();
+    }
+
+    /**
+     * Updates the visible rows to show the current values of the object. Sub-objects that were replaced are
+     * collapsed and show their new value. If you changed the layout after generating the tree, it is generated anew.
+     */
+    @Override
+    public void refresh() {
+        if (!currentLayout().equals(generatedLayout)) {
+            generateTree();
+        } else if (getRoot() != null) {
+            ((EntryItem) getRoot()).refreshChildren();
+        }
+        super.refresh();
+    }
+
+    private List<Object> currentLayout() {
+        return Arrays.asList(fieldNamingConvention, methodNamingConvention, NODE_WIDTH_LIMIT, maxDepth);
+    }
+
+    private void generateTree() {
+        generatedLayout = currentLayout();
+        String path = gridObject.getClass().getSimpleName();
+        EntryItem root = new EntryItem(new Entry(EntryKind.OBJECT, null, null, gridObject, path, null, 0, path));
+        root.setExpanded(true);
+        setRoot(root);
+    }
+
+    /**
+     * Creates the entries for the fields and methods of an object, one level deep.
+     */
+    private List<TreeItem<Entry>> createChildren(EntryItem parent) {
+        Entry entry = parent.getValue();
+        List<TreeItem<Entry>> children = new ArrayList<>();
+        for (MemberDescriptor member : ClassDescriptor.of(entry.value.getClass()).getMembers()) {
+            children.add(new EntryItem(createEntry(member, parent)));
+        }
+        return children;
+    }
+
+    private Entry createEntry(MemberDescriptor member, EntryItem parent) {
+        Entry owner = parent.getValue();
+        Object handle = owner.value;
+        int depth = owner.depth + 1;
+        if (member instanceof MethodDescriptor) {
+            MethodDescriptor descriptor = (MethodDescriptor) member;
+            return new Entry(EntryKind.METHOD, descriptor, handle, null,
+                    descriptor.getLabelText(methodNamingConvention), null, depth, null);
+        }
+        FieldDescriptor descriptor = (FieldDescriptor) member;
+        String label = descriptor.getLabelText(fieldNamingConvention);
+        if (!descriptor.isSubObject()) {
+            return new Entry(EntryKind.FIELD, descriptor, handle, null, label, null, depth, null);
+        }
+        Object subObject = descriptor.getAccessor().get(handle);
+        if (subObject == null) {
+            return new Entry(EntryKind.TEXT, descriptor, handle, null, label, "null", depth, null);
+        }
+        String ancestorPath = findAncestorPath(parent, subObject);
+        if (ancestorPath != null) {
+            return new Entry(EntryKind.TEXT, descriptor, handle, subObject, label, "\u2192 " + ancestorPath, depth, null);
+        } else if (owner.depth >= maxDepth) {
+            return new Entry(EntryKind.TEXT, descriptor, handle, subObject, label,
+                    "[" + subObject.getClass().getSimpleName() + "]", depth, null);
+        }
+        return new Entry(EntryKind.OBJECT, descriptor, handle, subObject, label,
+                subObject.getClass().getSimpleName(), depth, owner.path + " > " + label);
+    }
+
+    /**
+     * @return the path of the item showing the object, if it is the given item or one of its parents
+     */
+    private static String findAncestorPath(TreeItem<Entry> item, Object object) {
+        for (TreeItem<Entry> ancestor = item; ancestor != null; ancestor = ancestor.getParent()) {
+            if (ancestor.getValue().value == object) {
+                return ancestor.getValue().path;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Manually set your own limit to how wide TextInputs can get. Standard is set to 300.
+     * <b>Call refresh() to apply it to already generated rows!</b>
+     *
+     * @param limit the max width to be use for the input fields.
+     */
+    public void setNodeWidthLimit(double limit) {
+        NODE_WIDTH_LIMIT = limit;
+    }
+
+    /**
+     * @param fieldNamingStrategy The {@link FieldNamingStrategy} to use
+     */
+    public void setFieldNamingStrategy(FieldNamingStrategy fieldNamingStrategy) {
+        fieldNamingConvention = fieldNamingStrategy;
+    }
+
+    public void setMethodNamingConvention(MethodNamingStrategy methodNamingStrategy) {
+        methodNamingConvention = methodNamingStrategy;
+    }
+
+    /**
+     * Sets the pool the cells take their input fields from.
+     *
+     * @param controlPool the pool to use, or null to always create new input fields
+     */
+    public void setControlPool(ControlPool controlPool) {
+        this.controlPool = controlPool;
+    }
+
+    public ControlPool getControlPool() {
+        return controlPool;
+    }
+
+    /**
+     * Limits how many levels of nested sub-objects can be expanded, see {@link ReflectorGrid#setMaxDepth(int)}.
+     *
+     * @param maxDepth the maximum amount of nested sub-objects to show
+     */
+    public void setMaxDepth(int maxDepth) {
+        if (maxDepth < 0) {
+            throw new IllegalArgumentException("The max depth can't be negative: " + maxDepth);
+        }
+        this.maxDepth = maxDepth;
+    }
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * Use this function to add an object to be called every time a value is updated trough reflection.
+     * {@link ReflectorGrid#addChangeListener(ChangeListener)} for more information
+     *
+     * @param object an object that implemented  {@link ChangeListener}
+     */
+    public void addChangeListener(ChangeListener object) {
+        ReflectionHelper.addInterfaceToUpdate(object);
+    }
+
+    /**
+     * The different rows the tree consists of.
+     */
+    enum EntryKind {
+        /** A field with an input field. */
+        FIELD,
+        /** A method with a button. */
+        METHOD,
+        /** A sub-object that can be expanded. */
+        OBJECT,
+        /** A sub-object that is not expanded, shown as text. */
+        TEXT
+    }
+
+    /**
+     * A single row of the tree. It only describes what to show, the nodes are created by the cells showing it.
+     */
+    public static final class Entry {
+
+        private final EntryKind kind;
+        private final MemberDescriptor descriptor;
+        private final Object handle;
+        private final Object value;
+        private final String label;
+        private final String text;
+        private final int depth;
+        private final String path;
+
+        private Entry(EntryKind kind, MemberDescriptor descriptor, Object handle, Object value, String label,
+                      String text, int depth, String path) {
+            this.kind = kind;
+            this.descriptor = descriptor;
+            this.handle = handle;
+            this.value = value;
+            this.label = label;
+            this.text = text;
+            this.depth = depth;
+            this.path = path;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    /**
+     * A row of the tree that creates the rows of its sub-object the first time they are needed, and drops them
+     * when it is collapsed.
+     */
+    private final class EntryItem extends TreeItem<Entry> {
+
+        private boolean childrenCreated;
+
+        private EntryItem(Entry entry) {
+            super(entry);
+            expandedProperty().addListener((obs, oldValue, expanded) -> {
+                if (!expanded && childrenCreated && getParent() != null) {
+                    childrenCreated = false;
+                    super.getChildren().clear();
+                }
+            });
+        }
+
+        @Override
+        public boolean isLeaf() {
+            return getValue().kind != EntryKind.OBJECT;
+        }
+
+        @Override
+        public ObservableList<TreeItem<Entry>> getChildren() {
+            if (!childrenCreated && !isLeaf()) {
+                childrenCreated = true;
+                super.getChildren().setAll(createChildren(this));
+            }
+            return super.getChildren();
+        }
+
+        /**
+         * Replaces the rows of sub-objects whose field holds another object now, and continues with the
+         * rows that were already created below the others.
+         */
+        private void refreshChildren() {
+            if (!childrenCreated) {
+                return;
+            }
+            ObservableList<TreeItem<Entry>> children = super.getChildren();
+            for (int i = 0; i < children.size(); i++) {
+                EntryItem child = (EntryItem) children.get(i);
+                Entry entry = child.getValue();
+                if (entry.kind == EntryKind.OBJECT || entry.kind == EntryKind.TEXT) {
+                    FieldDescriptor descriptor = (FieldDescriptor) entry.descriptor;
+                    if (descriptor.getAccessor().get(entry.handle) != entry.value) {
+                        children.set(i, new EntryItem(createEntry(descriptor, this)));
+                        continue;
+                    }
+                }
+                child.refreshChildren();
+            }
+        }
+    }
+
+    /**
+     * Shows the name of a row, with its tooltip.
+     */
+    private final class NameCell extends TreeTableCell<Entry, Entry> {
+
+        @Override
+        protected void updateItem(Entry entry, boolean empty) {
+            super.updateItem(entry, empty);
+            if (empty || entry == null) {
+                setText(null);
+                setTooltip(null);
+                return;
+            }
+            setText(entry.label);
+            CellEditors.setTooltip(this, entry.descriptor);
+        }
+    }
+
+    /**
+     * Shows the value of a row. A cell keeps its button, and takes the input field for field rows from
+     * the {@link ControlPool}, giving it back as soon as it shows another row.
+     */
+    private final class ValueCell extends TreeTableCell<Entry, Entry> {
+
+        private final Button button = new Button();
+        private FieldBinding<?, ?> binding;
+
+        @Override
+        protected void updateItem(Entry entry, boolean empty) {
+            super.updateItem(entry, empty);
+            CellEditors.release(binding, controlPool);
+            binding = null;
+            setText(null);
+            setGraphic(null);
+            if (empty || entry == null) {
+                return;
+            }
+            switch (entry.kind) {
+                case FIELD:
+                    binding = ReflectionNodeCollection.createBinding((FieldDescriptor) entry.descriptor, entry.handle,
+                            gridObject, controlPool);
+                    setGraphic(CellEditors.prepare(binding, NODE_WIDTH_LIMIT));
+                    break;
+                case METHOD:
+                    MethodDescriptor descriptor = (MethodDescriptor) entry.descriptor;
+                    button.setText(descriptor.getButtonText());
+                    button.setDisable(!descriptor.isEnabled());
+                    button.setMaxWidth(NODE_WIDTH_LIMIT);
+                    new MethodBinding(descriptor, button, entry.handle);
+                    setGraphic(button);
+                    break;
+                default:
+                    setText(entry.text);
+                    break;
+            }
+        }
+    }
+}
@@ -0,0 +1,292 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2019 Ricardo Daniel Monteiro Simoes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package ch.hephaistos.utilities.loki;
+
+import ch.hephaistos.utilities.loki.util.DefaultFieldNamingStrategy;
+import ch.hephaistos.utilities.loki.util.DefaultMethodNamingStrategy;
+import ch.hephaistos.utilities.loki.util.FieldNamingStrategy;
+import ch.hephaistos.utilities.loki.util.MethodNamingStrategy;
+import ch.hephaistos.utilities.loki.util.binding.ControlPool;
+import ch.hephaistos.utilities.loki.util.binding.FieldBinding;
+import ch.hephaistos.utilities.loki.util.binding.MethodBinding;
+import ch.hephaistos.utilities.loki.util.interfaces.ChangeListener;
+import ch.hephaistos.utilities.loki.util.schema.ClassDescriptor;
+import ch.hephaistos.utilities.loki.util.schema.FieldDescriptor;
+import ch.hephaistos.utilities.loki.util.schema.MemberDescriptor;
+import ch.hephaistos.utilities.loki.util.schema.MethodDescriptor;
+import ch.hephaistos.utilities.loki.util.statics.ReflectionHelper;
+import ch.hephaistos.utilities.loki.util.statics.ReflectionNodeCollection;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.collections.ObservableList;
+import javafx.scene.control.*;
+
+import java.util.Comparator;
+import java.util.Objects;
+
+/**
+ * Shows a list of objects of the same class in a {@link TableView}, with a column for every field annotated with
+ * {@link ch.hephaistos.utilities.loki.util.annotations.TransferGrid} and every method annotated with
+ * {@link ch.hephaistos.utilities.loki.util.annotations.TransferMethod}.
+ * <p>
+ * The cells use the same input fields as {@link ReflectorGrid} and write their changes trough
+ * {@link ReflectionHelper}, so the same {@link ChangeListener}s are called. Since a TableView only creates cells for
+ * the visible rows, and the cells take their input fields from a {@link ControlPool}, the amount of nodes does not
+ * depend on the amount of objects.
+ * Sub-objects are shown as text and can't be edited in the table.
+ *
+ * @param <T> the class of the objects shown
+ * @author Ricardo Daniel Monteiro Simoes
+ */
+public class ReflectorTable<T> extends TableView<T> {
+
+    private final Class<T> type;
+
+    /**
+     * {@link FieldNamingStrategy} for more information
+     */
+    private FieldNamingStrategy fieldNamingConvention = DefaultFieldNamingStrategy.SPLIT_TO_CAPITALIZED_WORDS;
+
+    /**
+     * {@link MethodNamingStrategy} for more information
+     */
+    private MethodNamingStrategy methodNamingConvention = DefaultMethodNamingStrategy.SPLIT_TO_CAPITALIZED_WORDS;
+
+    /**
+     * The pool the cells take their input fields from, and give them back to when they show another object.
+     */
+    private ControlPool controlPool = ControlPool.getDefault();
+
+    /**
+     * Creates the columns for the given class.
+     *
+     * @param type the class of the objects shown
+     */
+    public ReflectorTable(Class<T> type) {
+        this.type = Objects.requireNonNull(type, "The received Class is null!");
+        setEditable(true);
+        generateColumns();
+    }
+
+    /**
+     * Creates the columns for the given class and shows the given objects.
+     *
+     * @param type the class of the objects shown
+     * @param items the objects to show
+     */
+    public ReflectorTable(Class<T> type, ObservableList<T> items) {
+        this(type);
+        setItems(items);
+    }
+
+    /**
+     * Creates a column for every annotated member, in the same order {@link ReflectorGrid} shows them.
+     */
+    private void generateColumns() {
+        getColumns().clear();
+        for (MemberDescriptor member : ClassDescriptor.of(type).getMembers()) {
+            if (member instanceof FieldDescriptor) {
+                getColumns().add(createFieldColumn((FieldDescriptor) member));
+            } else {
+                getColumns().add(createMethodColumn((MethodDescriptor) member));
+            }
+        }
+    }
+
+    private TableColumn<T, T> createFieldColumn(FieldDescriptor descriptor) {
+        TableColumn<T, T> column = createColumn(descriptor, descriptor.getLabelText(fieldNamingConvention));
+        column.setCellFactory(tableColumn -> descriptor.isSubObject()
+                ? new SubObjectCell(descriptor) : new FieldCell(descriptor));
+        column.setComparator(Comparator.comparing(item -> descriptor.getAccessor().get(item), ReflectorTable::compareValues));
+        return column;
+    }
+
+    private TableColumn<T, T> createMethodColumn(MethodDescriptor descriptor) {
+        TableColumn<T, T> column = createColumn(descriptor, descriptor.getLabelText(methodNamingConvention));
+        column.setCellFactory(tableColumn -> new MethodCell(descriptor));
+        column.setSortable(false);
+        return column;
+    }
+
+    /**
+     * Creates a column whose cells receive the whole object of their row, since the cell needs it to write
+     * changes back.
+     */
+    private TableColumn<T, T> createColumn(MemberDescriptor descriptor, String text) {
+        TableColumn<T, T> column = new TableColumn<>(text);
+        column.setUserData(descriptor);
+        column.setCellValueFactory(features -> new ReadOnlyObjectWrapper<>(features.getValue()));
+        return column;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int compareValues(Object first, Object second) {
+        if (first == null || second == null) {
+            return first == null ? (second == null ? 0 : -1) : 1;
+        }
+        if (first instanceof Comparable && first.getClass() == second.getClass()) {
+            return ((Comparable<Object>) first).compareTo(second);
+        }
+        return first.toString().compareTo(second.toString());
+    }
+
+    /**
+     * Updates the names of the columns to the current naming strategies.
+     */
+    private void updateColumnNames() {
+        for (TableColumn<T, ?> column : getColumns()) {
+            Object descriptor = column.getUserData();
+            if (descriptor instanceof FieldDescriptor) {
+                column.setText(((FieldDescriptor) descriptor).getLabelText(fieldNamingConvention));
+            } else if (descriptor instanceof MethodDescriptor) {
+                column.setText(((MethodDescriptor) descriptor).getLabelText(methodNamingConvention));
+            }
+        }
+    }
+
+    public Class<T> getType() {
+        return type;
+    }
+
+    /**
+     * @param fieldNamingStrategy The {@link FieldNamingStrategy} to use for the column names
+     */
+    public void setFieldNamingStrategy(FieldNamingStrategy fieldNamingStrategy) {
+        fieldNamingConvention = fieldNamingStrategy;
+        updateColumnNames();
+    }
+
+    /**
+     * @param methodNamingStrategy The {@link MethodNamingStrategy} to use for the column names
+     */
+    public void setMethodNamingConvention(MethodNamingStrategy methodNamingStrategy) {
+        methodNamingConvention = methodNamingStrategy;
+        updateColumnNames();
+    }
+
+    /**
+     * Sets the pool the cells take their input fields from.
+     *
+     * @param controlPool the pool to use, or null to always create new input fields
+     */
+    public void setControlPool(ControlPool controlPool) {
+        this.controlPool = controlPool;
+    }
+
+    public ControlPool getControlPool() {
+        return controlPool;
+    }
+
+    /**
+     * Use this function to add an object to be called every time a value is updated trough reflection.
+     * {@link ReflectorGrid#addChangeListener(ChangeListener)} for more information
+     *
+     * @param object an object that implemented  {@link ChangeListener}
+     */
+    public void addChangeListener(ChangeListener object) {
+        ReflectionHelper.addInterfaceToUpdate(object);
+    }
+
+    /**
+     * Shows the input field of a field. The input field is taken from the {@link ControlPool} when the cell
+     * shows an object, and given back as soon as it shows another one.
+     */
+    private final class FieldCell extends TableCell<T, T> {
+
+        private final FieldDescriptor descriptor;
+        private FieldBinding<?, ?> binding;
+
+        private FieldCell(FieldDescriptor descriptor) {
+            this.descriptor = descriptor;
+            setText(null);
+        }
+
+        @Override
+        protected void updateItem(T item, boolean empty) {
+            super.updateItem(item, empty);
+            CellEditors.release(binding, controlPool);
+            binding = null;
+            if (empty || item == null) {
+                CellEditors.setTooltip(this, null);
+                setGraphic(null);
+                return;
+            }
+            binding = ReflectionNodeCollection.createBinding(descriptor, item, item, controlPool);
+            // the tooltip stays on the cell, as the pooled input field is shown for other members later on
+            CellEditors.setTooltip(this, descriptor);
+            setGraphic(CellEditors.prepare(binding, Double.MAX_VALUE));
+        }
+    }
+
+    /**
+     * Shows a sub-object as text.
+     */
+    private final class SubObjectCell extends TableCell<T, T> {
+
+        private final FieldDescriptor descriptor;
+
+        private SubObjectCell(FieldDescriptor descriptor) {
+            this.descriptor = descriptor;
+        }
+
+        @Override
+        protected void updateItem(T item, boolean empty) {
+            super.updateItem(item, empty);
+            Object value = empty || item == null ? null : descriptor.getAccessor().get(item);
+            setText(empty || item == null ? null : String.valueOf(value));
+        }
+    }
+
+    /**
+     * Shows the button that calls a method on the object of the row.
+     */
+    private final class MethodCell extends TableCell<T, T> {
+
+        private final MethodDescriptor descriptor;
+        private final Button button = new Button();
+        private MethodBinding binding;
+
+        private MethodCell(MethodDescriptor descriptor) {
+            this.descriptor = descriptor;
+            button.setText(descriptor.getButtonText());
+            button.setDisable(!descriptor.isEnabled());
+            CellEditors.setTooltip(button, descriptor);
+        }
+
+        @Override
+        protected void updateItem(T item, boolean empty) {
+            super.updateItem(item, empty);
+            if (empty || item == null) {
+                setGraphic(null);
+                return;
+            }
+            if (binding == null) {
+                binding = new MethodBinding(descriptor, button, item);
+            } else {
+                binding.rebind(item);
+            }
+            setGraphic(button);
+        }
+    }
+}
@@ -0,0 +1,393 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2019 Ricardo Daniel Monteiro Simoes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package ch.hephaistos.utilities.loki;
+
+import ch.hephaistos.utilities.loki.util.*;
+import ch.hephaistos.utilities.loki.util.binding.ControlPool;
+import ch.hephaistos.utilities.loki.util.binding.FieldBinding;
+import ch.hephaistos.utilities.loki.util.binding.MethodBinding;
+import ch.hephaistos.utilities.loki.util.interfaces.ChangeListener;
+import ch.hephaistos.utilities.loki.util.schema.ClassDescriptor;
+import ch.hephaistos.utilities.loki.util.schema.FieldDescriptor;
+import ch.hephaistos.utilities.loki.util.schema.MemberDescriptor;
+import ch.hephaistos.utilities.loki.util.schema.MethodDescriptor;
+import ch.hephaistos.utilities.loki.util.statics.ReflectionHelper;
+import ch.hephaistos.utilities.loki.util.statics.ReflectionNodeCollection;
+import javafx.geometry.Insets;
+import javafx.scene.control.*;
+import javafx.scene.layout.GridPane;
+import javafx.scene.layout.Region;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A variant of {@link ReflectorGrid} for objects with a lot of fields.
+ * <p>
+ * Instead of creating a Label and an input field for every field of the object, every field is a row of a
+ * {@link ListView}, and only the rows that are currently visible get an input field. While scrolling, the cells
+ * give their input fields back to the {@link ControlPool} and take the ones they need for their new row, so that
+ * only about a screen full of input fields ever exists.
+ * <p>
+ * The annotations, naming strategies and change listeners behave just like in {@link ReflectorGrid}.
+ * Sub-objects are shown as a header row followed by their fields.
+ *
+ * @author Ricardo Daniel Monteiro Simoes
+ */
+public class VirtualReflectorGrid extends ListView<VirtualReflectorGrid.Row> {
+
+    /**
+     * The object the rows were generated for.
+     */
+    private Object gridObject = new Object();
+
+    /**
+     * {@link LabelDisplayOrder} for more information
+     */
+    private LabelDisplayOrder displayOrder = LabelDisplayOrder.SIDE_BY_SIDE;
+
+    /**
+     * The max width of the input fields. Standard is set to 300.
+     */
+    private double NODE_WIDTH_LIMIT = 300;
+
+    /**
+     * The width of the labels, so that the input fields of all rows line up.
+     */
+    private double labelWidth = 150;
+
+    /**
+     * {@link FieldNamingStrategy} for more information
+     */
+    private FieldNamingStrategy fieldNamingConvention = DefaultFieldNamingStrategy.SPLIT_TO_CAPITALIZED_WORDS;
+
+    /**
+     * {@link MethodNamingStrategy} for more information
+     */
+    private MethodNamingStrategy methodNamingConvention = DefaultMethodNamingStrategy.SPLIT_TO_CAPITALIZED_WORDS;
+
+    /**
+     * The pool the cells take their input fields from, and give them back to when they show another row.
+     */
+    private ControlPool controlPool = ControlPool.getDefault();
+
+    /**
+     * The maximum amount of nested sub-objects that are shown.
+     */
+    private int maxDepth = Integer.MAX_VALUE;
+
+    /**
+     * The settings that influence the rows, as they were when the rows were generated.
+     */
+    private List<Object> generatedLayout;
+
+    /**
+     * Sets a standard formatting for the ListView.
+     */
+    public VirtualReflectorGrid() {
+        this.setPadding(new Insets(10, 10, 10, 10));
+        this.setCellFactory(listView -> new RowCell());
+    }
+
+    /**
+     * Transforms the given Object into rows according to the set annotations inside the object.
+     * No input field is created until a row becomes visible.
+     *
+     * @param object object that the UI will represent
+     */
+    public void transformIntoGrid(Object object) {
+        Objects.requireNonNull(object, "The received Object is null!");
+        gridObject = object;
+        generateRows();
+    }
+
+    /**
+     * Updates the visible rows to show the current values of the object. If you changed the layout after
+     * generating the rows, or a sub-object was replaced, the rows are generated anew.
+     */
+    @Override
+    public void refresh() {
+        if (!currentLayout().equals(generatedLayout) || hasSubObjectChanged()) {
+            generateRows();
+        }
+        super.refresh();
+    }
+
+    private boolean hasSubObjectChanged() {
+        for (Row row : getItems()) {
+            if (row.kind == RowKind.HEADER
+                    && ((FieldDescriptor) row.descriptor).getAccessor().get(row.handle) != row.value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private List<Object> currentLayout() {
+        return Arrays.asList(displayOrder, fieldNamingConvention, methodNamingConvention, NODE_WIDTH_LIMIT,
+                labelWidth, maxDepth);
+    }
+
+    /**
+     * Flattens the object and its sub-objects into rows. Every distinct sub-object is only expanded once,
+     * like in {@link ReflectorGrid}.
+     */
+    private void generateRows() {
+        generatedLayout = currentLayout();
+        List<Row> rows = new ArrayList<>();
+        Map<Object, String> visited = new IdentityHashMap<>();
+        String path = gridObject.getClass().getSimpleName();
+        visited.put(gridObject, path);
+        addRows(rows, gridObject, path, 0, visited);
+        getItems().setAll(rows);
+    }
+
+    private void addRows(List<Row> rows, Object object, String path, int depth, Map<Object, String> visited) {
+        for (MemberDescriptor member : ClassDescriptor.of(object.getClass()).getMembers()) {
+            if (member instanceof MethodDescriptor) {
+                MethodDescriptor descriptor = (MethodDescriptor) member;
+                rows.add(new Row(RowKind.METHOD, descriptor, object, null,
+                        descriptor.getLabelText(methodNamingConvention), null, depth));
+                continue;
+            }
+            FieldDescriptor descriptor = (FieldDescriptor) member;
+            String label = descriptor.getLabelText(fieldNamingConvention);
+            if (!descriptor.isSubObject()) {
+                rows.add(new Row(RowKind.FIELD, descriptor, object, null, label, null, depth));
+                continue;
+            }
+            Object subObject = descriptor.getAccessor().get(object);
+            String subObjectPath = path + " > " + label;
+            if (subObject == null) {
+                rows.add(new Row(RowKind.TEXT, descriptor, object, null, label, "null", depth));
+            } else if (visited.containsKey(subObject)) {
+                rows.add(new Row(RowKind.TEXT, descriptor, object, subObject, label,
+                        "\u2192 " + visited.get(subObject), depth));
+            } else if (depth >= maxDepth) {
+                rows.add(new Row(RowKind.TEXT, descriptor, object, subObject, label,
+                        "[" + subObject.getClass().getSimpleName() + "]", depth));
+            } else {
+                visited.put(subObject, subObjectPath);
+                rows.add(new Row(RowKind.HEADER, descriptor, object, subObject, label + ":", null, depth));
+                addRows(rows, subObject, subObjectPath, depth + 1, visited);
+            }
+        }
+    }
+
+    /**
+     * Sets the format of the rows.
+     * <p>
+     * {@link LabelDisplayOrder} for information about the different avaliable formats.
+     *
+     * @param labelDisplayOrder the new labelDisplayOrder
+     */
+    public void setLabelDisplayOrder(LabelDisplayOrder labelDisplayOrder) {
+        displayOrder = labelDisplayOrder;
+    }
+
+    /**
+     * Manually set your own limit to how wide TextInputs can get. Standard is set to 300.
+     * <b>Call refresh() to apply it to already generated rows!</b>
+     *
+     * @param limit the max width to be use for the input fields.
+     */
+    public void setNodeWidthLimit(double limit) {
+        NODE_WIDTH_LIMIT = limit;
+    }
+
+    /**
+     * Sets the width of the labels, so that the input fields of all rows line up. Standard is set to 150.
+     * <b>Call refresh() to apply it to already generated rows!</b>
+     *
+     * @param labelWidth the width of the labels
+     */
+    public void setLabelWidth(double labelWidth) {
+        this.labelWidth = labelWidth;
+    }
+
+    /**
+     * @param fieldNamingStrategy The {@link FieldNamingStrategy} to use
+     */
+    public void setFieldNamingStrategy(FieldNamingStrategy fieldNamingStrategy) {
+        fieldNamingConvention = fieldNamingStrategy;
+    }
+
+    public void setMethodNamingConvention(MethodNamingStrategy methodNamingStrategy) {
+        methodNamingConvention = methodNamingStrategy;
+    }
+
+    /**
+     * Sets the pool the cells take their input fields from.
+     *
+     * @param controlPool the pool to use, or null to always create new input fields
+     */
+    public void setControlPool(ControlPool controlPool) {
+        this.controlPool = controlPool;
+    }
+
+    public ControlPool getControlPool() {
+        return controlPool;
+    }
+
+    /**
+     * Limits how many levels of nested sub-objects are shown, see {@link ReflectorGrid#setMaxDepth(int)}.
+     *
+     * @param maxDepth the maximum amount of nested sub-objects to show
+     */
+    public void setMaxDepth(int maxDepth) {
+        if (maxDepth < 0) {
+            throw new IllegalArgumentException("The max depth can't be negative: " + maxDepth);
+        }
+        this.maxDepth = maxDepth;
+    }
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * Use this function to add an object to be called every time a value is updated trough reflection.
+     * {@link ReflectorGrid#addChangeListener(ChangeListener)} for more information
+     *
+     * @param object an object that implemented  {@link ChangeListener}
+     */
+    public void addChangeListener(ChangeListener object) {
+        ReflectionHelper.addInterfaceToUpdate(object);
+    }
+
+    /**
+     * The different rows the grid consists of.
+     */
+    enum RowKind {
+        /** A field with an input field. */
+        FIELD,
+        /** A method with a button. */
+        METHOD,
+        /** The start of a sub-object, followed by the rows of its fields. */
+        HEADER,
+        /** A sub-object that is not expanded, shown as text. */
+        TEXT
+    }
+
+    /**
+     * A single row of the grid. It only describes what to show, the nodes are created by the cell showing it.
+     */
+    public static final class Row {
+
+        private final RowKind kind;
+        private final MemberDescriptor descriptor;
+        private final Object handle;
+        private final Object value;
+        private final String label;
+        private final String text;
+        private final int depth;
+
+        private Row(RowKind kind, MemberDescriptor descriptor, Object handle, Object value, String label,
+                    String text, int depth) {
+            this.kind = kind;
+            this.descriptor = descriptor;
+            this.handle = handle;
+            this.value = value;
+            this.label = label;
+            this.text = text;
+            this.depth = depth;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    /**
+     * Shows a single row. A cell keeps its label and button, and takes the input field for field rows from
+     * the {@link ControlPool}, giving it back as soon as it shows another row.
+     */
+    private final class RowCell extends ListCell<Row> {
+
+        private final GridPane pane = new GridPane();
+        private final Label label = new Label();
+        private final Label text = new Label();
+        private final Button button = new Button();
+        private FieldBinding<?, ?> binding;
+
+        private RowCell() {
+            pane.setHgap(5);
+            pane.setVgap(5);
+            setText(null);
+        }
+
+        @Override
+        protected void updateItem(Row row, boolean empty) {
+            super.updateItem(row, empty);
+            CellEditors.release(binding, controlPool);
+            binding = null;
+            pane.getChildren().clear();
+            if (empty || row == null) {
+                setGraphic(null);
+                return;
+            }
+
+            label.setText(row.label);
+            label.setPadding(new Insets(0, 0, 0, row.depth * 10));
+            label.setMinWidth(displayOrder == LabelDisplayOrder.SIDE_BY_SIDE ? labelWidth : Region.USE_COMPUTED_SIZE);
+            label.setPrefWidth(displayOrder == LabelDisplayOrder.SIDE_BY_SIDE ? labelWidth : Region.USE_COMPUTED_SIZE);
+            CellEditors.setTooltip(label, row.descriptor);
+
+            LabelDisplayOrder.InsertionPosition position = new LabelDisplayOrder.InsertionPosition(0, 0);
+            switch (row.kind) {
+                case FIELD:
+                    binding = ReflectionNodeCollection.createBinding((FieldDescriptor) row.descriptor, row.handle,
+                            gridObject, controlPool);
+                    displayOrder.addNode(position, label, CellEditors.prepare(binding, NODE_WIDTH_LIMIT), pane);
+                    break;
+                case METHOD:
+                    MethodDescriptor descriptor = (MethodDescriptor) row.descriptor;
+                    button.setText(descriptor.getButtonText());
+                    button.setDisable(!descriptor.isEnabled());
+                    button.setMaxWidth(NODE_WIDTH_LIMIT);
+                    new MethodBinding(descriptor, button, row.handle);
+                    displayOrder.addNode(position, label, button, pane);
+                    break;
+                case TEXT:
+                    text.setText(row.text);
+                    displayOrder.addNode(position, label, text, pane);
+                    break;
+                default:
+                    displayOrder.addNode(position, label, pane);
+                    break;
+            }
+            setGraphic(pane);
+        }
+    }
+}
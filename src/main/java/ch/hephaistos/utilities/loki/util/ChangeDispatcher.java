@@ -0,0 +1,274 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2019 Ricardo Daniel Monteiro Simoes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package ch.hephaistos.utilities.loki.util;
+
+import ch.hephaistos.utilities.loki.util.interfaces.ChangeListener;
+import ch.hephaistos.utilities.loki.util.interfaces.SynchronousChangeListener;
+
+import java.util.ArrayDeque;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Delivers changes to {@link ChangeListener}s on other threads, so that a slow listener, for example one that
+ * writes to disk or sends a message, does not block the JavaFX Application Thread while the user is typing.
+ * <p>
+ * The changes of the same object are delivered one after the other, in the order they were made. Changes of
+ * different objects may be delivered in parallel. Changes reported for several objects at once are ordered
+ * together with the changes of the first object. Listeners implementing {@link SynchronousChangeListener} are
+ * still called right away on the calling thread.
+ * <p>
+ * At most {@link #getCapacity()} changes wait for their delivery. If listeners can't keep up, the thread
+ * reporting another change waits until there is room again, instead of letting the queue grow without limit.
+ * A listener that makes a change itself never waits, as only the threads of a dispatcher make room: if the queue
+ * is full, its change is delivered right away on its own thread, possibly before earlier changes of the object.
+ * <p>
+ * The values handed to the listeners are the ones the field held when the change was made. Collections and
+ * arrays are not copied, so a listener may already see later modifications of their content.
+ * A dispatcher is enabled with {@link ch.hephaistos.utilities.loki.util.statics.ReflectionHelper#setChangeDispatcher(ChangeDispatcher)}
+ * for the global listeners, or {@link ListenerRegistry#setChangeDispatcher(ChangeDispatcher)} for the ones of a grid.
+ *
+ * @author Ricardo Daniel Monteiro Simoes
+ */
+public final class ChangeDispatcher implements AutoCloseable {
+
+    /**
+     * The amount of changes that may wait for their delivery by default.
+     */
+    public static final int DEFAULT_CAPACITY = 10_000;
+
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    /**
+     * Set while a thread delivers changes for any dispatcher.
+     */
+    private static final ThreadLocal<Boolean> DISPATCHING = new ThreadLocal<>();
+
+    private final ExecutorService executor;
+    private final int capacity;
+    private final Semaphore room;
+
+    /**
+     * The changes waiting for their delivery, by the object they belong to. An object is only in here while
+     * one of the executor's threads is delivering its changes.
+     */
+    private final Map<Object, ArrayDeque<Runnable>> queues = new IdentityHashMap<>();
+
+    private volatile boolean closed;
+
+    /**
+     * Creates a dispatcher that delivers the changes on virtual threads if the runtime has them, or else on a
+     * pool with one daemon thread per processor.
+     */
+    public ChangeDispatcher() {
+        this(createDefaultExecutor(), DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param executor the executor running the deliveries. It is shut down when the dispatcher is closed.
+     * @param capacity the amount of changes that may wait for their delivery
+     */
+    public ChangeDispatcher(ExecutorService executor, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("The capacity has to be positive: " + capacity);
+        }
+        this.executor = Objects.requireNonNull(executor, "The executor is null!");
+        this.capacity = capacity;
+        this.room = new Semaphore(capacity);
+    }
+
+    private static ExecutorService createDefaultExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            int threads = Runtime.getRuntime().availableProcessors();
+            ThreadFactory factory = runnable -> {
+                Thread thread = new Thread(runnable, "loki-change-dispatch-" + THREAD_COUNT.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            };
+            return new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), factory);
+        }
+    }
+
+    /**
+     * Hands a change over to the listener, right away if it is a {@link SynchronousChangeListener}, or else
+     * after all changes of the same object that were handed over before.
+     *
+     * @param listener the listener to call
+     * @param object the object that changed
+     * @param change calls the method of the listener that reports the change
+     * @throws IllegalStateException if the dispatcher was closed
+     */
+    public void deliver(ChangeListener listener, Object object, Consumer<ChangeListener> change) {
+        if (closed) {
+            throw new IllegalStateException("The ChangeDispatcher was closed!");
+        }
+        if (listener instanceof SynchronousChangeListener) {
+            change.accept(listener);
+            return;
+        }
+        if (DISPATCHING.get() == null) {
+            room.acquireUninterruptibly();
+        } else if (!room.tryAcquire()) {
+            // only the dispatching threads make room, so this one would wait for itself
+            call(listener, change);
+            return;
+        }
+        Runnable delivery = () -> {
+            try {
+                call(listener, change);
+            } finally {
+                room.release();
+            }
+        };
+        boolean start;
+        synchronized (queues) {
+            ArrayDeque<Runnable> queue = queues.get(object);
+            start = queue == null;
+            if (start) {
+                queue = new ArrayDeque<>();
+                queues.put(object, queue);
+            }
+            queue.addLast(delivery);
+        }
+        if (start) {
+            schedule(object);
+        }
+    }
+
+    private static void call(ChangeListener listener, Consumer<ChangeListener> change) {
+        try {
+            change.accept(listener);
+        } catch (Throwable t) {
+            System.err.println("ChangeListener " + listener + " failed: " + t);
+        }
+    }
+
+    /**
+     * Starts delivering the changes of the object. If the executor does not accept it anymore, the changes
+     * are dropped so their room is not lost.
+     */
+    private void schedule(Object object) {
+        try {
+            executor.execute(() -> drain(object));
+        } catch (RuntimeException e) {
+            int dropped;
+            synchronized (queues) {
+                ArrayDeque<Runnable> queue = queues.remove(object);
+                dropped = queue == null ? 0 : queue.size();
+            }
+            room.release(dropped);
+            System.err.println("Could not deliver " + dropped + " changes of " + object + ": " + e);
+        }
+    }
+
+    /**
+     * Delivers the changes of the object until none are left. If a delivery ends this unexpectedly, the remaining
+     * changes are delivered by a new task, so the object is never left in {@link #queues} without one.
+     */
+    private void drain(Object object) {
+        boolean drained = false;
+        Boolean dispatching = DISPATCHING.get();
+        DISPATCHING.set(Boolean.TRUE);
+        try {
+            while (true) {
+                Runnable delivery;
+                synchronized (queues) {
+                    ArrayDeque<Runnable> queue = queues.get(object);
+                    delivery = queue.pollFirst();
+                    if (delivery == null) {
+                        queues.remove(object);
+                        drained = true;
+                        return;
+                    }
+                }
+                delivery.run();
+            }
+        } finally {
+            if (dispatching == null) {
+                DISPATCHING.remove();
+            }
+            if (!drained) {
+                schedule(object);
+            }
+        }
+    }
+
+    /**
+     * @return the amount of changes that may wait for their delivery
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return the amount of changes currently waiting for their delivery
+     */
+    public int getPendingCount() {
+        return capacity - room.availablePermits();
+    }
+
+    /**
+     * Waits until all changes handed over so far were delivered.
+     *
+     * @param timeout the maximum time to wait
+     * @param unit the unit of the timeout
+     * @return true if all changes were delivered, false if the time ran out
+     * @throws InterruptedException if the thread was interrupted while waiting
+     */
+    public boolean awaitDelivery(long timeout, TimeUnit unit) throws InterruptedException {
+        if (!room.tryAcquire(capacity, timeout, unit)) {
+            return false;
+        }
+        room.release(capacity);
+        return true;
+    }
+
+    /**
+     * Delivers the changes that are still waiting and stops the executor afterwards.
+     * Changes handed over after this are rejected.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            awaitDelivery(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,126 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2019 Ricardo Daniel Monteiro Simoes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package ch.hephaistos.utilities.loki.util;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The changes made during a transaction, see {@link ch.hephaistos.utilities.loki.util.statics.ReflectionHelper#beginTransaction()}.
+ * They are reported together with a single call of
+ * {@link ch.hephaistos.utilities.loki.util.interfaces.ChangeListener#onChangeSet(ChangeSet)}, in the order they
+ * were made, so listeners only need to update derived state once.
+ *
+ * @author Ricardo Daniel Monteiro Simoes
+ */
+public final class ChangeSet {
+
+    private final List<Change> changes;
+
+    /**
+     * @param changes the changes, in the order they were made
+     */
+    public ChangeSet(List<Change> changes) {
+        this.changes = Collections.unmodifiableList(new ArrayList<>(changes));
+    }
+
+    /**
+     * @return the changes, in the order they were made
+     */
+    public List<Change> getChanges() {
+        return changes;
+    }
+
+    public int size() {
+        return changes.size();
+    }
+
+    public boolean isEmpty() {
+        return changes.isEmpty();
+    }
+
+    /**
+     * @param field a field
+     * @return true if the field was changed in any object
+     */
+    public boolean contains(Field field) {
+        for (Change change : changes) {
+            if (change.getField().equals(field)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "ChangeSet" + changes;
+    }
+
+    /**
+     * A single field that was set in an object. If the content of a Collection, Map or array was modified, the
+     * old and the new value are both the modified object.
+     */
+    public static final class Change {
+
+        private final Field field;
+        private final Object object;
+        private final Object oldValue;
+        private final Object newValue;
+
+        public Change(Field field, Object object, Object oldValue, Object newValue) {
+            this.field = field;
+            this.object = object;
+            this.oldValue = oldValue;
+            this.newValue = newValue;
+        }
+
+        public Field getField() {
+            return field;
+        }
+
+        /**
+         * @return the object the field belongs to
+         */
+        public Object getObject() {
+            return object;
+        }
+
+        public Object getOldValue() {
+            return oldValue;
+        }
+
+        public Object getNewValue() {
+            return newValue;
+        }
+
+        @Override
+        public String toString() {
+            return field.getName() + ": " + oldValue + " -> " + newValue;
+        }
+    }
+}
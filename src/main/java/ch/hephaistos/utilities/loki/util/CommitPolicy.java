@@ -0,0 +1,111 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2019 Ricardo Daniel Monteiro Simoes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package ch.hephaistos.utilities.loki.util;
+
+import java.util.Objects;
+
+/**
+ * Decides when the text typed into a TextField or TextArea is written into the field.
+ * <p>
+ * Writing on every change means that every keystroke converts the text, sets the field and calls all
+ * listeners. If the listeners are expensive, for example because they send the value to a device, one of
+ * the other policies should be used.
+ *
+ * @author Ricardo Daniel Monteiro Simoes
+ */
+public final class CommitPolicy {
+
+    /**
+     * Every change of the text is written right away. This is the default.
+     */
+    public static final CommitPolicy EVERY_CHANGE = new CommitPolicy(Mode.EVERY_CHANGE, 0);
+
+    /**
+     * The text is written when Enter is pressed in a TextField, or when the editor loses the focus.
+     */
+    public static final CommitPolicy ON_ACTION = new CommitPolicy(Mode.ON_ACTION, 0);
+
+    /**
+     * The possible ways to commit a text.
+     */
+    public enum Mode {
+        EVERY_CHANGE, ON_ACTION, DEBOUNCED
+    }
+
+    private final Mode mode;
+    private final long delay;
+
+    private CommitPolicy(Mode mode, long delay) {
+        this.mode = mode;
+        this.delay = delay;
+    }
+
+    /**
+     * The text is written once the user stopped typing for the given time. Pressing Enter or leaving the
+     * editor writes it right away.
+     *
+     * @param millis the time in milliseconds without changes after which the text is written
+     * @return the policy
+     */
+    public static CommitPolicy debounced(long millis) {
+        if (millis <= 0) {
+            throw new IllegalArgumentException("The delay has to be positive: " + millis);
+        }
+        return new CommitPolicy(Mode.DEBOUNCED, millis);
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * @return the delay in milliseconds of a debounced policy, 0 for the other policies
+     */
+    public long getDelay() {
+        return delay;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CommitPolicy)) {
+            return false;
+        }
+        CommitPolicy that = (CommitPolicy) o;
+        return mode == that.mode && delay == that.delay;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(mode, delay);
+    }
+
+    @Override
+    public String toString() {
+        return mode == Mode.DEBOUNCED ? mode + "(" + delay + "ms)" : mode.toString();
+    }
+}
@@ -0,0 +1,131 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2019 Ricardo Daniel Monteiro Simoes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package ch.hephaistos.utilities.loki.util;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * An index over the texts of rows, which finds the rows containing a query without looking at every text.
+ * <p>
+ * Every substring of up to {@link #GRAM_LENGTH} characters of every text is mapped to a {@link BitSet} of the rows
+ * containing it. A query is matched by combining the sets of its substrings, and only queries longer than that are
+ * compared with the texts of the remaining candidates. Since the result of the last query is kept, typing more
+ * characters only narrows the previous result down instead of starting over.
+ * <p>
+ * Matching ignores case. Rows are numbered in the order they were added.
+ *
+ * @author Ricardo Daniel Monteiro Simoes
+ */
+public class FilterIndex {
+
+    /**
+     * The length of the longest substrings that are indexed.
+     */
+    public static final int GRAM_LENGTH = 3;
+
+    private final List<String> texts = new ArrayList<>();
+    private final Map<String, BitSet> grams = new HashMap<>();
+
+    private String lastQuery = "";
+    private BitSet lastResult;
+
+    /**
+     * Adds a row that is found by any of the given texts.
+     *
+     * @param rowTexts the texts of the row, for example its label and the name of its field
+     * @return the number of the row
+     */
+    public int add(String... rowTexts) {
+        int row = texts.size();
+        String text = String.join("\n", rowTexts).toLowerCase(Locale.ROOT);
+        texts.add(text);
+        for (int start = 0; start < text.length(); start++) {
+            for (int end = start + 1; end <= Math.min(start + GRAM_LENGTH, text.length()); end++) {
+                grams.computeIfAbsent(text.substring(start, end), key -> new BitSet()).set(row);
+            }
+        }
+        lastResult = null;
+        return row;
+    }
+
+    /**
+     * @return the amount of rows
+     */
+    public int size() {
+        return texts.size();
+    }
+
+    /**
+     * Finds the rows whose texts contain the query.
+     *
+     * @param query the text to search for, null or blank matches every row
+     * @return the rows that match, as a new BitSet that may be modified
+     */
+    public BitSet match(String query) {
+        String normalized = query == null ? "" : query.trim().toLowerCase(Locale.ROOT);
+        BitSet result;
+        if (normalized.isEmpty()) {
+            result = new BitSet();
+            result.set(0, texts.size());
+        } else {
+            result = matchGrams(normalized);
+        }
+        lastQuery = normalized;
+        lastResult = result;
+        return (BitSet) result.clone();
+    }
+
+    private BitSet matchGrams(String query) {
+        BitSet candidates;
+        if (lastResult != null && !lastQuery.isEmpty() && query.contains(lastQuery)) {
+            candidates = (BitSet) lastResult.clone();
+        } else {
+            candidates = new BitSet();
+            candidates.set(0, texts.size());
+        }
+        int length = Math.min(GRAM_LENGTH, query.length());
+        for (int start = 0; start + length <= query.length() && !candidates.isEmpty(); start++) {
+            BitSet rows = grams.get(query.substring(start, start + length));
+            if (rows == null) {
+                candidates.clear();
+            } else {
+                candidates.and(rows);
+            }
+        }
+        if (query.length() > GRAM_LENGTH) {
+            for (int row = candidates.nextSetBit(0); row >= 0; row = candidates.nextSetBit(row + 1)) {
+                if (!texts.get(row).contains(query)) {
+                    candidates.clear(row);
+                }
+            }
+        }
+        return candidates;
+    }
+}
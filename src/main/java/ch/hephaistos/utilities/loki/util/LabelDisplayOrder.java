@@ -45,7 +45,7 @@ public enum LabelDisplayOrder {
      *  | Label | Field |
      * </pre>
      */
-    SIDE_BY_SIDE(2) {
+    SIDE_BY_SIDE(2, 1, 0, 1) {
         @Override
         public InsertionPosition addNode(InsertionPosition position, Node label, Node node,
                 GridPane pane) {
@@ -79,7 +79,7 @@ public enum LabelDisplayOrder {
      *  | Field |
      * </pre>
      */
-    ABOVE_FIELD(1) {
+    ABOVE_FIELD(1, 2, 1, 0) {
         @Override
         public InsertionPosition addNode(InsertionPosition position, Node label, Node node,
                 GridPane pane) {
@@ -102,15 +102,42 @@ public enum LabelDisplayOrder {
     };
 
     private int columns;
+    private int rowsPerEntry;
+    private int nodeRowOffset;
+    private int nodeColumn;
 
-    LabelDisplayOrder(int columns) {
+    LabelDisplayOrder(int columns, int rowsPerEntry, int nodeRowOffset, int nodeColumn) {
         this.columns = columns;
+        this.rowsPerEntry = rowsPerEntry;
+        this.nodeRowOffset = nodeRowOffset;
+        this.nodeColumn = nodeColumn;
     }
 
     public int getColumnCount() {
         return columns;
     }
 
+    /**
+     * @return the amount of rows a label together with its node takes up
+     */
+    public int getRowsPerEntry() {
+        return rowsPerEntry;
+    }
+
+    /**
+     * @return the row of the node, relative to the row of its label
+     */
+    public int getNodeRowOffset() {
+        return nodeRowOffset;
+    }
+
+    /**
+     * @return the column of the node. The label is always in the first column.
+     */
+    public int getNodeColumn() {
+        return nodeColumn;
+    }
+
     /**
      * Adds a node with a label to a {@link GridPane}.
      *
@@ -0,0 +1,156 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2019 Ricardo Daniel Monteiro Simoes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package ch.hephaistos.utilities.loki.util;
+
+import ch.hephaistos.utilities.loki.util.schema.ClassDescriptor;
+import ch.hephaistos.utilities.loki.util.schema.FieldDescriptor;
+import ch.hephaistos.utilities.loki.util.schema.MemberDescriptor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The precomputed positions of the labels and nodes of a class for a {@link LabelDisplayOrder}.
+ * <p>
+ * A plan is computed once per class and display order, so generating a grid only has to look up where
+ * each node goes instead of calculating it node by node. Sub-objects take up no rows in the plan, since how
+ * many rows they need depends on the object shown; every row after a sub-object has to be shifted by the
+ * rows it used.
+ *
+ * @author Ricardo Daniel Monteiro Simoes
+ */
+public final class LayoutPlan {
+
+    private static final ClassValue<Map<LabelDisplayOrder, LayoutPlan>> CACHE
+            = new ClassValue<Map<LabelDisplayOrder, LayoutPlan>>() {
+        @Override
+        protected Map<LabelDisplayOrder, LayoutPlan> computeValue(Class<?> type) {
+            ClassDescriptor descriptor = ClassDescriptor.of(type);
+            Map<LabelDisplayOrder, LayoutPlan> plans = new EnumMap<>(LabelDisplayOrder.class);
+            for (LabelDisplayOrder displayOrder : LabelDisplayOrder.values()) {
+                plans.put(displayOrder, new LayoutPlan(descriptor, displayOrder));
+            }
+            return Collections.unmodifiableMap(plans);
+        }
+    };
+
+    private final LabelDisplayOrder displayOrder;
+    private final List<Entry> entries;
+    private final int rowCount;
+
+    private LayoutPlan(ClassDescriptor descriptor, LabelDisplayOrder displayOrder) {
+        this.displayOrder = displayOrder;
+        List<Entry> entries = new ArrayList<>();
+        int row = 0;
+        for (MemberDescriptor member : descriptor.getMembers()) {
+            boolean subObject = member instanceof FieldDescriptor && ((FieldDescriptor) member).isSubObject();
+            entries.add(new Entry(member, subObject, row, row + displayOrder.getNodeRowOffset(),
+                    displayOrder.getNodeColumn()));
+            if (!subObject) {
+                row += displayOrder.getRowsPerEntry();
+            }
+        }
+        this.entries = Collections.unmodifiableList(entries);
+        this.rowCount = row;
+    }
+
+    /**
+     * @param type the class to get the plan for
+     * @param displayOrder the display order to get the plan for
+     * @return the cached plan
+     */
+    public static LayoutPlan of(Class<?> type, LabelDisplayOrder displayOrder) {
+        return CACHE.get(type).get(displayOrder);
+    }
+
+    public LabelDisplayOrder getDisplayOrder() {
+        return displayOrder;
+    }
+
+    /**
+     * @return an entry for every member, in the order of {@link ClassDescriptor#getMembers()}
+     */
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * @return the amount of rows the members take up, without the rows of sub-objects
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * The position of a single member. The rows are relative to the first row of the object, and don't
+     * contain the rows of the sub-objects before the member.
+     */
+    public static final class Entry {
+
+        private final MemberDescriptor member;
+        private final boolean subObject;
+        private final int labelRow;
+        private final int nodeRow;
+        private final int nodeColumn;
+
+        private Entry(MemberDescriptor member, boolean subObject, int labelRow, int nodeRow, int nodeColumn) {
+            this.member = member;
+            this.subObject = subObject;
+            this.labelRow = labelRow;
+            this.nodeRow = nodeRow;
+            this.nodeColumn = nodeColumn;
+        }
+
+        public MemberDescriptor getMember() {
+            return member;
+        }
+
+        /**
+         * @return true if the member is a sub-object, which is laid out by itself
+         */
+        public boolean isSubObject() {
+            return subObject;
+        }
+
+        public int getLabelRow() {
+            return labelRow;
+        }
+
+        public int getLabelColumn() {
+            return 0;
+        }
+
+        public int getNodeRow() {
+            return nodeRow;
+        }
+
+        public int getNodeColumn() {
+            return nodeColumn;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2019 Ricardo Daniel Monteiro Simoes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package ch.hephaistos.utilities.loki.util;
+
+import javafx.event.EventHandler;
+import javafx.scene.Node;
+import javafx.scene.control.Control;
+import javafx.scene.control.Tooltip;
+import javafx.scene.input.MouseEvent;
+
+/**
+ * Installs tooltips only when the mouse enters their node for the first time.
+ * <p>
+ * A {@link Tooltip} is a popup window with its own skin, so creating one for every row of a big grid up front
+ * costs a lot of memory for tooltips that are mostly never seen. Instead only a small event handler is added,
+ * which creates the tooltip on the first hover and then removes itself. Controls that show another member every
+ * time they are reused, like the cells of a table, use {@link #setText(Control, String)} instead.
+ *
+ * @author Ricardo Daniel Monteiro Simoes
+ */
+public final class LazyTooltip {
+
+    /**
+     * The key of the text in the properties of a control, see {@link #setText(Control, String)}.
+     */
+    private static final String TEXT_KEY = LazyTooltip.class.getName() + ".text";
+
+    private LazyTooltip() {
+    }
+
+    /**
+     * Shows a wrapping tooltip with the given text on the node, created the first time the mouse enters it.
+     *
+     * @param node the node to show the tooltip on
+     * @param text the text of the tooltip
+     */
+    public static void install(Node node, String text) {
+        node.addEventHandler(MouseEvent.MOUSE_ENTERED, new EventHandler<MouseEvent>() {
+            @Override
+            public void handle(MouseEvent event) {
+                node.removeEventHandler(MouseEvent.MOUSE_ENTERED, this);
+                Tooltip tooltip = new Tooltip(text);
+                tooltip.setWrapText(true);
+                if (node instanceof Control) {
+                    ((Control) node).setTooltip(tooltip);
+                } else {
+                    Tooltip.install(node, tooltip);
+                }
+            }
+        });
+    }
+
+    /**
+     * Sets the text of the tooltip of a control that is reused for other members, like a cell. The event handler is
+     * only added the first time, and the tooltip is created on the first hover and reused afterwards.
+     *
+     * @param control the control to show the tooltip on
+     * @param text the text of the tooltip, or null for no tooltip
+     */
+    public static void setText(Control control, String text) {
+        if (!control.getProperties().containsKey(TEXT_KEY)) {
+            control.addEventHandler(MouseEvent.MOUSE_ENTERED, event -> {
+                String current = (String) control.getProperties().get(TEXT_KEY);
+                if (current != null && control.getTooltip() == null) {
+                    Tooltip tooltip = new Tooltip(current);
+                    tooltip.setWrapText(true);
+                    control.setTooltip(tooltip);
+                }
+            });
+        }
+        control.getProperties().put(TEXT_KEY, text);
+        if (text == null) {
+            control.setTooltip(null);
+        } else if (control.getTooltip() != null) {
+            control.getTooltip().setText(text);
+        }
+    }
+}
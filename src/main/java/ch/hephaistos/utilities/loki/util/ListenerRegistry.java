@@ -0,0 +1,341 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2019 Ricardo Daniel Monteiro Simoes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package ch.hephaistos.utilities.loki.util;
+
+import ch.hephaistos.utilities.loki.util.interfaces.ChangeListener;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * The {@link ChangeListener}s of a single grid, each one subscribed to all changes, or only to the changes of
+ * a field, of objects of a class, or of one object.
+ * <p>
+ * Unlike the listeners added trough {@link ch.hephaistos.utilities.loki.util.statics.ReflectionHelper#addInterfaceToUpdate(ChangeListener)},
+ * which receive every change made by any grid, a registry only receives the changes made trough the editors of
+ * its grid, and only calls the listeners interested in the change. Finding them takes a lookup per scope, and
+ * the listeners of a scope are kept in an array that is copied when a listener is added or removed, so
+ * dispatching never locks.
+ * <p>
+ * A listener subscribed to several scopes matching the same change is called once per subscription.
+ * Objects a listener is subscribed to are referenced until the listener is unsubscribed.
+ *
+ * @author Ricardo Daniel Monteiro Simoes
+ */
+public final class ListenerRegistry {
+
+    private static final ChangeListener[] NONE = new ChangeListener[0];
+
+    /**
+     * The registry receiving the changes made on the current thread, see {@link #dispatchDuring(Runnable)}.
+     */
+    private static final ThreadLocal<ListenerRegistry> ACTIVE = new ThreadLocal<>();
+
+    private volatile ChangeListener[] all = NONE;
+    private final Map<Field, ChangeListener[]> byField = new ConcurrentHashMap<>();
+    private final Map<Class<?>, ChangeListener[]> byClass = new ConcurrentHashMap<>();
+
+    /**
+     * The class listeners for every class a change was dispatched for, including the ones subscribed to its
+     * superclasses and interfaces. Replaced whenever a class listener is added or removed.
+     */
+    private volatile Map<Class<?>, ChangeListener[]> resolvedByClass = new ConcurrentHashMap<>();
+
+    /**
+     * Replaced by a copy whenever an object listener is added or removed, as there is no concurrent identity map.
+     */
+    private volatile Map<Object, ChangeListener[]> byObject = new IdentityHashMap<>();
+
+    private volatile ChangeDispatcher changeDispatcher;
+
+    /**
+     * @param listener the listener to call for every change
+     */
+    public synchronized void subscribe(ChangeListener listener) {
+        all = append(all, Objects.requireNonNull(listener, "The listener is null!"));
+    }
+
+    /**
+     * @param field the field whose changes are reported, in any object
+     * @param listener the listener to call
+     */
+    public synchronized void subscribeToField(Field field, ChangeListener listener) {
+        Objects.requireNonNull(listener, "The listener is null!");
+        byField.put(field, append(byField.getOrDefault(field, NONE), listener));
+    }
+
+    /**
+     * @param type the class whose objects' changes are reported, including objects of subclasses
+     * @param listener the listener to call
+     */
+    public synchronized void subscribeToClass(Class<?> type, ChangeListener listener) {
+        Objects.requireNonNull(listener, "The listener is null!");
+        byClass.put(type, append(byClass.getOrDefault(type, NONE), listener));
+        resolvedByClass = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * @param object the object whose changes are reported, compared by identity
+     * @param listener the listener to call
+     */
+    public synchronized void subscribeToObject(Object object, ChangeListener listener) {
+        Objects.requireNonNull(object, "The object is null!");
+        Objects.requireNonNull(listener, "The listener is null!");
+        Map<Object, ChangeListener[]> copy = new IdentityHashMap<>(byObject);
+        copy.put(object, append(copy.getOrDefault(object, NONE), listener));
+        byObject = copy;
+    }
+
+    /**
+     * Removes the listener from every scope it was subscribed to.
+     *
+     * @param listener the listener to remove
+     */
+    public synchronized void unsubscribe(ChangeListener listener) {
+        all = remove(all, listener);
+        removeFrom(byField, listener);
+        if (removeFrom(byClass, listener)) {
+            resolvedByClass = new ConcurrentHashMap<>();
+        }
+        Map<Object, ChangeListener[]> copy = new IdentityHashMap<>(byObject);
+        if (removeFrom(copy, listener)) {
+            byObject = copy;
+        }
+    }
+
+    /**
+     * @return true if no listener is subscribed
+     */
+    public boolean isEmpty() {
+        return all.length == 0 && byField.isEmpty() && byClass.isEmpty() && byObject.isEmpty();
+    }
+
+    /**
+     * Runs the action with this registry receiving all changes the action makes trough
+     * {@link ch.hephaistos.utilities.loki.util.statics.ReflectionHelper} on the current thread.
+     * The bindings of a grid write their values this way.
+     *
+     * @param action the action that changes values
+     */
+    public void dispatchDuring(Runnable action) {
+        ListenerRegistry previous = ACTIVE.get();
+        ACTIVE.set(this);
+        try {
+            action.run();
+        } finally {
+            if (previous == null) {
+                ACTIVE.remove();
+            } else {
+                ACTIVE.set(previous);
+            }
+        }
+    }
+
+    /**
+     * @return the registry receiving the changes made on the current thread, or null
+     */
+    public static ListenerRegistry active() {
+        return ACTIVE.get();
+    }
+
+    /**
+     * Calls {@link ChangeListener#onObjectValueChanged(Field, Object, Object, Object)} on every interested listener.
+     */
+    public void fireObjectValueChanged(Field field, Object oldValue, Object newValue, Object object) {
+        Consumer<ChangeListener> change = listener -> listener.onObjectValueChanged(field, oldValue, newValue, object);
+        call(all, object, change);
+        call(byField.getOrDefault(field, NONE), object, change);
+        call(forClass(object.getClass()), object, change);
+        call(byObject.getOrDefault(object, NONE), object, change);
+    }
+
+    /**
+     * Calls {@link ChangeListener#onObjectsValueChanged(Field, List, Object, List)} on every listener interested
+     * in the field or the class of the objects, which all have to be of the same class. Listeners subscribed to
+     * one of the objects are called for their object only.
+     */
+    public void fireObjectsValueChanged(Field field, List<?> oldValues, Object newValue, List<?> objects) {
+        if (objects.isEmpty()) {
+            return;
+        }
+        Object first = objects.get(0);
+        Consumer<ChangeListener> change = listener -> listener.onObjectsValueChanged(field, oldValues, newValue, objects);
+        call(all, first, change);
+        call(byField.getOrDefault(field, NONE), first, change);
+        call(forClass(first.getClass()), first, change);
+        Map<Object, ChangeListener[]> objectListeners = byObject;
+        if (objectListeners.isEmpty()) {
+            return;
+        }
+        for (int i = 0; i < objects.size(); i++) {
+            Object object = objects.get(i);
+            Object oldValue = oldValues.get(i);
+            call(objectListeners.getOrDefault(object, NONE), object,
+                    listener -> listener.onObjectValueChanged(field, oldValue, newValue, object));
+        }
+    }
+
+    /**
+     * Calls {@link ChangeListener#onArrayRangeChanged(Field, Object, int, int, Object)} on every interested listener.
+     */
+    public void fireArrayRangeChanged(Field field, Object array, int fromIndex, int toIndex, Object object) {
+        Consumer<ChangeListener> change = listener -> listener.onArrayRangeChanged(field, array, fromIndex, toIndex, object);
+        call(all, object, change);
+        call(byField.getOrDefault(field, NONE), object, change);
+        call(forClass(object.getClass()), object, change);
+        call(byObject.getOrDefault(object, NONE), object, change);
+    }
+
+    /**
+     * Calls {@link ChangeListener#onChangeSet(ChangeSet)} once on every interested listener. Listeners subscribed
+     * to all changes receive the whole set, the others only the changes matching their field, class or object.
+     */
+    public void fireChangeSet(ChangeSet changeSet) {
+        if (changeSet.isEmpty()) {
+            return;
+        }
+        call(all, changeSet.getChanges().get(0).getObject(), listener -> listener.onChangeSet(changeSet));
+        if (byField.isEmpty() && byClass.isEmpty() && byObject.isEmpty()) {
+            return;
+        }
+        Map<ChangeListener, List<ChangeSet.Change>> scoped = new LinkedHashMap<>();
+        Map<Object, ChangeListener[]> objectListeners = byObject;
+        for (ChangeSet.Change change : changeSet.getChanges()) {
+            collect(scoped, byField.getOrDefault(change.getField(), NONE), change);
+            collect(scoped, forClass(change.getObject().getClass()), change);
+            collect(scoped, objectListeners.getOrDefault(change.getObject(), NONE), change);
+        }
+        for (Map.Entry<ChangeListener, List<ChangeSet.Change>> entry : scoped.entrySet()) {
+            List<ChangeSet.Change> changes = entry.getValue();
+            ChangeSet subset = changes.size() == changeSet.size() ? changeSet : new ChangeSet(changes);
+            call(new ChangeListener[]{entry.getKey()}, changes.get(0).getObject(), listener -> listener.onChangeSet(subset));
+        }
+    }
+
+    /**
+     * Adds the change to the changes of every listener, once even if a listener is subscribed to several
+     * scopes matching it.
+     */
+    private static void collect(Map<ChangeListener, List<ChangeSet.Change>> scoped, ChangeListener[] listeners,
+                                ChangeSet.Change change) {
+        for (ChangeListener listener : listeners) {
+            List<ChangeSet.Change> changes = scoped.computeIfAbsent(listener, key -> new ArrayList<>());
+            if (changes.isEmpty() || changes.get(changes.size() - 1) != change) {
+                changes.add(change);
+            }
+        }
+    }
+
+    /**
+     * Reports the change to the listeners, trough the {@link ChangeDispatcher} if one is set.
+     */
+    private void call(ChangeListener[] listeners, Object object, Consumer<ChangeListener> change) {
+        ChangeDispatcher dispatcher = changeDispatcher;
+        for (ChangeListener listener : listeners) {
+            if (dispatcher == null) {
+                change.accept(listener);
+            } else {
+                dispatcher.deliver(listener, object, change);
+            }
+        }
+    }
+
+    /**
+     * Lets the given dispatcher deliver the changes to the listeners of this registry, so that they are not
+     * called on the thread changing the value. {@link ChangeDispatcher} for more information
+     *
+     * @param changeDispatcher the dispatcher to use, or null to call the listeners right away again
+     */
+    public void setChangeDispatcher(ChangeDispatcher changeDispatcher) {
+        this.changeDispatcher = changeDispatcher;
+    }
+
+    public ChangeDispatcher getChangeDispatcher() {
+        return changeDispatcher;
+    }
+
+    private ChangeListener[] forClass(Class<?> type) {
+        if (byClass.isEmpty()) {
+            return NONE;
+        }
+        return resolvedByClass.computeIfAbsent(type, this::resolve);
+    }
+
+    private ChangeListener[] resolve(Class<?> type) {
+        ChangeListener[] listeners = NONE;
+        for (Map.Entry<Class<?>, ChangeListener[]> entry : byClass.entrySet()) {
+            if (entry.getKey().isAssignableFrom(type)) {
+                for (ChangeListener listener : entry.getValue()) {
+                    listeners = append(listeners, listener);
+                }
+            }
+        }
+        return listeners;
+    }
+
+    private static <K> boolean removeFrom(Map<K, ChangeListener[]> map, ChangeListener listener) {
+        boolean removed = false;
+        for (K key : new ArrayList<>(map.keySet())) {
+            ChangeListener[] listeners = map.get(key);
+            ChangeListener[] remaining = remove(listeners, listener);
+            if (remaining.length == listeners.length) {
+                continue;
+            }
+            removed = true;
+            if (remaining.length == 0) {
+                map.remove(key);
+            } else {
+                map.put(key, remaining);
+            }
+        }
+        return removed;
+    }
+
+    private static ChangeListener[] append(ChangeListener[] listeners, ChangeListener listener) {
+        ChangeListener[] copy = Arrays.copyOf(listeners, listeners.length + 1);
+        copy[listeners.length] = listener;
+        return copy;
+    }
+
+    private static ChangeListener[] remove(ChangeListener[] listeners, ChangeListener listener) {
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i] == listener) {
+                ChangeListener[] copy = new ChangeListener[listeners.length - 1];
+                System.arraycopy(listeners, 0, copy, 0, i);
+                System.arraycopy(listeners, i + 1, copy, i, listeners.length - i - 1);
+                return remove(copy, listener);
+            }
+        }
+        return listeners;
+    }
+}
@@ -24,25 +24,30 @@
 
 package ch.hephaistos.utilities.loki.util;
 
+import ch.hephaistos.utilities.loki.util.typeconversion.PrimitiveParser;
+import ch.hephaistos.utilities.loki.util.typeconversion.ValidationState;
 import javafx.beans.NamedArg;
 import javafx.scene.control.SpinnerValueFactory;
-import javafx.util.StringConverter;
 import javafx.util.converter.BigDecimalStringConverter;
 
 import java.lang.reflect.Type;
 import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.math.RoundingMode;
 
 /**
  * This Class is used to create a generic SpinnerValueFactor for usage with {@link javafx.scene.control.Spinner}.
- * It converts every Number internally into a BigDecimal using the conversion trough .doubleValue().
+ * It converts every Number internally into a BigDecimal, see {@link #toBigDecimal(Number)}.
  * It is not built with the intention of keeping as much precision as possible - it is merely used to give users a simple
  * way of visualizing any kind of Numeric Variable.
+ * Text that is not a number of the type of the variable, like a half typed "-" or "1e", or "1.5" for an int,
+ * keeps the current value instead of throwing a NumberFormatException when the spinner commits it.
  * @author Ricardo DAniel Monteiro Simoes
  */
 public class NumberSpinnerValueFactory extends SpinnerValueFactory<BigDecimal> {
 
     private Type type = BigDecimal.class;
+    private final boolean integral;
     private BigDecimal currentNumber;
     private BigDecimal min;
     private BigDecimal max;
@@ -77,25 +82,49 @@ public class NumberSpinnerValueFactory extends SpinnerValueFactory<BigDecimal> {
             @NamedArg("amountToStepBy") Number amountToStepBy,
             Type type) {
         this.type = type;
+        Class<?> parsed = new PrimitiveParser(getParsedType(type)).getType();
+        this.integral = parsed == int.class || parsed == long.class || parsed == short.class || parsed == byte.class;
         setMin(turnIntoBD(min));
         setMax(turnIntoBD(max));
         setAmountToStepBy(turnIntoBD(amountToStepBy));
-        super.setConverter((StringConverter<BigDecimal>) new BigDecimalStringConverter());
+        super.setConverter(new CheckedConverter());
 
         valueProperty().addListener((o, oldValue, newValue) -> {
+            if (newValue == null) {
+                return;
+            }
             if (isSmallerOrEqualThan(newValue, getMin())) {
                 setNumber(getMin());
             } else if (isLargerOrEqualThan(newValue, getMax())) {
                 setNumber(getMax());
             }
         });
-        setNumber((isLargerOrEqualThan(initialValue, getMin())
-                && isSmallerOrEqualThan(initialValue, getMax()))
-                ? turnIntoBD(initialValue) : getMin());
+        BigDecimal initial = turnIntoBD(initialValue);
+        setNumber((isLargerOrEqualThan(initial, getMin())
+                && isSmallerOrEqualThan(initial, getMax()))
+                ? initial : getMin());
     }
 
 
     private BigDecimal turnIntoBD(Number number) {
+        return toBigDecimal(number);
+    }
+
+    /**
+     * Converts a number exactly if it is integral or a BigDecimal, and trough .doubleValue() otherwise.
+     *
+     * @param number the number to convert
+     * @return the number as BigDecimal
+     */
+    public static BigDecimal toBigDecimal(Number number) {
+        if (number instanceof BigDecimal) {
+            return (BigDecimal) number;
+        } else if (number instanceof BigInteger) {
+            return new BigDecimal((BigInteger) number);
+        } else if (number instanceof Long || number instanceof Integer
+                || number instanceof Short || number instanceof Byte) {
+            return BigDecimal.valueOf(number.longValue());
+        }
         return BigDecimal.valueOf(number.doubleValue());
     }
 
@@ -161,6 +190,13 @@ public class NumberSpinnerValueFactory extends SpinnerValueFactory<BigDecimal> {
         return max;
     }
 
+    /**
+     * @return the Type of the variable this factory was created for
+     */
+    public Type getType() {
+        return type;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -169,7 +205,7 @@ public class NumberSpinnerValueFactory extends SpinnerValueFactory<BigDecimal> {
         final BigDecimal min = getMin();
         final BigDecimal max = getMax();
         final BigDecimal newIndex
-                = (getValue()).subtract(turnIntoBD(steps)
+                = currentOrZero().subtract(turnIntoBD(steps)
                         .multiply(getAmountToStepBy()));
 
         setNumber(isLargerOrEqualThan(newIndex, getMin())
@@ -184,9 +220,8 @@ public class NumberSpinnerValueFactory extends SpinnerValueFactory<BigDecimal> {
     public void increment(int steps) {
         final BigDecimal min = getMin();
         final BigDecimal max = getMax();
-        final BigDecimal currentValue = (BigDecimal) getValue();
         final BigDecimal newIndex
-                = ((BigDecimal) getValue()).add(turnIntoBD(steps)
+                = currentOrZero().add(turnIntoBD(steps)
                         .multiply(getAmountToStepBy()));
         setNumber((isSmallerOrEqualThan(newIndex, getMax())
                 ? newIndex : (isWrapAround()
@@ -206,12 +241,52 @@ public class NumberSpinnerValueFactory extends SpinnerValueFactory<BigDecimal> {
         return value;
     }
 
+    /**
+     * Sets the value of the spinner to the given number, adjusted to the type of the variable.
+     * @param number the new value
+     */
+    public void setNumber(Number number) {
+        setNumber(turnIntoBD(number));
+    }
+
     private void setNumber(BigDecimal number) {
-        if (type == int.class || type == long.class) {
+        if (integral) {
             setValue(number.setScale(0, RoundingMode.DOWN));
             return;
         }
         setValue(number);
     }
 
+    /**
+     * @param type the Type of a variable
+     * @return the primitive type the text of a spinner for the variable is checked as, double if it has none
+     */
+    public static Class<?> getParsedType(Type type) {
+        return type instanceof Class && PrimitiveParser.supports((Class<?>) type) ? (Class<?>) type : double.class;
+    }
+
+    /**
+     * @return the value, or zero if the spinner shows no value, like for a field holding null
+     */
+    private BigDecimal currentOrZero() {
+        return getValue() != null ? getValue() : BigDecimal.ZERO;
+    }
+
+    /**
+     * Checks the text with a {@link PrimitiveParser} before converting it, so invalid text never throws.
+     */
+    private class CheckedConverter extends BigDecimalStringConverter {
+
+        private final PrimitiveParser parser = new PrimitiveParser(getParsedType(type));
+
+        @Override
+        public BigDecimal fromString(String text) {
+            if (parser.parse(text) != ValidationState.VALID || parser.isNull()
+                    || Double.isNaN(parser.getDouble()) || Double.isInfinite(parser.getDouble())) {
+                return getValue();
+            }
+            return integral ? BigDecimal.valueOf(parser.getLong())
+                    : BigDecimal.valueOf(parser.getDouble());
+        }
+    }
 }
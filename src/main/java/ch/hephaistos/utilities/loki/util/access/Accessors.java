@@ -0,0 +1,169 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2019 Ricardo Daniel Monteiro Simoes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package ch.hephaistos.utilities.loki.util.access;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Resolves and caches the {@link FieldAccessor}s and {@link MethodInvoker}s of members.
+ * Every member is only resolved once; the cache is kept per declaring class, so it does not keep
+ * classes alive that could otherwise be unloaded.
+ * <p>
+ * If a {@link GridBinder} was generated for the declaring class, its accessors are used. Every member
+ * the binder does not cover is accessed trough {@link java.lang.invoke.MethodHandle}s instead.
+ *
+ * @author Ricardo Daniel Monteiro Simoes
+ */
+public class Accessors {
+
+    private static final ClassValue<ConcurrentMap<Member, Object>> CACHE = new ClassValue<ConcurrentMap<Member, Object>>() {
+        @Override
+        protected ConcurrentMap<Member, Object> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private static final ClassValue<ConcurrentMap<String, PathAccessor>> PATHS =
+            new ClassValue<ConcurrentMap<String, PathAccessor>>() {
+        @Override
+        protected ConcurrentMap<String, PathAccessor> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private static final GridBinder NO_BINDER = new GridBinder() {
+        @Override
+        public FieldAccessor fieldAccessor(String fieldName) {
+            return null;
+        }
+
+        @Override
+        public MethodInvoker methodInvoker(String methodName) {
+            return null;
+        }
+    };
+
+    private static final ClassValue<GridBinder> BINDERS = new ClassValue<GridBinder>() {
+        @Override
+        protected GridBinder computeValue(Class<?> type) {
+            return loadBinder(type);
+        }
+    };
+
+    /**
+     * Returns the accessor for the given field, resolving it the first time the field is requested.
+     *
+     * @param field the field to access
+     * @return the cached accessor of the field
+     * @throws IllegalArgumentException if the field can not be made accessible
+     */
+    public static FieldAccessor forField(Field field) {
+        return (FieldAccessor) CACHE.get(field.getDeclaringClass()).computeIfAbsent(field, member -> {
+            FieldAccessor bound = BINDERS.get(member.getDeclaringClass()).fieldAccessor(member.getName());
+            if (bound != null) {
+                return bound;
+            }
+            try {
+                return new MethodHandleFieldAccessor((Field) member);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalArgumentException("Cannot access field: " + member.getName(), e);
+            }
+        });
+    }
+
+    /**
+     * Returns the invoker for the given method, resolving it the first time the method is requested.
+     *
+     * @param method the method to call, it must not take any parameters
+     * @return the cached invoker of the method
+     * @throws IllegalArgumentException if the method can not be made accessible
+     */
+    public static MethodInvoker forMethod(Method method) {
+        return (MethodInvoker) CACHE.get(method.getDeclaringClass()).computeIfAbsent(method, member -> {
+            MethodInvoker bound = BINDERS.get(member.getDeclaringClass()).methodInvoker(member.getName());
+            if (bound != null) {
+                return bound;
+            }
+            try {
+                return new MethodHandleInvoker((Method) member);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalArgumentException("Cannot access method: " + member.getName(), e);
+            }
+        });
+    }
+
+    /**
+     * Returns the accessor for a dotted path of fields, like {@code "data.port"}, compiling it the first time the
+     * path is requested for the given root class.
+     *
+     * @param rootClass the class the path starts at
+     * @param path the names of the fields, separated by dots
+     * @return the cached accessor of the path
+     * @throws IllegalArgumentException if a field of the path does not exist or can not be made accessible
+     */
+    public static PathAccessor forPath(Class<?> rootClass, String path) {
+        return PATHS.get(rootClass).computeIfAbsent(path, key -> new PathAccessor(rootClass, key));
+    }
+
+    /**
+     * @param accessor the accessor to check
+     * @return true if the accessor reads and writes the field itself, without calling any code of the class
+     * declaring it, as opposed to the accessors of a generated {@link GridBinder}
+     */
+    public static boolean isDirect(FieldAccessor accessor) {
+        return accessor instanceof MethodHandleFieldAccessor;
+    }
+
+    /**
+     * @param type the class to look up
+     * @return true if a {@link GridBinder} was generated for the given class
+     */
+    public static boolean hasBinder(Class<?> type) {
+        return BINDERS.get(type) != NO_BINDER;
+    }
+
+    private static GridBinder loadBinder(Class<?> type) {
+        ClassLoader classLoader = type.getClassLoader();
+        if (classLoader == null) {
+            return NO_BINDER;
+        }
+        try {
+            Class<?> binderClass = Class.forName(GridBinder.binderClassName(type), true, classLoader);
+            if (!GridBinder.class.isAssignableFrom(binderClass)) {
+                return NO_BINDER;
+            }
+            return (GridBinder) binderClass.getConstructor().newInstance();
+        } catch (ClassNotFoundException e) {
+            return NO_BINDER;
+        } catch (ReflectiveOperationException | LinkageError e) {
+            System.err.println("Couldnt load the binder of " + type.getName() + " " + e.getMessage());
+            return NO_BINDER;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2019 Ricardo Daniel Monteiro Simoes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package ch.hephaistos.utilities.loki.util.access;
+
+/**
+ * Reads and writes the value of one field. An accessor is resolved once per field by
+ * {@link Accessors} and can then be used for any object that declares the field.
+ * <p>
+ * The primitive methods allow reading and writing primitive fields without boxing their values.
+ * Implementations that can not do that fall back to {@link #get(Object)} and {@link #set(Object, Object)}.
+ *
+ * @author Ricardo Daniel Monteiro Simoes
+ */
+public interface FieldAccessor {
+
+    /**
+     * @param target the object to read the field from
+     * @return the current value of the field
+     */
+    Object get(Object target);
+
+    /**
+     * @param target the object to write the field to
+     * @param value the new value of the field
+     */
+    void set(Object target, Object value);
+
+    default int getInt(Object target) {
+        return ((Number) get(target)).intValue();
+    }
+
+    default long getLong(Object target) {
+        return ((Number) get(target)).longValue();
+    }
+
+    default double getDouble(Object target) {
+        return ((Number) get(target)).doubleValue();
+    }
+
+    default float getFloat(Object target) {
+        return ((Number) get(target)).floatValue();
+    }
+
+    default short getShort(Object target) {
+        return ((Number) get(target)).shortValue();
+    }
+
+    default byte getByte(Object target) {
+        return ((Number) get(target)).byteValue();
+    }
+
+    default boolean getBoolean(Object target) {
+        return (Boolean) get(target);
+    }
+
+    default char getChar(Object target) {
+        return (Character) get(target);
+    }
+
+    default void setInt(Object target, int value) {
+        set(target, value);
+    }
+
+    default void setLong(Object target, long value) {
+        set(target, value);
+    }
+
+    default void setDouble(Object target, double value) {
+        set(target, value);
+    }
+
+    default void setFloat(Object target, float value) {
+        set(target, value);
+    }
+
+    default void setShort(Object target, short value) {
+        set(target, value);
+    }
+
+    default void setByte(Object target, byte value) {
+        set(target, value);
+    }
+
+    default void setBoolean(Object target, boolean value) {
+        set(target, value);
+    }
+
+    default void setChar(Object target, char value) {
+        set(target, value);
+    }
+}
@@ -0,0 +1,71 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2019 Ricardo Daniel Monteiro Simoes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package ch.hephaistos.utilities.loki.util.access;
+
+/**
+ * A binder gives direct access to the annotated members of one class, without using reflection.
+ * <p>
+ * Binders are generated at compile time by the <b>loki-processor</b> annotation processor for every
+ * class that declares fields annotated with
+ * {@link ch.hephaistos.utilities.loki.util.annotations.TransferGrid} or methods annotated with
+ * {@link ch.hephaistos.utilities.loki.util.annotations.TransferMethod}. The generated class is placed
+ * in the same package as the class it binds and is named after it, see {@link #binderClassName(Class)}.
+ * <p>
+ * {@link Accessors} picks up a binder if one is on the classpath and falls back to reflection for
+ * every member the binder can not access, for example private fields without getter and setter.
+ *
+ * @author Ricardo Daniel Monteiro Simoes
+ */
+public interface GridBinder {
+
+    /**
+     * The suffix appended to the name of a class to get the name of its binder.
+     */
+    String BINDER_SUFFIX = "_LokiBinder";
+
+    /**
+     * @param fieldName the name of a field declared in the bound class
+     * @return the accessor for the field, or null if the binder can not access it
+     */
+    FieldAccessor fieldAccessor(String fieldName);
+
+    /**
+     * @param methodName the name of a method declared in the bound class
+     * @return the invoker for the method, or null if the binder can not call it
+     */
+    MethodInvoker methodInvoker(String methodName);
+
+    /**
+     * Returns the fully qualified name of the binder generated for the given class.
+     * Nested classes are joined with an underscore, so the binder of {@code a.Outer.Inner}
+     * is called {@code a.Outer_Inner_LokiBinder}.
+     *
+     * @param type the bound class
+     * @return the name of the binder class
+     */
+    static String binderClassName(Class<?> type) {
+        return type.getName().replace('$', '_') + BINDER_SUFFIX;
+    }
+}
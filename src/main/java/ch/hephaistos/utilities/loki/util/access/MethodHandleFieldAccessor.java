@@ -0,0 +1,318 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2019 Ricardo Daniel Monteiro Simoes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package ch.hephaistos.utilities.loki.util.access;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+/**
+ * A {@link FieldAccessor} backed by {@link MethodHandle}s. The field is made accessible once while the
+ * handles are resolved, afterwards reading and writing does not go through the access checks of
+ * {@link Field#get(Object)} and {@link Field#set(Object, Object)} anymore.
+ * <p>
+ * Primitive fields additionally get handles with their exact primitive type, which are used by the
+ * primitive methods of {@link FieldAccessor} so that their values are never boxed.
+ * <p>
+ * The handles are held in instance fields, so the JIT can't fold them into constants the way it does with a
+ * handle in a static final field, and every access is still an indirect call. This is not as fast as accessing the
+ * field directly: {@code test/Benchmark/AccessorBenchmark} measures about 12 ns/op for an int read and write,
+ * against about 16 ns/op for {@link Field#get(Object)} and {@link Field#set(Object, Object)}. Classes that need
+ * more can have a {@link GridBinder} generated, see {@link Accessors}.
+ *
+ * @author Ricardo Daniel Monteiro Simoes
+ */
+final class MethodHandleFieldAccessor implements FieldAccessor {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final Class<?> type;
+    private final MethodHandle getter;
+    private final MethodHandle setter;
+    private final MethodHandle primitiveGetter;
+    private final MethodHandle primitiveSetter;
+
+    MethodHandleFieldAccessor(Field field) throws ReflectiveOperationException {
+        field.setAccessible(true);
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        boolean isStatic = Modifier.isStatic(field.getModifiers());
+        type = field.getType();
+
+        MethodHandle get = lookup.unreflectGetter(field);
+        if (isStatic) {
+            get = MethodHandles.dropArguments(get, 0, Object.class);
+        }
+
+        MethodHandle set;
+        try {
+            set = lookup.unreflectSetter(field);
+            if (isStatic) {
+                set = MethodHandles.dropArguments(set, 0, Object.class);
+            }
+        } catch (IllegalAccessException finalField) {
+            // final fields can not be written trough a setter handle, but Field.set still allows it
+            set = lookup.findVirtual(Field.class, "set", SETTER_TYPE).bindTo(field);
+        }
+
+        getter = get.asType(GETTER_TYPE);
+        setter = set.asType(SETTER_TYPE);
+        primitiveGetter = type.isPrimitive() ? get.asType(MethodType.methodType(type, Object.class)) : null;
+        primitiveSetter = type.isPrimitive() ? set.asType(MethodType.methodType(void.class, Object.class, type)) : null;
+    }
+
+    /**
+     * Rethrows unchecked exceptions as they are and wraps everything else.
+     */
+    private static RuntimeException propagate(Throwable t) {
+        if (t instanceof RuntimeException) {
+            return (RuntimeException) t;
+        }
+        if (t instanceof Error) {
+            throw (Error) t;
+        }
+        return new IllegalStateException(t);
+    }
+
+    @Override
+    public Object get(Object target) {
+        try {
+            return getter.invokeExact(target);
+        } catch (Throwable t) {
+            throw propagate(t);
+        }
+    }
+
+    @Override
+    public void set(Object target, Object value) {
+        try {
+            setter.invokeExact(target, value);
+        } catch (Throwable t) {
+            throw propagate(t);
+        }
+    }
+
+    @Override
+    public int getInt(Object target) {
+        if (type != int.class) {
+            return FieldAccessor.super.getInt(target);
+        }
+        try {
+            return (int) primitiveGetter.invokeExact(target);
+        } catch (Throwable t) {
+            throw propagate(t);
+        }
+    }
+
+    @Override
+    public long getLong(Object target) {
+        if (type != long.class) {
+            return FieldAccessor.super.getLong(target);
+        }
+        try {
+            return (long) primitiveGetter.invokeExact(target);
+        } catch (Throwable t) {
+            throw propagate(t);
+        }
+    }
+
+    @Override
+    public double getDouble(Object target) {
+        if (type != double.class) {
+            return FieldAccessor.super.getDouble(target);
+        }
+        try {
+            return (double) primitiveGetter.invokeExact(target);
+        } catch (Throwable t) {
+            throw propagate(t);
+        }
+    }
+
+    @Override
+    public float getFloat(Object target) {
+        if (type != float.class) {
+            return FieldAccessor.super.getFloat(target);
+        }
+        try {
+            return (float) primitiveGetter.invokeExact(target);
+        } catch (Throwable t) {
+            throw propagate(t);
+        }
+    }
+
+    @Override
+    public short getShort(Object target) {
+        if (type != short.class) {
+            return FieldAccessor.super.getShort(target);
+        }
+        try {
+            return (short) primitiveGetter.invokeExact(target);
+        } catch (Throwable t) {
+            throw propagate(t);
+        }
+    }
+
+    @Override
+    public byte getByte(Object target) {
+        if (type != byte.class) {
+            return FieldAccessor.super.getByte(target);
+        }
+        try {
+            return (byte) primitiveGetter.invokeExact(target);
+        } catch (Throwable t) {
+            throw propagate(t);
+        }
+    }
+
+    @Override
+    public boolean getBoolean(Object target) {
+        if (type != boolean.class) {
+            return FieldAccessor.super.getBoolean(target);
+        }
+        try {
+            return (boolean) primitiveGetter.invokeExact(target);
+        } catch (Throwable t) {
+            throw propagate(t);
+        }
+    }
+
+    @Override
+    public char getChar(Object target) {
+        if (type != char.class) {
+            return FieldAccessor.super.getChar(target);
+        }
+        try {
+            return (char) primitiveGetter.invokeExact(target);
+        } catch (Throwable t) {
+            throw propagate(t);
+        }
+    }
+
+    @Override
+    public void setInt(Object target, int value) {
+        if (type != int.class) {
+            FieldAccessor.super.setInt(target, value);
+            return;
+        }
+        try {
+            primitiveSetter.invokeExact(target, value);
+        } catch (Throwable t) {
+            throw propagate(t);
+        }
+    }
+
+    @Override
+    public void setLong(Object target, long value) {
+        if (type != long.class) {
+            FieldAccessor.super.setLong(target, value);
+            return;
+        }
+        try {
+            primitiveSetter.invokeExact(target, value);
+        } catch (Throwable t) {
+            throw propagate(t);
+        }
+    }
+
+    @Override
+    public void setDouble(Object target, double value) {
+        if (type != double.class) {
+            FieldAccessor.super.setDouble(target, value);
+            return;
+        }
+        try {
+            primitiveSetter.invokeExact(target, value);
+        } catch (Throwable t) {
+            throw propagate(t);
+        }
+    }
+
+    @Override
+    public void setFloat(Object target, float value) {
+        if (type != float.class) {
+            FieldAccessor.super.setFloat(target, value);
+            return;
+        }
+        try {
+            primitiveSetter.invokeExact(target, value);
+        } catch (Throwable t) {
+            throw propagate(t);
+        }
+    }
+
+    @Override
+    public void setShort(Object target, short value) {
+        if (type != short.class) {
+            FieldAccessor.super.setShort(target, value);
+            return;
+        }
+        try {
+            primitiveSetter.invokeExact(target, value);
+        } catch (Throwable t) {
+            throw propagate(t);
+        }
+    }
+
+    @Override
+    public void setByte(Object target, byte value) {
+        if (type != byte.class) {
+            FieldAccessor.super.setByte(target, value);
+            return;
+        }
+        try {
+            primitiveSetter.invokeExact(target, value);
+        } catch (Throwable t) {
+            throw propagate(t);
+        }
+    }
+
+    @Override
+    public void setBoolean(Object target, boolean value) {
+        if (type != boolean.class) {
+            FieldAccessor.super.setBoolean(target, value);
+            return;
+        }
+        try {
+            primitiveSetter.invokeExact(target, value);
+        } catch (Throwable t) {
+            throw propagate(t);
+        }
+    }
+
+    @Override
+    public void setChar(Object target, char value) {
+        if (type != char.class) {
+            FieldAccessor.super.setChar(target, value);
+            return;
+        }
+        try {
+            primitiveSetter.invokeExact(target, value);
+        } catch (Throwable t) {
+            throw propagate(t);
+        }
+    }
+}
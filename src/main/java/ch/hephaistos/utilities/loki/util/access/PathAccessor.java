@@ -0,0 +1,470 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2019 Ricardo Daniel Monteiro Simoes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package ch.hephaistos.utilities.loki.util.access;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Objects;
+
+/**
+ * Reads and writes a nested field given as a dotted path, like {@code "data.port"}, starting at a root object.
+ * <p>
+ * The path is resolved once against the declared types of its fields, and the getter handles of all fields are
+ * composed into a single {@link MethodHandle} that returns null as soon as one of the objects on the path is null.
+ * For a primitive field at the end of the path, a second handle ends with the primitive getter of that field, so
+ * the primitive getters and setters don't box. Reading a path therefore costs about as much as reading a single
+ * field trough its {@link FieldAccessor}, less than calling the accessors of the fields one after the other.
+ * Fields of classes with a generated {@link GridBinder}, or fields
+ * that can not be made accessible, are read trough their {@link FieldAccessor} instead. Accessors are cached per
+ * root class and path by {@link Accessors#forPath(Class, String)}.
+ * <p>
+ * Writing a path sets the last field on the object that holds it. If one of the objects before it is null,
+ * there is nothing to write to and a NullPointerException is thrown.
+ *
+ * @author Ricardo Daniel Monteiro Simoes
+ */
+public final class PathAccessor implements FieldAccessor {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodHandle ACCESSOR_GET;
+    private static final MethodHandle ACCESSOR_SET;
+    private static final MethodHandle IS_NULL;
+    private static final MethodHandle RETURN_NULL;
+    private static final MethodHandle REQUIRE_OWNER;
+
+    static {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            ACCESSOR_GET = lookup.findVirtual(FieldAccessor.class, "get", GETTER_TYPE);
+            ACCESSOR_SET = lookup.findVirtual(FieldAccessor.class, "set", SETTER_TYPE);
+            IS_NULL = lookup.findStatic(Objects.class, "isNull", MethodType.methodType(boolean.class, Object.class));
+            REQUIRE_OWNER = lookup.findStatic(PathAccessor.class, "requireOwner",
+                    MethodType.methodType(Object.class, String.class, Object.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+        RETURN_NULL = MethodHandles.dropArguments(MethodHandles.constant(Object.class, null), 0, Object.class);
+    }
+
+    private final Class<?> rootClass;
+    private final String path;
+    private final Field[] fields;
+    private final Class<?> type;
+    private final FieldAccessor last;
+    private final MethodHandle getter;
+    private final MethodHandle ownerGetter;
+    private final MethodHandle setter;
+    private final MethodHandle primitiveGetter;
+    private final MethodHandle primitiveSetter;
+
+    PathAccessor(Class<?> rootClass, String path) {
+        this.rootClass = rootClass;
+        this.path = path;
+        String[] names = path.split("\\.", -1);
+        fields = new Field[names.length];
+        MethodHandle[] getters = new MethodHandle[names.length];
+        Class<?> current = rootClass;
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].isEmpty()) {
+                throw new IllegalArgumentException("Invalid path: \"" + path + "\"");
+            }
+            fields[i] = findField(current, names[i], path);
+            MethodHandle direct = directGetter(fields[i]);
+            getters[i] = direct != null ? direct.asType(GETTER_TYPE)
+                    : ACCESSOR_GET.bindTo(Accessors.forField(fields[i]));
+            current = fields[i].getType();
+        }
+        Field field = fields[names.length - 1];
+        type = field.getType();
+        last = Accessors.forField(field);
+
+        MethodHandle owner = chain(getters, names.length - 1);
+        getter = MethodHandles.filterReturnValue(owner, nullSafe(getters[names.length - 1]));
+        ownerGetter = MethodHandles.filterReturnValue(owner, REQUIRE_OWNER.bindTo(path));
+
+        MethodHandle directGet = directGetter(field);
+        MethodHandle directSet = directSetter(field);
+        setter = MethodHandles.filterArguments(directSet != null ? directSet.asType(SETTER_TYPE)
+                : ACCESSOR_SET.bindTo(last), 0, ownerGetter);
+        primitiveGetter = type.isPrimitive() && directGet != null
+                ? MethodHandles.filterReturnValue(ownerGetter, directGet) : null;
+        primitiveSetter = type.isPrimitive() && directSet != null
+                ? MethodHandles.filterArguments(directSet, 0, ownerGetter) : null;
+    }
+
+    private static Field findField(Class<?> type, String name, String path) {
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            try {
+                return current.getDeclaredField(name);
+            } catch (NoSuchFieldException e) {
+                // continue with the superclass
+            }
+        }
+        throw new IllegalArgumentException("No field \"" + name + "\" in " + type.getName() + " for path \"" + path + "\"");
+    }
+
+    /**
+     * @return a handle of the type (Object)fieldType reading the field itself, or null if the field has a generated
+     * binder or can not be made accessible
+     */
+    private static MethodHandle directGetter(Field field) {
+        if (Accessors.hasBinder(field.getDeclaringClass())) {
+            return null;
+        }
+        try {
+            field.setAccessible(true);
+            MethodHandle handle = MethodHandles.lookup().unreflectGetter(field);
+            if (Modifier.isStatic(field.getModifiers())) {
+                handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            }
+            return handle.asType(MethodType.methodType(field.getType(), Object.class));
+        } catch (IllegalAccessException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return a handle of the type (Object, fieldType)void writing the field itself, or null if the field has a
+     * generated binder, is final or can not be made accessible
+     */
+    private static MethodHandle directSetter(Field field) {
+        if (Accessors.hasBinder(field.getDeclaringClass())) {
+            return null;
+        }
+        try {
+            field.setAccessible(true);
+            MethodHandle handle = MethodHandles.lookup().unreflectSetter(field);
+            if (Modifier.isStatic(field.getModifiers())) {
+                handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            }
+            return handle.asType(MethodType.methodType(void.class, Object.class, field.getType()));
+        } catch (IllegalAccessException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return a handle that reads the first count fields of the path, one after the other
+     */
+    private static MethodHandle chain(MethodHandle[] getters, int count) {
+        MethodHandle handle = MethodHandles.identity(Object.class);
+        for (int i = 0; i < count; i++) {
+            handle = MethodHandles.filterReturnValue(handle, nullSafe(getters[i]));
+        }
+        return handle;
+    }
+
+    private static MethodHandle nullSafe(MethodHandle getter) {
+        return MethodHandles.guardWithTest(IS_NULL, RETURN_NULL, getter);
+    }
+
+    private static Object requireOwner(String path, Object owner) {
+        if (owner == null) {
+            throw new NullPointerException("Can't access \"" + path + "\", an object on the path is null");
+        }
+        return owner;
+    }
+
+    /**
+     * Rethrows unchecked exceptions as they are and wraps everything else.
+     */
+    private static RuntimeException propagate(Throwable t) {
+        if (t instanceof RuntimeException) {
+            return (RuntimeException) t;
+        }
+        if (t instanceof Error) {
+            throw (Error) t;
+        }
+        return new IllegalStateException(t);
+    }
+
+    /**
+     * @param root the object the path starts at
+     * @return the object holding the last field of the path
+     * @throws NullPointerException if the root or one of the objects on the path is null
+     */
+    private Object owner(Object root) {
+        try {
+            return ownerGetter.invokeExact(root);
+        } catch (Throwable t) {
+            throw propagate(t);
+        }
+    }
+
+    /**
+     * @param root the object the path starts at
+     * @return the value at the end of the path, or null if the root or one of the objects on the path is null
+     */
+    @Override
+    public Object get(Object root) {
+        try {
+            return getter.invokeExact(root);
+        } catch (Throwable t) {
+            throw propagate(t);
+        }
+    }
+
+    @Override
+    public void set(Object root, Object value) {
+        try {
+            setter.invokeExact(root, value);
+        } catch (Throwable t) {
+            throw propagate(t);
+        }
+    }
+
+    @Override
+    public int getInt(Object root) {
+        if (type != int.class || primitiveGetter == null) {
+            return last.getInt(owner(root));
+        }
+        try {
+            return (int) primitiveGetter.invokeExact(root);
+        } catch (Throwable t) {
+            throw propagate(t);
+        }
+    }
+
+    @Override
+    public long getLong(Object root) {
+        if (type != long.class || primitiveGetter == null) {
+            return last.getLong(owner(root));
+        }
+        try {
+            return (long) primitiveGetter.invokeExact(root);
+        } catch (Throwable t) {
+            throw propagate(t);
+        }
+    }
+
+    @Override
+    public double getDouble(Object root) {
+        if (type != double.class || primitiveGetter == null) {
+            return last.getDouble(owner(root));
+        }
+        try {
+            return (double) primitiveGetter.invokeExact(root);
+        } catch (Throwable t) {
+            throw propagate(t);
+        }
+    }
+
+    @Override
+    public float getFloat(Object root) {
+        if (type != float.class || primitiveGetter == null) {
+            return last.getFloat(owner(root));
+        }
+        try {
+            return (float) primitiveGetter.invokeExact(root);
+        } catch (Throwable t) {
+            throw propagate(t);
+        }
+    }
+
+    @Override
+    public short getShort(Object root) {
+        if (type != short.class || primitiveGetter == null) {
+            return last.getShort(owner(root));
+        }
+        try {
+            return (short) primitiveGetter.invokeExact(root);
+        } catch (Throwable t) {
+            throw propagate(t);
+        }
+    }
+
+    @Override
+    public byte getByte(Object root) {
+        if (type != byte.class || primitiveGetter == null) {
+            return last.getByte(owner(root));
+        }
+        try {
+            return (byte) primitiveGetter.invokeExact(root);
+        } catch (Throwable t) {
+            throw propagate(t);
+        }
+    }
+
+    @Override
+    public boolean getBoolean(Object root) {
+        if (type != boolean.class || primitiveGetter == null) {
+            return last.getBoolean(owner(root));
+        }
+        try {
+            return (boolean) primitiveGetter.invokeExact(root);
+        } catch (Throwable t) {
+            throw propagate(t);
+        }
+    }
+
+    @Override
+    public char getChar(Object root) {
+        if (type != char.class || primitiveGetter == null) {
+            return last.getChar(owner(root));
+        }
+        try {
+            return (char) primitiveGetter.invokeExact(root);
+        } catch (Throwable t) {
+            throw propagate(t);
+        }
+    }
+
+    @Override
+    public void setInt(Object root, int value) {
+        if (type != int.class || primitiveSetter == null) {
+            last.setInt(owner(root), value);
+            return;
+        }
+        try {
+            primitiveSetter.invokeExact(root, value);
+        } catch (Throwable t) {
+            throw propagate(t);
+        }
+    }
+
+    @Override
+    public void setLong(Object root, long value) {
+        if (type != long.class || primitiveSetter == null) {
+            last.setLong(owner(root), value);
+            return;
+        }
+        try {
+            primitiveSetter.invokeExact(root, value);
+        } catch (Throwable t) {
+            throw propagate(t);
+        }
+    }
+
+    @Override
+    public void setDouble(Object root, double value) {
+        if (type != double.class || primitiveSetter == null) {
+            last.setDouble(owner(root), value);
+            return;
+        }
+        try {
+            primitiveSetter.invokeExact(root, value);
+        } catch (Throwable t) {
+            throw propagate(t);
+        }
+    }
+
+    @Override
+    public void setFloat(Object root, float value) {
+        if (type != float.class || primitiveSetter == null) {
+            last.setFloat(owner(root), value);
+            return;
+        }
+        try {
+            primitiveSetter.invokeExact(root, value);
+        } catch (Throwable t) {
+            throw propagate(t);
+        }
+    }
+
+    @Override
+    public void setShort(Object root, short value) {
+        if (type != short.class || primitiveSetter == null) {
+            last.setShort(owner(root), value);
+            return;
+        }
+        try {
+            primitiveSetter.invokeExact(root, value);
+        } catch (Throwable t) {
+            throw propagate(t);
+        }
+    }
+
+    @Override
+    public void setByte(Object root, byte value) {
+        if (type != byte.class || primitiveSetter == null) {
+            last.setByte(owner(root), value);
+            return;
+        }
+        try {
+            primitiveSetter.invokeExact(root, value);
+        } catch (Throwable t) {
+            throw propagate(t);
+        }
+    }
+
+    @Override
+    public void setBoolean(Object root, boolean value) {
+        if (type != boolean.class || primitiveSetter == null) {
+            last.setBoolean(owner(root), value);
+            return;
+        }
+        try {
+            primitiveSetter.invokeExact(root, value);
+        } catch (Throwable t) {
+            throw propagate(t);
+        }
+    }
+
+    @Override
+    public void setChar(Object root, char value) {
+        if (type != char.class || primitiveSetter == null) {
+            last.setChar(owner(root), value);
+            return;
+        }
+        try {
+            primitiveSetter.invokeExact(root, value);
+        } catch (Throwable t) {
+            throw propagate(t);
+        }
+    }
+
+    public Class<?> getRootClass() {
+        return rootClass;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * @return the fields of the path, starting with the field of the root class
+     */
+    public Field[] getFields() {
+        return fields.clone();
+    }
+
+    /**
+     * @return the last field of the path, which is the one that is read and written
+     */
+    public Field getField() {
+        return fields[fields.length - 1];
+    }
+
+    /**
+     * @return the declared type of the value at the end of the path
+     */
+    public Class<?> getType() {
+        return type;
+    }
+}
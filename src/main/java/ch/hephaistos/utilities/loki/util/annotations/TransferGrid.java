@@ -62,6 +62,18 @@ public @interface TransferGrid {
         TEXT_FIELD, TEXT_AREA
     }
 
+    /**
+     * This defines when the text of a TextField or TextArea is written into the variable.
+     *
+     * <b>GRID</b> uses the policy set on the grid
+     * <b>EVERY_CHANGE</b> writes every change right away
+     * <b>ON_ACTION</b> writes when Enter is pressed or the field loses the focus
+     * <b>DEBOUNCED</b> writes once the user stopped typing for {@link #commitDelay()} milliseconds
+     */
+    enum Commit{
+        GRID, EVERY_CHANGE, ON_ACTION, DEBOUNCED
+    }
+
     /**
      * This defines if a variable is write and read or read only.
      * default is set to true.
@@ -114,4 +126,22 @@ public @interface TransferGrid {
      */
     public String tooltip () default "";
 
+    /**
+     * This defines when the text of the field is written into the variable.
+     * Default value is set to <b>GRID</b>, which uses the policy of the grid.
+     * Use <b>ON_ACTION</b> or <b>DEBOUNCED</b> if the variable should not be
+     * written on every keystroke, for example because listeners send it somewhere.
+     *
+     * @return when the text is written
+     */
+    public Commit commit () default Commit.GRID;
+
+    /**
+     * The time in milliseconds without changes after which a <b>DEBOUNCED</b>
+     * field is written. Ignored for every other <b>commit</b> value.
+     *
+     * @return the delay in milliseconds
+     */
+    public long commitDelay () default 300;
+
 }
@@ -0,0 +1,445 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2019 Ricardo Daniel Monteiro Simoes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package ch.hephaistos.utilities.loki.util.binding;
+
+import ch.hephaistos.utilities.loki.util.ListenerRegistry;
+import ch.hephaistos.utilities.loki.util.schema.FieldDescriptor;
+import ch.hephaistos.utilities.loki.util.statics.PrimitiveArrays;
+import ch.hephaistos.utilities.loki.util.statics.ReflectionHelper;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.collections.ObservableListBase;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.control.TextField;
+import javafx.scene.control.TitledPane;
+import javafx.scene.input.Clipboard;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
+
+import java.util.Collections;
+
+/**
+ * Edits an array of a primitive type, like a double[] or int[], in place.
+ * <p>
+ * While collapsed the editor only shows the type and the length of the array. Once expanded, the array is shown
+ * in a ListView with one row per chunk of {@link #getChunkSize()} elements, so only the elements of the visible rows
+ * are ever converted into text. The elements are read and written with {@link PrimitiveArrays}, without boxing.
+ * <p>
+ * Below the list, a range of elements can be filled with a value, scaled by a factor, or overwritten with a column
+ * of values from the clipboard. Every edit, no matter how many elements it touches, is reported with a single
+ * {@link ReflectionHelper#notifyRangeChanged(java.lang.reflect.Field, Object, int, int, Object)}.
+ *
+ * @author Ricardo Daniel Monteiro Simoes
+ */
+public class ArrayEditor extends TitledPane {
+
+    /**
+     * The amount of elements shown per row, unless configured otherwise.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 8;
+
+    private final ReadOnlyObjectWrapper<Object> source = new ReadOnlyObjectWrapper<>(this, "source");
+    private final ChunkList chunks = new ChunkList();
+
+    private FieldDescriptor descriptor;
+    private Object owner;
+    private ListenerRegistry listenerRegistry;
+    private boolean editable = true;
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+
+    private ListView<Integer> listView;
+    private TextField fromField;
+    private TextField toField;
+    private TextField valueField;
+    private HBox toolBar;
+
+    public ArrayEditor() {
+        setExpanded(false);
+        setAnimated(false);
+        expandedProperty().addListener((obs, oldValue, expanded) -> {
+            if (expanded) {
+                createContent();
+            }
+        });
+    }
+
+    /**
+     * Shows the given array. Nothing but the title is updated until the editor is expanded.
+     *
+     * @param descriptor the descriptor of the field holding the array
+     * @param owner the object the field belongs to
+     * @param array the primitive array, or null
+     */
+    public void show(FieldDescriptor descriptor, Object owner, Object array) {
+        this.descriptor = descriptor;
+        this.owner = owner;
+        source.set(array);
+        updateChunks();
+        if (listView != null) {
+            updateContent();
+        }
+    }
+
+    /**
+     * @param owner the object the field belongs to
+     * @param array the current value of the field
+     * @return true if the editor already shows this array. The elements of an expanded editor are always read
+     * again, since they may have changed.
+     */
+    public boolean isShowing(Object owner, Object array) {
+        return this.owner == owner && source.get() == array && !isExpanded();
+    }
+
+    /**
+     * Forgets the array, so the editor can be reused for another field.
+     */
+    public void clear() {
+        descriptor = null;
+        owner = null;
+        listenerRegistry = null;
+        source.set(null);
+        chunks.setSize(0);
+        setExpanded(false);
+        setText(null);
+    }
+
+    public void setEditable(boolean editable) {
+        this.editable = editable;
+        if (listView != null) {
+            updateContent();
+        }
+    }
+
+    public boolean isEditable() {
+        return editable;
+    }
+
+    /**
+     * @param chunkSize the amount of elements shown per row
+     */
+    public void setChunkSize(int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("The chunk size must be at least 1: " + chunkSize);
+        }
+        this.chunkSize = chunkSize;
+        updateChunks();
+        if (listView != null) {
+            listView.setCellFactory(view -> new ChunkCell());
+        }
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * @return the array that is currently shown
+     */
+    public ReadOnlyObjectProperty<Object> sourceProperty() {
+        return source.getReadOnlyProperty();
+    }
+
+    private void updateChunks() {
+        Object array = source.get();
+        int length = array == null ? 0 : PrimitiveArrays.length(array);
+        chunks.setSize((length + chunkSize - 1) / chunkSize);
+        if (descriptor == null) {
+            setText(null);
+        } else {
+            String componentName = descriptor.getType().getComponentType().getName();
+            setText(array == null ? componentName + "[] (null)" : componentName + "[" + length + "]");
+        }
+    }
+
+    private void createContent() {
+        if (listView != null) {
+            updateContent();
+            return;
+        }
+        listView = new ListView<>(chunks);
+        listView.setPrefHeight(200);
+        listView.setCellFactory(view -> new ChunkCell());
+        fromField = new TextField();
+        fromField.setPromptText("From");
+        fromField.setPrefColumnCount(6);
+        toField = new TextField();
+        toField.setPromptText("To");
+        toField.setPrefColumnCount(6);
+        valueField = new TextField();
+        valueField.setPromptText("Value");
+        valueField.setPrefColumnCount(6);
+        Button fillButton = new Button("Fill");
+        fillButton.setOnAction(event -> fill());
+        Button scaleButton = new Button("Scale");
+        scaleButton.setOnAction(event -> scale());
+        Button pasteButton = new Button("Paste");
+        pasteButton.setOnAction(event -> paste(Clipboard.getSystemClipboard().getString()));
+        toolBar = new HBox(5, fromField, toField, valueField, fillButton, scaleButton, pasteButton);
+        setContent(new VBox(5, listView, toolBar));
+        updateContent();
+    }
+
+    private void updateContent() {
+        toolBar.setDisable(!editable || source.get() == null);
+        listView.refresh();
+    }
+
+    /**
+     * Sets the range given in the tool bar to the value of the value field.
+     */
+    public void fill() {
+        Object array = source.get();
+        if (array == null) {
+            return;
+        }
+        int from = parseIndex(fromField, 0);
+        int to = parseIndex(toField, PrimitiveArrays.length(array));
+        try {
+            PrimitiveArrays.fill(array, from, to, valueField.getText());
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            System.err.println("Can't fill " + descriptor.getField().getName() + ": " + e);
+            return;
+        }
+        modified(from, to);
+    }
+
+    /**
+     * Multiplies the range given in the tool bar with the value of the value field.
+     */
+    public void scale() {
+        Object array = source.get();
+        if (array == null) {
+            return;
+        }
+        int from = parseIndex(fromField, 0);
+        int to = parseIndex(toField, PrimitiveArrays.length(array));
+        try {
+            PrimitiveArrays.scale(array, from, to, Double.parseDouble(valueField.getText().trim()));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            System.err.println("Can't scale " + descriptor.getField().getName() + ": " + e);
+            return;
+        }
+        modified(from, to);
+    }
+
+    /**
+     * Writes a column of values, one per line, into the array, starting at the index of the from field.
+     *
+     * @param column the values separated by line breaks
+     */
+    public void paste(String column) {
+        if (column == null || column.trim().isEmpty()) {
+            return;
+        }
+        Object array = source.get();
+        if (array == null) {
+            return;
+        }
+        int from = parseIndex(fromField, 0);
+        int to;
+        try {
+            to = PrimitiveArrays.paste(array, from, column.trim().split("\\R"));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            System.err.println("Can't paste into " + descriptor.getField().getName() + ": " + e);
+            return;
+        }
+        modified(from, to);
+    }
+
+    private void setElement(int index, String text) {
+        try {
+            PrimitiveArrays.setFromText(source.get(), index, text);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Can't set element " + index + " of " + descriptor.getField().getName() + ": " + e);
+            listView.refresh();
+            return;
+        }
+        modified(index, index + 1);
+    }
+
+    private void modified(int fromIndex, int toIndex) {
+        if (fromIndex >= toIndex) {
+            return;
+        }
+        listView.refresh();
+        Runnable notification = () -> ReflectionHelper.notifyRangeChanged(descriptor.getField(), source.get(),
+                fromIndex, toIndex, owner);
+        if (listenerRegistry != null) {
+            listenerRegistry.dispatchDuring(notification);
+        } else {
+            notification.run();
+        }
+    }
+
+    /**
+     * @param listenerRegistry the registry of the grid showing the editor, which receives its changes as well
+     */
+    public void setListenerRegistry(ListenerRegistry listenerRegistry) {
+        this.listenerRegistry = listenerRegistry;
+    }
+
+    private static int parseIndex(TextField field, int defaultIndex) {
+        String text = field.getText() == null ? "" : field.getText().trim();
+        if (text.isEmpty()) {
+            return defaultIndex;
+        }
+        try {
+            return Integer.parseInt(text);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * The indices of the rows, which is all a row needs to find its elements.
+     */
+    private static class ChunkList extends ObservableListBase<Integer> {
+
+        private int size;
+
+        void setSize(int size) {
+            int oldSize = this.size;
+            this.size = size;
+            if (size == oldSize) {
+                return;
+            }
+            beginChange();
+            if (size > oldSize) {
+                nextAdd(oldSize, size);
+            } else {
+                nextRemove(size, Collections.nCopies(oldSize - size, null));
+            }
+            endChange();
+        }
+
+        @Override
+        public Integer get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+            }
+            return index;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    /**
+     * Shows one chunk of the array as a row of TextFields. The TextFields are created once per cell and reused
+     * for every chunk the cell shows. An element is written when Enter is pressed or its TextField loses the focus.
+     */
+    private class ChunkCell extends ListCell<Integer> {
+
+        private final Label indexLabel = new Label();
+        private final TextField[] fields = new TextField[chunkSize];
+        private final HBox row = new HBox(3);
+
+        ChunkCell() {
+            indexLabel.setMinWidth(60);
+            row.getChildren().add(indexLabel);
+            for (int i = 0; i < fields.length; i++) {
+                TextField field = new TextField();
+                field.setPrefColumnCount(6);
+                int offset = i;
+                field.setOnAction(event -> commit(offset));
+                field.focusedProperty().addListener((obs, oldValue, focused) -> {
+                    if (!focused) {
+                        commit(offset);
+                    }
+                });
+                fields[i] = field;
+                row.getChildren().add(field);
+            }
+            setText(null);
+        }
+
+        @Override
+        protected void updateItem(Integer chunk, boolean empty) {
+            // the cell is reused for another chunk while scrolling, the text being edited belongs to the old one
+            deferCommitOfFocused();
+            super.updateItem(chunk, empty);
+            Object array = source.get();
+            if (empty || chunk == null || array == null) {
+                setGraphic(null);
+                return;
+            }
+            int start = chunk * chunkSize;
+            int length = PrimitiveArrays.length(array);
+            indexLabel.setText(Integer.toString(start));
+            for (int i = 0; i < fields.length; i++) {
+                TextField field = fields[i];
+                boolean used = start + i < length;
+                field.setVisible(used);
+                field.setEditable(editable);
+                field.setText(used ? PrimitiveArrays.toText(array, start + i) : "");
+            }
+            setGraphic(row);
+        }
+
+        /**
+         * Writes the text of the focused TextField into the element of the chunk shown so far. It is written after
+         * the current layout pass, as writing it refreshes the list and calls the listeners.
+         */
+        private void deferCommitOfFocused() {
+            Object array = source.get();
+            Integer chunk = getItem();
+            if (isEmpty() || chunk == null || array == null || !editable) {
+                return;
+            }
+            for (int i = 0; i < fields.length; i++) {
+                if (fields[i].isFocused()) {
+                    int index = chunk * chunkSize + i;
+                    String text = fields[i].getText();
+                    Platform.runLater(() -> {
+                        if (source.get() == array) {
+                            commit(array, index, text);
+                        }
+                    });
+                }
+            }
+        }
+
+        private void commit(int offset) {
+            Object array = source.get();
+            Integer chunk = getItem();
+            if (isEmpty() || chunk == null || array == null || !editable) {
+                return;
+            }
+            commit(array, chunk * chunkSize + offset, fields[offset].getText());
+        }
+
+        private void commit(Object array, int index, String text) {
+            if (index < PrimitiveArrays.length(array) && !text.equals(PrimitiveArrays.toText(array, index))) {
+                setElement(index, text);
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2019 Ricardo Daniel Monteiro Simoes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package ch.hephaistos.utilities.loki.util.binding;
+
+import ch.hephaistos.utilities.loki.util.ListenerRegistry;
+import ch.hephaistos.utilities.loki.util.schema.FieldDescriptor;
+import ch.hephaistos.utilities.loki.util.statics.ReflectionHelper;
+import javafx.beans.value.ObservableValue;
+
+import java.util.function.Consumer;
+
+/**
+ * Binds a Collection or Map field to a {@link CollectionEditor}.
+ * <p>
+ * The editor modifies the collection itself, so the field keeps holding the same object. The binding only
+ * writes the field if the editor is given another collection, which it never does on its own.
+ *
+ * @author Ricardo Daniel Monteiro Simoes
+ */
+public class CollectionBinding extends FieldBinding<CollectionEditor, Object> {
+
+    public CollectionBinding(FieldDescriptor descriptor, CollectionEditor control, Object handle, Object masterObject) {
+        super(descriptor, control, handle, masterObject);
+    }
+
+    @Override
+    protected ObservableValue<Object> observedValue() {
+        return getControl().sourceProperty();
+    }
+
+    @Override
+    protected boolean isShowing(Object value) {
+        return getControl().isShowing(getHandle(), value);
+    }
+
+    @Override
+    protected void showValue(Object value) {
+        getControl().show(getDescriptor(), getHandle(), value);
+    }
+
+    @Override
+    protected Consumer<Object> createWriter(Object handle, Object masterObject) {
+        return value -> ReflectionHelper.setFieldValue(getDescriptor(), handle, value);
+    }
+
+    @Override
+    public void setListenerRegistry(ListenerRegistry listenerRegistry) {
+        super.setListenerRegistry(listenerRegistry);
+        getControl().setListenerRegistry(listenerRegistry);
+    }
+
+    @Override
+    public void detach() {
+        super.detach();
+        getControl().clear();
+    }
+}
@@ -0,0 +1,414 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2019 Ricardo Daniel Monteiro Simoes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package ch.hephaistos.utilities.loki.util.binding;
+
+import ch.hephaistos.utilities.loki.ReflectorGrid;
+import ch.hephaistos.utilities.loki.util.ListenerRegistry;
+import ch.hephaistos.utilities.loki.util.schema.EditorKind;
+import ch.hephaistos.utilities.loki.util.schema.FieldDescriptor;
+import ch.hephaistos.utilities.loki.util.statics.ListenerCollection;
+import ch.hephaistos.utilities.loki.util.statics.ReflectionHelper;
+import ch.hephaistos.utilities.loki.util.statics.TypeHelper;
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.scene.control.Button;
+import javafx.scene.control.ListView;
+import javafx.scene.control.TextField;
+import javafx.scene.control.TitledPane;
+import javafx.scene.control.cell.TextFieldListCell;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
+import javafx.util.StringConverter;
+import javafx.util.converter.DefaultStringConverter;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Edits a List, Set or Map in place.
+ * <p>
+ * While collapsed the editor only shows the type and the size of the collection. The elements are shown once it is
+ * expanded, in a ListView that reads them directly from the collection, so only the visible elements are ever
+ * converted into text and the collection is never copied. Elements that can be converted from text are edited in
+ * the list, for any other element a {@link ReflectorGrid} is created when it is selected.
+ * <p>
+ * Every modification is done on the collection held by the field and is reported to the change listeners with
+ * {@link ReflectionHelper#notifyContentChanged(java.lang.reflect.Field, Object, Object)}.
+ *
+ * @author Ricardo Daniel Monteiro Simoes
+ */
+public class CollectionEditor extends TitledPane {
+
+    private final ReadOnlyObjectWrapper<Object> source = new ReadOnlyObjectWrapper<>(this, "source");
+    private final CollectionView items = new CollectionView();
+
+    private FieldDescriptor descriptor;
+    private Object owner;
+    private boolean editable = true;
+
+    private ListView<Object> listView;
+    private TextField keyField;
+    private Button addButton;
+    private Button removeButton;
+    private ReflectorGrid elementGrid;
+    private ListenerRegistry listenerRegistry;
+    private VBox contentBox;
+
+    public CollectionEditor() {
+        setExpanded(false);
+        setAnimated(false);
+        expandedProperty().addListener((obs, oldValue, expanded) -> {
+            if (expanded) {
+                createContent();
+            }
+        });
+    }
+
+    /**
+     * Shows the given collection. Nothing but the title is updated until the editor is expanded.
+     *
+     * @param descriptor the descriptor of the field holding the collection
+     * @param owner the object the field belongs to
+     * @param collection the Collection or Map, or null
+     */
+    public void show(FieldDescriptor descriptor, Object owner, Object collection) {
+        this.descriptor = descriptor;
+        this.owner = owner;
+        items.setSource(collection);
+        source.set(collection);
+        hideElement();
+        updateTitle();
+        if (contentBox != null) {
+            updateContent();
+        }
+    }
+
+    /**
+     * @param owner the object the field belongs to
+     * @param collection the current value of the field
+     * @return true if the editor already shows this collection with its current size. The elements of an
+     * expanded editor are always read again, since they may have changed without changing the size.
+     */
+    public boolean isShowing(Object owner, Object collection) {
+        return this.owner == owner && items.getSource() == collection && !isExpanded()
+                && sizeOf(collection) == items.size();
+    }
+
+    /**
+     * Forgets the collection, so the editor can be reused for another field.
+     */
+    public void clear() {
+        descriptor = null;
+        owner = null;
+        listenerRegistry = null;
+        items.setSource(null);
+        source.set(null);
+        hideElement();
+        setExpanded(false);
+        setText(null);
+    }
+
+    public void setEditable(boolean editable) {
+        this.editable = editable;
+        if (contentBox != null) {
+            updateContent();
+        }
+    }
+
+    public boolean isEditable() {
+        return editable;
+    }
+
+    /**
+     * @return the collection that is currently shown
+     */
+    public ReadOnlyObjectProperty<Object> sourceProperty() {
+        return source.getReadOnlyProperty();
+    }
+
+    private void updateTitle() {
+        Object collection = items.getSource();
+        String typeName = descriptor == null ? "" : descriptor.getType().getSimpleName();
+        setText(collection == null ? typeName + " (null)" : typeName + " (" + items.size() + " elements)");
+    }
+
+    private void createContent() {
+        if (contentBox != null) {
+            updateContent();
+            return;
+        }
+        listView = new ListView<>(items);
+        listView.setPrefHeight(200);
+        listView.setCellFactory(view -> new ElementCell());
+        listView.setOnEditCommit(event -> setElement(event.getIndex(), event.getNewValue()));
+        listView.getSelectionModel().selectedItemProperty().addListener((obs, oldItem, item) -> showElement(item));
+        keyField = new TextField();
+        keyField.setPromptText("Key");
+        addButton = new Button("Add");
+        addButton.setOnAction(event -> addElement());
+        removeButton = new Button("Remove");
+        removeButton.setOnAction(event -> removeElement(listView.getSelectionModel().getSelectedIndex()));
+        contentBox = new VBox(5, listView, new HBox(5, keyField, addButton, removeButton));
+        setContent(contentBox);
+        updateContent();
+    }
+
+    private void updateContent() {
+        boolean hasSource = items.getSource() != null;
+        boolean isMap = items.getSource() instanceof Map;
+        keyField.setVisible(isMap);
+        keyField.setManaged(isMap);
+        addButton.setDisable(!editable || !hasSource);
+        removeButton.setDisable(!editable || !hasSource);
+        listView.setEditable(editable && descriptor != null && elementConverter() != null);
+        listView.refresh();
+    }
+
+    private void modified() {
+        items.reset();
+        updateTitle();
+        if (listView != null) {
+            listView.refresh();
+        }
+        Runnable notification = () -> ReflectionHelper.notifyContentChanged(descriptor.getField(), items.getSource(), owner);
+        if (listenerRegistry != null) {
+            listenerRegistry.dispatchDuring(notification);
+        } else {
+            notification.run();
+        }
+    }
+
+    /**
+     * @param listenerRegistry the registry of the grid showing the editor, which receives its changes as well
+     */
+    public void setListenerRegistry(ListenerRegistry listenerRegistry) {
+        this.listenerRegistry = listenerRegistry;
+        if (elementGrid != null && listenerRegistry != null) {
+            elementGrid.setListenerRegistry(listenerRegistry);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void setElement(int index, Object text) {
+        Object collection = items.getSource();
+        if (index < 0 || collection == null) {
+            return;
+        }
+        try {
+            Object value = parse(descriptor.getElementType(), (String) text);
+            if (collection instanceof List) {
+                ((List<Object>) collection).set(index, value);
+            } else if (collection instanceof Map) {
+                ((Map<Object, Object>) collection).put(((Map.Entry<?, ?>) items.get(index)).getKey(), value);
+            } else {
+                Collection<Object> elements = (Collection<Object>) collection;
+                elements.remove(items.get(index));
+                elements.add(value);
+            }
+        } catch (UnsupportedOperationException | ClassCastException | IllegalArgumentException e) {
+            System.err.println("Can't set element " + index + " of " + descriptor.getField().getName() + ": " + e);
+            listView.refresh();
+            return;
+        }
+        modified();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void addElement() {
+        Object collection = items.getSource();
+        if (collection == null) {
+            return;
+        }
+        try {
+            if (collection instanceof Map) {
+                Object key = parse(descriptor.getKeyType(), keyField.getText());
+                ((Map<Object, Object>) collection).put(key, createElement(descriptor.getElementType()));
+                keyField.clear();
+            } else if (!((Collection<Object>) collection).add(createElement(descriptor.getElementType()))) {
+                return;
+            }
+        } catch (UnsupportedOperationException | ClassCastException | IllegalArgumentException e) {
+            System.err.println("Can't add an element to " + descriptor.getField().getName() + ": " + e);
+            return;
+        }
+        modified();
+    }
+
+    private void removeElement(int index) {
+        Object collection = items.getSource();
+        if (index < 0 || collection == null) {
+            return;
+        }
+        try {
+            if (collection instanceof List) {
+                ((List<?>) collection).remove(index);
+            } else if (collection instanceof Map) {
+                ((Map<?, ?>) collection).remove(((Map.Entry<?, ?>) items.get(index)).getKey());
+            } else {
+                ((Collection<?>) collection).remove(items.get(index));
+            }
+        } catch (UnsupportedOperationException | ClassCastException | IllegalArgumentException e) {
+            System.err.println("Can't remove element " + index + " of " + descriptor.getField().getName() + ": " + e);
+            return;
+        }
+        modified();
+    }
+
+    /**
+     * Shows the selected element in a grid, if it is an object with fields of its own.
+     */
+    private void showElement(Object item) {
+        Object element = item instanceof Map.Entry && items.getSource() instanceof Map
+                ? ((Map.Entry<?, ?>) item).getValue() : item;
+        if (element == null || isSimple(element.getClass())) {
+            hideElement();
+            return;
+        }
+        if (elementGrid == null) {
+            elementGrid = new ReflectorGrid();
+            elementGrid.setLazySubObjects(true);
+            if (listenerRegistry != null) {
+                elementGrid.setListenerRegistry(listenerRegistry);
+            }
+        }
+        elementGrid.rebind(element);
+        if (!contentBox.getChildren().contains(elementGrid)) {
+            contentBox.getChildren().add(elementGrid);
+        }
+    }
+
+    private void hideElement() {
+        if (elementGrid != null && contentBox != null) {
+            contentBox.getChildren().remove(elementGrid);
+        }
+    }
+
+    /**
+     * @return the converter for the elements, or null if they can't be edited as text
+     */
+    private StringConverter<?> elementConverter() {
+        return converterFor(descriptor.getElementType());
+    }
+
+    private static StringConverter<?> converterFor(Class<?> type) {
+        if (type == null) {
+            return null;
+        }
+        return String.class.equals(type) ? new DefaultStringConverter() : ListenerCollection.getConverter(type);
+    }
+
+    private static Object parse(Class<?> type, String text) {
+        StringConverter<?> converter = converterFor(type);
+        if (converter == null) {
+            throw new IllegalArgumentException("Can't convert text to " + type);
+        }
+        return converter.fromString(text);
+    }
+
+    private static boolean isSimple(Class<?> type) {
+        return TypeHelper.isNumericType(type) || TypeHelper.isJavaLang(type) || TypeHelper.isEnum(type);
+    }
+
+    private static int sizeOf(Object collection) {
+        return collection instanceof Map ? ((Map<?, ?>) collection).size()
+                : collection instanceof Collection ? ((Collection<?>) collection).size() : 0;
+    }
+
+    /**
+     * Creates the value of a new element: an empty String, zero, false, the first constant of an enum,
+     * or a new instance created with the constructor without arguments.
+     */
+    private static Object createElement(Class<?> type) {
+        if (String.class.equals(type)) {
+            return "";
+        } else if (Boolean.class.equals(type)) {
+            return false;
+        } else if (TypeHelper.isEnum(type)) {
+            return type.getEnumConstants()[0];
+        } else if (TypeHelper.isNumericType(type)) {
+            return parse(type, "0");
+        }
+        try {
+            return type.getConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException("Can't create a new " + type.getName(), e);
+        }
+    }
+
+    /**
+     * Shows an element, or the key and value of a map entry. While editing, only the element or value is shown.
+     */
+    private class ElementCell extends TextFieldListCell<Object> {
+
+        ElementCell() {
+            super(new ElementConverter());
+        }
+
+        @Override
+        public void updateItem(Object item, boolean empty) {
+            super.updateItem(item, empty);
+            showKey();
+        }
+
+        @Override
+        public void cancelEdit() {
+            super.cancelEdit();
+            showKey();
+        }
+
+        private void showKey() {
+            Object item = getItem();
+            if (!isEmpty() && !isEditing() && item instanceof Map.Entry && items.getSource() instanceof Map) {
+                setText(((Map.Entry<?, ?>) item).getKey() + " = " + getText());
+            }
+        }
+    }
+
+    /**
+     * Converts the elements, or the values of map entries, into text. The text entered by the user is passed on
+     * unchanged and only parsed when it is written into the collection, so invalid text can be rejected there.
+     */
+    private class ElementConverter extends StringConverter<Object> {
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public String toString(Object item) {
+            Object value = item instanceof Map.Entry && items.getSource() instanceof Map
+                    ? ((Map.Entry<?, ?>) item).getValue() : item;
+            StringConverter<Object> converter = descriptor == null ? null
+                    : (StringConverter<Object>) elementConverter();
+            if (value == null) {
+                return "null";
+            }
+            return converter == null ? value.toString() : converter.toString(value);
+        }
+
+        @Override
+        public Object fromString(String string) {
+            return string;
+        }
+    }
+}
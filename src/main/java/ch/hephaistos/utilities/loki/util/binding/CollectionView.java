@@ -0,0 +1,131 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2019 Ricardo Daniel Monteiro Simoes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package ch.hephaistos.utilities.loki.util.binding;
+
+import javafx.collections.ObservableListBase;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An observable view of a Collection or Map that does not copy it. Lists are accessed by index, every other
+ * collection and the entries of maps are read with an iterator that is kept between calls, so the cells of
+ * a ListView, which ask for neighbouring indices, don't iterate from the start every time.
+ * <p>
+ * The view does not notice changes of the source by itself, {@link #reset()} has to be called after the source
+ * was modified.
+ *
+ * @author Ricardo Daniel Monteiro Simoes
+ */
+class CollectionView extends ObservableListBase<Object> {
+
+    private Object source;
+    private int size;
+    private Iterator<?> iterator;
+    private int iteratorIndex;
+    private Object lastElement;
+
+    /**
+     * @param source the Collection or Map to show, or null to show nothing
+     */
+    void setSource(Object source) {
+        this.source = source;
+        reset();
+    }
+
+    Object getSource() {
+        return source;
+    }
+
+    /**
+     * Reads the size of the source again and notifies the listeners about the difference.
+     */
+    void reset() {
+        iterator = null;
+        int oldSize = size;
+        size = source instanceof Map ? ((Map<?, ?>) source).size()
+                : source instanceof Collection ? ((Collection<?>) source).size() : 0;
+        if (size == oldSize) {
+            return;
+        }
+        beginChange();
+        if (size > oldSize) {
+            nextAdd(oldSize, size);
+        } else {
+            nextRemove(size, Collections.nCopies(oldSize - size, null));
+        }
+        endChange();
+    }
+
+    /**
+     * @param index the index of the element
+     * @return the element at this position, the Map.Entry for maps, or null if the source got smaller
+     */
+    @Override
+    public Object get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+        }
+        if (source instanceof List) {
+            List<?> list = (List<?>) source;
+            return index < list.size() ? list.get(index) : null;
+        }
+        try {
+            return iterate(index);
+        } catch (ConcurrentModificationException e) {
+            iterator = null;
+            return iterate(index);
+        }
+    }
+
+    private Object iterate(int index) {
+        if (iterator != null && index == iteratorIndex - 1) {
+            return lastElement;
+        }
+        if (iterator == null || index < iteratorIndex) {
+            iterator = source instanceof Map ? ((Map<?, ?>) source).entrySet().iterator()
+                    : ((Collection<?>) source).iterator();
+            iteratorIndex = 0;
+        }
+        while (iteratorIndex <= index) {
+            if (!iterator.hasNext()) {
+                iterator = null;
+                return null;
+            }
+            lastElement = iterator.next();
+            iteratorIndex++;
+        }
+        return lastElement;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+}
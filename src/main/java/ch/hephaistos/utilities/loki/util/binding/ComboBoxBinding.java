@@ -0,0 +1,71 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2019 Ricardo Daniel Monteiro Simoes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package ch.hephaistos.utilities.loki.util.binding;
+
+import ch.hephaistos.utilities.loki.util.schema.FieldDescriptor;
+import ch.hephaistos.utilities.loki.util.statics.ListenerCollection;
+import javafx.beans.value.ObservableValue;
+import javafx.scene.control.ComboBox;
+
+import java.util.function.Consumer;
+
+/**
+ * Binds a field to a ComboBox filled with the options of its annotation.
+ *
+ * @author Ricardo Daniel Monteiro Simoes
+ */
+public class ComboBoxBinding extends FieldBinding<ComboBox<String>, String> {
+
+    public ComboBoxBinding(FieldDescriptor descriptor, ComboBox<String> control, Object handle, Object masterObject) {
+        super(descriptor, control, handle, masterObject);
+    }
+
+    @Override
+    protected ObservableValue<String> observedValue() {
+        return getControl().getSelectionModel().selectedItemProperty();
+    }
+
+    @Override
+    protected boolean isShowing(Object value) {
+        return objectToString(value).equals(getControl().getSelectionModel().getSelectedItem());
+    }
+
+    @Override
+    protected void showValue(Object value) {
+        getControl().setPromptText(null);
+        getControl().getSelectionModel().select(objectToString(value));
+    }
+
+    @Override
+    protected void showMixed() {
+        getControl().getSelectionModel().clearSelection();
+        getControl().setPromptText(ObjectGroup.MIXED_TEXT);
+    }
+
+    @Override
+    protected Consumer<String> createWriter(Object handle, Object masterObject) {
+        return ListenerCollection.getStringListener(getDescriptor(), handle, masterObject);
+    }
+}
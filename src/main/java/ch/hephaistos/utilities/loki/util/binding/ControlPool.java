@@ -0,0 +1,249 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2019 Ricardo Daniel Monteiro Simoes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package ch.hephaistos.utilities.loki.util.binding;
+
+import ch.hephaistos.utilities.loki.util.schema.EditorKind;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.scene.control.Control;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Keeps controls that are no longer shown, so they can be reused instead of creating new ones.
+ * Reusing a control also reuses its skin, which is the expensive part of creating most controls.
+ * <p>
+ * Controls are kept separately for every {@link EditorKind}. Every kind has a maximum amount of controls
+ * that are kept, everything released beyond that is left to the garbage collector. The pool counts how
+ * many controls could be reused (hits) and how many had to be created (misses).
+ * <p>
+ * The pool is not thread safe and, like the controls it holds, must only be used on the JavaFX Application Thread.
+ * <p>
+ * Independent of any pool, the item lists of ComboBoxes are shared: every ComboBox for the same enum or the
+ * same options uses the same unmodifiable list, see {@link #getEnumItems(Class)} and {@link #getOptionItems(String[])}.
+ *
+ * @author Ricardo Daniel Monteiro Simoes
+ */
+public class ControlPool {
+
+    /**
+     * The amount of controls kept per {@link EditorKind}, unless configured otherwise.
+     */
+    public static final int DEFAULT_MAX_SIZE = 256;
+
+    private static final ControlPool DEFAULT_POOL = new ControlPool();
+
+    private static final Map<List<String>, ObservableList<String>> OPTION_ITEMS = new ConcurrentHashMap<>();
+
+    private static final ClassValue<ObservableList<?>> ENUM_ITEMS = new ClassValue<ObservableList<?>>() {
+        @Override
+        protected ObservableList<?> computeValue(Class<?> type) {
+            return FXCollections.unmodifiableObservableList(FXCollections.observableArrayList(type.getEnumConstants()));
+        }
+    };
+
+    private final Map<EditorKind, ArrayDeque<Control>> pooledControls = new EnumMap<>(EditorKind.class);
+    private final Map<EditorKind, Integer> maxSizes = new EnumMap<>(EditorKind.class);
+    private final int defaultMaxSize;
+
+    private long hits;
+    private long misses;
+    private long discarded;
+
+    /**
+     * Creates a pool that keeps up to {@link #DEFAULT_MAX_SIZE} controls per {@link EditorKind}.
+     */
+    public ControlPool() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * @param defaultMaxSize the amount of controls kept per {@link EditorKind}
+     */
+    public ControlPool(int defaultMaxSize) {
+        if (defaultMaxSize < 0) {
+            throw new IllegalArgumentException("The size of the pool can not be negative: " + defaultMaxSize);
+        }
+        this.defaultMaxSize = defaultMaxSize;
+    }
+
+    /**
+     * @return the pool that is used by every ReflectorGrid that was not given another one
+     */
+    public static ControlPool getDefault() {
+        return DEFAULT_POOL;
+    }
+
+    /**
+     * @param options the options of a field
+     * @return an unmodifiable list of the options, shared by every ComboBox with the same options
+     */
+    public static ObservableList<String> getOptionItems(String[] options) {
+        return OPTION_ITEMS.computeIfAbsent(Arrays.asList(options.clone()),
+                key -> FXCollections.unmodifiableObservableList(FXCollections.observableArrayList(key)));
+    }
+
+    /**
+     * @param enumType the type of an enum field
+     * @param <T> the type of the enum
+     * @return an unmodifiable list of the enum constants, shared by every ComboBox for this enum
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Enum<T>> ObservableList<T> getEnumItems(Class<T> enumType) {
+        return (ObservableList<T>) ENUM_ITEMS.get(enumType);
+    }
+
+    /**
+     * Returns a pooled control of the given kind, or creates a new one if there is none.
+     *
+     * @param kind the kind of editor that is needed
+     * @param factory creates a new control if the pool is empty
+     * @param <C> the type of the control
+     * @return a control that is not part of any scene graph
+     */
+    @SuppressWarnings("unchecked")
+    public <C extends Control> C acquire(EditorKind kind, Supplier<C> factory) {
+        ArrayDeque<Control> controls = pooledControls.get(kind);
+        Control control = controls == null ? null : controls.pollLast();
+        if (control != null) {
+            hits++;
+            return (C) control;
+        }
+        misses++;
+        return factory.get();
+    }
+
+    /**
+     * Gives a control back to the pool. The control must already be removed from its parent and must not
+     * be connected to a field anymore, see {@link FieldBinding#detach()}.
+     *
+     * @param kind the kind of editor the control was used as
+     * @param control the control that is no longer used
+     */
+    public void release(EditorKind kind, Control control) {
+        ArrayDeque<Control> controls = pooledControls.computeIfAbsent(kind, k -> new ArrayDeque<>());
+        if (controls.size() >= getMaxSize(kind)) {
+            discarded++;
+            return;
+        }
+        control.setTooltip(null);
+        control.setDisable(false);
+        // a filter may have hidden the row of the control
+        control.setVisible(true);
+        control.setManaged(true);
+        controls.addLast(control);
+    }
+
+    /**
+     * Detaches the binding from its field and gives its control back to the pool.
+     * The labels of a {@link LabelBinding} are not pooled, as they are no editor of the field's kind.
+     *
+     * @param binding a binding whose control is no longer shown
+     */
+    public void release(FieldBinding<?, ?> binding) {
+        binding.detach();
+        if (binding instanceof LabelBinding) {
+            return;
+        }
+        release(binding.getDescriptor().getEditorKind(), binding.getControl());
+    }
+
+    /**
+     * @param kind the kind of editor
+     * @param maxSize the amount of controls of this kind that are kept
+     */
+    public void setMaxSize(EditorKind kind, int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("The size of the pool can not be negative: " + maxSize);
+        }
+        maxSizes.put(kind, maxSize);
+        ArrayDeque<Control> controls = pooledControls.get(kind);
+        while (controls != null && controls.size() > maxSize) {
+            controls.pollFirst();
+            discarded++;
+        }
+    }
+
+    public int getMaxSize(EditorKind kind) {
+        return maxSizes.getOrDefault(kind, defaultMaxSize);
+    }
+
+    /**
+     * @param kind the kind of editor
+     * @return the amount of controls of this kind that are currently waiting to be reused
+     */
+    public int getPooledCount(EditorKind kind) {
+        ArrayDeque<Control> controls = pooledControls.get(kind);
+        return controls == null ? 0 : controls.size();
+    }
+
+    /**
+     * @return how many times a pooled control could be reused
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * @return how many times a new control had to be created
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * @return how many released controls were not kept because the pool was full
+     */
+    public long getDiscarded() {
+        return discarded;
+    }
+
+    /**
+     * @return the share of requests that could be served from the pool, between 0 and 1
+     */
+    public double getHitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+
+    public void resetStatistics() {
+        hits = 0;
+        misses = 0;
+        discarded = 0;
+    }
+
+    /**
+     * Removes all pooled controls.
+     */
+    public void clear() {
+        pooledControls.clear();
+    }
+}
@@ -0,0 +1,73 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2019 Ricardo Daniel Monteiro Simoes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package ch.hephaistos.utilities.loki.util.binding;
+
+import ch.hephaistos.utilities.loki.util.schema.FieldDescriptor;
+import ch.hephaistos.utilities.loki.util.statics.ListenerCollection;
+import javafx.beans.value.ObservableValue;
+import javafx.scene.control.ComboBox;
+
+import java.util.function.Consumer;
+
+/**
+ * Binds an enum field to a ComboBox filled with the constants of the enum.
+ *
+ * @author Ricardo Daniel Monteiro Simoes
+ */
+public class EnumComboBoxBinding<T extends Enum<T>> extends FieldBinding<ComboBox<T>, Object> {
+
+    public EnumComboBoxBinding(FieldDescriptor descriptor, ComboBox<T> control, Object handle, Object masterObject) {
+        super(descriptor, control, handle, masterObject);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    protected ObservableValue<Object> observedValue() {
+        return (ObservableValue<Object>) (ObservableValue<?>) getControl().getSelectionModel().selectedItemProperty();
+    }
+
+    @Override
+    protected boolean isShowing(Object value) {
+        return getControl().getSelectionModel().getSelectedItem() == value;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    protected void showValue(Object value) {
+        getControl().setPromptText(null);
+        getControl().getSelectionModel().select((T) value);
+    }
+
+    @Override
+    protected void showMixed() {
+        getControl().getSelectionModel().clearSelection();
+        getControl().setPromptText(ObjectGroup.MIXED_TEXT);
+    }
+
+    @Override
+    protected Consumer<Object> createWriter(Object handle, Object masterObject) {
+        return ListenerCollection.getObjectListener(getDescriptor(), handle, masterObject);
+    }
+}
@@ -0,0 +1,294 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2019 Ricardo Daniel Monteiro Simoes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package ch.hephaistos.utilities.loki.util.binding;
+
+import ch.hephaistos.utilities.loki.util.ListenerRegistry;
+import ch.hephaistos.utilities.loki.util.schema.FieldDescriptor;
+import ch.hephaistos.utilities.loki.util.typeconversion.ValidationState;
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.css.PseudoClass;
+import javafx.scene.control.Control;
+
+import java.util.function.Consumer;
+
+/**
+ * Connects one field of an object with the {@link Control} that edits it.
+ * <p>
+ * Changes in the control are written into the field. The other direction is done by {@link #pushValue()},
+ * which reads the current value of the field and only touches the control if it shows something else.
+ * This allows a grid to show changes made outside of the GUI without rebuilding any nodes.
+ * <p>
+ * Bindings that parse the input of the user report it as a {@link ValidationState}. Controls holding input that
+ * can not be written get the CSS pseudo class {@code :invalid}.
+ *
+ * @param <C> the type of the control
+ * @param <V> the type of the value the control holds
+ * @author Ricardo Daniel Monteiro Simoes
+ */
+public abstract class FieldBinding<C extends Control, V> {
+
+    private static final PseudoClass INVALID = PseudoClass.getPseudoClass("invalid");
+
+    private final FieldDescriptor descriptor;
+    private final C control;
+    private final ChangeListener<V> controlListener = (obs, oldValue, newValue) -> commit(newValue);
+    private final ReadOnlyObjectWrapper<ValidationState> validationState
+            = new ReadOnlyObjectWrapper<>(this, "validationState", ValidationState.VALID);
+
+    private Object handle;
+    private Object masterObject;
+    private Consumer<V> writer;
+    private ListenerRegistry listenerRegistry;
+    private boolean updating;
+    private boolean showingMixed;
+
+    /**
+     * Shows the current value of the field in the control and starts listening to the control.
+     *
+     * @param descriptor the descriptor of the field
+     * @param control the control that edits the field
+     * @param handle the object the field belongs to
+     * @param masterObject the object shown by the grid
+     */
+    protected FieldBinding(FieldDescriptor descriptor, C control, Object handle, Object masterObject) {
+        this.descriptor = descriptor;
+        this.control = control;
+        this.handle = handle;
+        this.masterObject = masterObject;
+        showWithoutCommit(readValue());
+        observedValue().addListener(controlListener);
+    }
+
+    /**
+     * Shows the given value instead of reading the field, and starts listening to the control.
+     * This allows the value to be read and converted before, for example on a background thread.
+     *
+     * @param descriptor the descriptor of the field
+     * @param control the control that edits the field
+     * @param handle the object the field belongs to
+     * @param masterObject the object shown by the grid
+     * @param shownValue the value to show, in any form {@link #showValue(Object)} accepts
+     */
+    protected FieldBinding(FieldDescriptor descriptor, C control, Object handle, Object masterObject,
+                           Object shownValue) {
+        this.descriptor = descriptor;
+        this.control = control;
+        this.handle = handle;
+        this.masterObject = masterObject;
+        showWithoutCommit(shownValue);
+        observedValue().addListener(controlListener);
+    }
+
+    /**
+     * @return the property of the control that holds the value the user entered
+     */
+    protected abstract ObservableValue<V> observedValue();
+
+    /**
+     * @param value the current value of the field
+     * @return true if the control already shows this value
+     */
+    protected abstract boolean isShowing(Object value);
+
+    /**
+     * Shows the given value in the control.
+     *
+     * @param value the current value of the field
+     */
+    protected abstract void showValue(Object value);
+
+    /**
+     * Shows that the objects of an {@link ObjectGroup} hold different values. By default nothing is changed,
+     * the bindings clear their control and show {@link ObjectGroup#MIXED_TEXT} where they can.
+     */
+    protected void showMixed() {
+    }
+
+    /**
+     * Creates the function that writes a value of the control into the field.
+     *
+     * @param handle the object the field belongs to
+     * @param masterObject the object shown by the grid
+     * @return the writer
+     */
+    protected abstract Consumer<V> createWriter(Object handle, Object masterObject);
+
+    /**
+     * Reads the field and updates the control if it shows a different value.
+     * Updating the control this way does not write the value back into the field.
+     *
+     * @return true if the control had to be updated
+     */
+    public boolean pushValue() {
+        Object value = readValue();
+        if (value == ObjectGroup.MIXED ? showingMixed : !showingMixed && isShowing(value)) {
+            return false;
+        }
+        showWithoutCommit(value);
+        return true;
+    }
+
+    /**
+     * Connects the control to the same field of another object and shows its value.
+     * The writer of the previous object is dropped, so further changes in the control only go to the new object.
+     *
+     * @param handle an object of the same class as the previous one
+     * @param masterObject the object shown by the grid
+     */
+    public void rebind(Object handle, Object masterObject) {
+        this.handle = handle;
+        this.masterObject = masterObject;
+        this.writer = null;
+        pushValue();
+    }
+
+    /**
+     * Disconnects the control from the field. Afterwards changes in the control are not written anywhere
+     * anymore, so the control can be reused for another field.
+     */
+    public void detach() {
+        observedValue().removeListener(controlListener);
+        setValidationState(ValidationState.VALID);
+        handle = null;
+        masterObject = null;
+        writer = null;
+    }
+
+    private void showWithoutCommit(Object value) {
+        updating = true;
+        try {
+            setValidationState(ValidationState.VALID);
+            showingMixed = value == ObjectGroup.MIXED;
+            if (showingMixed) {
+                showMixed();
+            } else {
+                showValue(value);
+            }
+        } finally {
+            updating = false;
+        }
+    }
+
+    private void commit(V value) {
+        if (updating) {
+            return;
+        }
+        onControlChanged(value);
+    }
+
+    /**
+     * Called when the user changed the value of the control. By default the value is written right away,
+     * bindings may hold it back and {@link #write(Object)} it later.
+     *
+     * @param value the new value of the control
+     */
+    protected void onControlChanged(V value) {
+        write(value);
+    }
+
+    /**
+     * Writes a value of the control into the field.
+     *
+     * @param value the value of the control
+     */
+    protected final void write(V value) {
+        if (writer == null) {
+            writer = createWriter(handle, masterObject);
+        }
+        if (listenerRegistry != null) {
+            listenerRegistry.dispatchDuring(() -> writer.accept(value));
+        } else {
+            writer.accept(value);
+        }
+    }
+
+    /**
+     * @param listenerRegistry the registry that receives the changes written by this binding, in addition to
+     *                         the global listeners of {@link ch.hephaistos.utilities.loki.util.statics.ReflectionHelper}
+     */
+    public void setListenerRegistry(ListenerRegistry listenerRegistry) {
+        this.listenerRegistry = listenerRegistry;
+    }
+
+    public ListenerRegistry getListenerRegistry() {
+        return listenerRegistry;
+    }
+
+    /**
+     * @return the state of the input in the control. It is {@link ValidationState#VALID} while the control shows
+     * the value of the field, and for bindings that do not parse the input.
+     */
+    public ReadOnlyObjectProperty<ValidationState> validationStateProperty() {
+        return validationState.getReadOnlyProperty();
+    }
+
+    public ValidationState getValidationState() {
+        return validationState.get();
+    }
+
+    /**
+     * @param state the state of the input in the control
+     */
+    protected void setValidationState(ValidationState state) {
+        validationState.set(state);
+        control.pseudoClassStateChanged(INVALID, state.isError());
+    }
+
+    /**
+     * @return the current value of the field
+     */
+    protected Object readValue() {
+        if (handle instanceof ObjectGroup) {
+            return ((ObjectGroup) handle).read(descriptor);
+        }
+        return descriptor.getAccessor().get(handle);
+    }
+
+    public FieldDescriptor getDescriptor() {
+        return descriptor;
+    }
+
+    public C getControl() {
+        return control;
+    }
+
+    /**
+     * @return the object the field belongs to
+     */
+    public Object getHandle() {
+        return handle;
+    }
+
+    public Object getMasterObject() {
+        return masterObject;
+    }
+
+    static String objectToString(Object object) {
+        return object == null ? "" : object.toString();
+    }
+}
@@ -0,0 +1,82 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2019 Ricardo Daniel Monteiro Simoes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package ch.hephaistos.utilities.loki.util.binding;
+
+import ch.hephaistos.utilities.loki.util.schema.FieldDescriptor;
+import javafx.beans.value.ObservableValue;
+import javafx.scene.control.Label;
+
+import java.util.function.Consumer;
+
+/**
+ * Shows the value of a field as the text of a plain {@link Label}, without any editor.
+ * <p>
+ * A Label has a much cheaper skin than a TextField, Spinner or ComboBox, which makes it suited for read-only
+ * fields, or as a placeholder that is replaced by the real editor once the user wants to change the value.
+ * The text is never written back into the field.
+ *
+ * @author Ricardo Daniel Monteiro Simoes
+ */
+public class LabelBinding extends FieldBinding<Label, String> {
+
+    public LabelBinding(FieldDescriptor descriptor, Label control, Object handle, Object masterObject) {
+        super(descriptor, control, handle, masterObject);
+    }
+
+    /**
+     * Shows the given text instead of converting the current value of the field.
+     *
+     * @param text the text of the current value, see {@link ValueSnapshot}
+     */
+    public LabelBinding(FieldDescriptor descriptor, Label control, Object handle, Object masterObject, String text) {
+        super(descriptor, control, handle, masterObject, text);
+    }
+
+    @Override
+    protected ObservableValue<String> observedValue() {
+        return getControl().textProperty();
+    }
+
+    @Override
+    protected boolean isShowing(Object value) {
+        return objectToString(value).equals(getControl().getText());
+    }
+
+    @Override
+    protected void showValue(Object value) {
+        getControl().setText(objectToString(value));
+    }
+
+    @Override
+    protected void showMixed() {
+        getControl().setText(ObjectGroup.MIXED_TEXT);
+    }
+
+    @Override
+    protected Consumer<String> createWriter(Object handle, Object masterObject) {
+        return text -> {
+        };
+    }
+}
@@ -0,0 +1,116 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2019 Ricardo Daniel Monteiro Simoes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package ch.hephaistos.utilities.loki.util.binding;
+
+import ch.hephaistos.utilities.loki.util.ListenerRegistry;
+import ch.hephaistos.utilities.loki.util.schema.MethodDescriptor;
+import ch.hephaistos.utilities.loki.util.statics.ReflectionHelper;
+import javafx.scene.control.Button;
+
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * Connects a method annotated with {@link ch.hephaistos.utilities.loki.util.annotations.TransferMethod}
+ * with the Button that calls it.
+ * <p>
+ * The method runs in a transaction, so the values it sets trough {@link ReflectionHelper} are reported
+ * together once it returns, and are restored if it throws.
+ *
+ * @author Ricardo Daniel Monteiro Simoes
+ */
+public class MethodBinding {
+
+    private final MethodDescriptor descriptor;
+    private final Button button;
+    private Object handle;
+    private ListenerRegistry listenerRegistry;
+
+    /**
+     * @param descriptor the descriptor of the method
+     * @param button the button that calls the method
+     * @param handle the object the method is called on
+     */
+    public MethodBinding(MethodDescriptor descriptor, Button button, Object handle) {
+        this.descriptor = descriptor;
+        this.button = button;
+        this.handle = handle;
+        button.setOnAction(event -> {
+            if (listenerRegistry != null) {
+                listenerRegistry.dispatchDuring(this::invoke);
+            } else {
+                invoke();
+            }
+        });
+    }
+
+    private void invoke() {
+        ReflectionHelper.beginTransaction();
+        try {
+            if (handle instanceof ObjectGroup) {
+                ((ObjectGroup) handle).invoke(descriptor);
+            } else {
+                descriptor.getInvoker().invoke(handle);
+            }
+        } catch (InvocationTargetException itE) {
+            ReflectionHelper.rollbackTransaction();
+            System.out.println("Could not invoke method: " + descriptor.getMethod().getName()
+                    + " error: " + itE.getMessage());
+            return;
+        } catch (RuntimeException e) {
+            ReflectionHelper.rollbackTransaction();
+            throw e;
+        }
+        ReflectionHelper.commitTransaction();
+    }
+
+    /**
+     * From now on calls the method on the given object.
+     *
+     * @param handle an object of the same class as the previous one
+     */
+    public void rebind(Object handle) {
+        this.handle = handle;
+    }
+
+    /**
+     * @param listenerRegistry the registry that receives the changes the method makes trough
+     *                         {@link ReflectionHelper}, in addition to the global listeners
+     */
+    public void setListenerRegistry(ListenerRegistry listenerRegistry) {
+        this.listenerRegistry = listenerRegistry;
+    }
+
+    public MethodDescriptor getDescriptor() {
+        return descriptor;
+    }
+
+    public Button getButton() {
+        return button;
+    }
+
+    public Object getHandle() {
+        return handle;
+    }
+}
@@ -0,0 +1,187 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2019 Ricardo Daniel Monteiro Simoes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package ch.hephaistos.utilities.loki.util.binding;
+
+import ch.hephaistos.utilities.loki.util.schema.FieldDescriptor;
+import ch.hephaistos.utilities.loki.util.schema.MethodDescriptor;
+import ch.hephaistos.utilities.loki.util.statics.ReflectionHelper;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Several objects of the same class that are edited together.
+ * <p>
+ * A group can be used as the handle of a {@link FieldBinding} or {@link MethodBinding}. Reading a field gives the
+ * value all objects share, or {@link #MIXED} if they differ. Writing a field writes the value into every object
+ * with {@link ReflectionHelper#setFieldValues(FieldDescriptor, List, Object)}, which notifies the listeners once for
+ * the whole group.
+ * <p>
+ * Two groups are equal if they contain the same objects, in the same order.
+ *
+ * @author Ricardo Daniel Monteiro Simoes
+ */
+public final class ObjectGroup {
+
+    /**
+     * Read instead of a value if the objects of a group hold different values.
+     */
+    public static final Object MIXED = new Object() {
+        @Override
+        public String toString() {
+            return MIXED_TEXT;
+        }
+    };
+
+    /**
+     * The text controls show for fields with different values.
+     */
+    public static final String MIXED_TEXT = "<mixed>";
+
+    private final List<Object> objects;
+    private final Class<?> type;
+
+    /**
+     * @param objects the objects to edit together, all of the same class
+     * @throws IllegalArgumentException if there are no objects, one of them is null, or their classes differ
+     */
+    public ObjectGroup(Collection<?> objects) {
+        if (objects.isEmpty()) {
+            throw new IllegalArgumentException("A group needs at least one object");
+        }
+        this.objects = Collections.unmodifiableList(new ArrayList<>(objects));
+        Object first = this.objects.get(0);
+        if (first == null) {
+            throw new IllegalArgumentException("A group can't contain null");
+        }
+        this.type = first.getClass();
+        for (Object object : this.objects) {
+            if (object == null || object.getClass() != type) {
+                throw new IllegalArgumentException("All objects of a group need to be of the class " + type.getName()
+                        + ", but found: " + object);
+            }
+        }
+    }
+
+    /**
+     * @param descriptor a field of the class of the objects
+     * @return the value of the field if all objects hold an equal value, {@link #MIXED} otherwise
+     */
+    public Object read(FieldDescriptor descriptor) {
+        Object value = descriptor.getAccessor().get(objects.get(0));
+        for (int i = 1; i < objects.size(); i++) {
+            if (!Objects.equals(value, descriptor.getAccessor().get(objects.get(i)))) {
+                return MIXED;
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Writes the value into the field of every object of the group.
+     *
+     * @param descriptor a field of the class of the objects
+     * @param value the new value
+     */
+    public void write(FieldDescriptor descriptor, Object value) {
+        ReflectionHelper.setFieldValues(descriptor, objects, value);
+    }
+
+    /**
+     * Calls the method on every object of the group, one after the other.
+     *
+     * @param descriptor a method of the class of the objects
+     * @throws InvocationTargetException if the method throws an exception; the remaining objects are skipped
+     */
+    public void invoke(MethodDescriptor descriptor) throws InvocationTargetException {
+        for (Object object : objects) {
+            descriptor.getInvoker().invoke(object);
+        }
+    }
+
+    /**
+     * @param descriptor a field holding a sub-object
+     * @return the group of the sub-objects, or null if one of the objects holds null or the sub-objects are of
+     * different classes
+     */
+    public ObjectGroup subGroup(FieldDescriptor descriptor) {
+        List<Object> values = new ArrayList<>(objects.size());
+        Class<?> valueType = null;
+        for (Object object : objects) {
+            Object value = descriptor.getAccessor().get(object);
+            if (value == null || (valueType != null && value.getClass() != valueType)) {
+                return null;
+            }
+            valueType = value.getClass();
+            values.add(value);
+        }
+        return new ObjectGroup(values);
+    }
+
+    /**
+     * @return the objects of the group, unmodifiable
+     */
+    public List<Object> getObjects() {
+        return objects;
+    }
+
+    /**
+     * @return the class all objects of the group share
+     */
+    public Class<?> getType() {
+        return type;
+    }
+
+    public int size() {
+        return objects.size();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (!(other instanceof ObjectGroup) || ((ObjectGroup) other).objects.size() != objects.size()) {
+            return false;
+        }
+        List<Object> otherObjects = ((ObjectGroup) other).objects;
+        for (int i = 0; i < objects.size(); i++) {
+            if (objects.get(i) != otherObjects.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for (Object object : objects) {
+            hash = 31 * hash + System.identityHashCode(object);
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,132 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2019 Ricardo Daniel Monteiro Simoes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package ch.hephaistos.utilities.loki.util.binding;
+
+import ch.hephaistos.utilities.loki.util.NumberSpinnerValueFactory;
+import ch.hephaistos.utilities.loki.util.schema.FieldDescriptor;
+import ch.hephaistos.utilities.loki.util.statics.ListenerCollection;
+import ch.hephaistos.utilities.loki.util.statics.ReflectionHelper;
+import ch.hephaistos.utilities.loki.util.typeconversion.PrimitiveParser;
+import ch.hephaistos.utilities.loki.util.typeconversion.ValidationState;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.scene.control.Spinner;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.function.Consumer;
+
+/**
+ * Binds a numeric field to a Spinner using a {@link NumberSpinnerValueFactory}.
+ * <p>
+ * The text of the editor is checked with a {@link PrimitiveParser} for the type of the field on every change,
+ * or as a decimal number for types without a primitive, and reported trough
+ * {@link #validationStateProperty()}. Fields of a primitive or wrapper type are written from the value of the
+ * spinner trough the primitive functions of their accessor, instead of converting it to text and back.
+ *
+ * @author Ricardo Daniel Monteiro Simoes
+ */
+public class SpinnerBinding extends FieldBinding<Spinner<BigDecimal>, Object> {
+
+    private final PrimitiveParser textParser
+            = new PrimitiveParser(NumberSpinnerValueFactory.getParsedType(getDescriptor().getType()));
+    private final ChangeListener<String> textListener
+            = (observable, oldText, text) -> setValidationState(textParser.parse(text));
+    private final PrimitiveParser parser = PrimitiveParser.supports(getDescriptor().getType())
+            ? new PrimitiveParser(getDescriptor().getType()) : null;
+
+    public SpinnerBinding(FieldDescriptor descriptor, Spinner<BigDecimal> control, Object handle, Object masterObject) {
+        super(descriptor, prepare(descriptor, control), handle, masterObject);
+        control.getEditor().textProperty().addListener(textListener);
+    }
+
+    /**
+     * Gives the spinner a {@link NumberSpinnerValueFactory} for the type of the field, if it does not have one yet.
+     * A recycled spinner keeps its factory if it was created for the same type. Fields of type long, BigInteger
+     * and BigDecimal get the range of a long, all others the range of an int.
+     */
+    private static Spinner<BigDecimal> prepare(FieldDescriptor descriptor, Spinner<BigDecimal> spinner) {
+        Class<?> type = descriptor.getType();
+        if (!(spinner.getValueFactory() instanceof NumberSpinnerValueFactory)
+                || ((NumberSpinnerValueFactory) spinner.getValueFactory()).getType() != type) {
+            boolean wide = type == long.class || type == Long.class
+                    || type == BigInteger.class || type == BigDecimal.class;
+            spinner.setValueFactory(new NumberSpinnerValueFactory(wide ? Long.MIN_VALUE : Integer.MIN_VALUE,
+                    wide ? Long.MAX_VALUE : Integer.MAX_VALUE, 0, type));
+        }
+        return spinner;
+    }
+
+    @Override
+    public void detach() {
+        getControl().getEditor().textProperty().removeListener(textListener);
+        super.detach();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    protected ObservableValue<Object> observedValue() {
+        return (ObservableValue<Object>) (ObservableValue<?>) getControl().valueProperty();
+    }
+
+    @Override
+    protected boolean isShowing(Object value) {
+        BigDecimal shown = getControl().getValue();
+        if (value == null || shown == null) {
+            return value == shown;
+        }
+        return shown.compareTo(NumberSpinnerValueFactory.toBigDecimal((Number) value)) == 0;
+    }
+
+    @Override
+    protected void showMixed() {
+        getControl().getEditor().setText("");
+        getControl().getEditor().setPromptText(ObjectGroup.MIXED_TEXT);
+    }
+
+    @Override
+    protected void showValue(Object value) {
+        getControl().getEditor().setPromptText(null);
+        if (value == null) {
+            // a reused spinner still holds the value of its previous field
+            getControl().getValueFactory().setValue(null);
+        } else {
+            ((NumberSpinnerValueFactory) getControl().getValueFactory()).setNumber((Number) value);
+        }
+    }
+
+    @Override
+    protected Consumer<Object> createWriter(Object handle, Object masterObject) {
+        if (parser != null) {
+            return value -> {
+                if (parser.load((Number) value) == ValidationState.VALID) {
+                    ReflectionHelper.setPrimitiveValueIfChanged(getDescriptor(), handle, parser);
+                }
+                setValidationState(parser.getState());
+            };
+        }
+        return ListenerCollection.getObjectListener(getDescriptor(), handle, masterObject);
+    }
+}
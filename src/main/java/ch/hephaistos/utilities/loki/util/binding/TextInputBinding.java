@@ -0,0 +1,213 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2019 Ricardo Daniel Monteiro Simoes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package ch.hephaistos.utilities.loki.util.binding;
+
+import ch.hephaistos.utilities.loki.util.CommitPolicy;
+import ch.hephaistos.utilities.loki.util.schema.FieldDescriptor;
+import ch.hephaistos.utilities.loki.util.statics.ListenerCollection;
+import ch.hephaistos.utilities.loki.util.typeconversion.PrimitiveParser;
+import javafx.animation.PauseTransition;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.event.ActionEvent;
+import javafx.event.EventHandler;
+import javafx.scene.control.TextInputControl;
+import javafx.util.Duration;
+
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Binds a field to a TextField or TextArea.
+ * <p>
+ * When the text is written into the field is decided by the {@link CommitPolicy}. Text that was not written
+ * yet is written as soon as the control loses the focus, Enter is pressed in a TextField, or the binding is
+ * rebound or detached. Until then {@link #pushValue()} leaves the control alone, so a refresh does not
+ * overwrite what the user is typing.
+ * <p>
+ * Fields of a primitive or wrapper type are parsed with a {@link PrimitiveParser} straight from the text of the
+ * control and written without boxing. Text that is not a valid value yet, like "-" or "1e", is reported trough
+ * {@link #validationStateProperty()} on every change and is not written.
+ *
+ * @author Ricardo Daniel Monteiro Simoes
+ */
+public class TextInputBinding<C extends TextInputControl> extends FieldBinding<C, String> {
+
+    private final ChangeListener<Boolean> focusListener = (observable, wasFocused, focused) -> {
+        if (!focused) {
+            flush();
+        }
+    };
+    private final EventHandler<ActionEvent> actionHandler = event -> flush();
+    private final PrimitiveParser parser = PrimitiveParser.supports(getDescriptor().getType())
+            ? new PrimitiveParser(getDescriptor().getType()) : null;
+
+    private CommitPolicy commitPolicy = CommitPolicy.EVERY_CHANGE;
+    private PauseTransition debounce;
+    private boolean pending;
+
+    public TextInputBinding(FieldDescriptor descriptor, C control, Object handle, Object masterObject) {
+        super(descriptor, control, handle, masterObject);
+        listenForCommits();
+    }
+
+    /**
+     * Shows the given text instead of converting the current value of the field.
+     *
+     * @param text the text of the current value, see {@link ValueSnapshot}
+     */
+    public TextInputBinding(FieldDescriptor descriptor, C control, Object handle, Object masterObject, String text) {
+        super(descriptor, control, handle, masterObject, text);
+        listenForCommits();
+    }
+
+    private void listenForCommits() {
+        getControl().focusedProperty().addListener(focusListener);
+        getControl().addEventHandler(ActionEvent.ACTION, actionHandler);
+    }
+
+    /**
+     * @param commitPolicy when the text is written into the field. Text that was not written yet is
+     *                     written before the policy changes.
+     */
+    public void setCommitPolicy(CommitPolicy commitPolicy) {
+        Objects.requireNonNull(commitPolicy, "The commit policy is null!");
+        flush();
+        this.commitPolicy = commitPolicy;
+        this.debounce = null;
+    }
+
+    public CommitPolicy getCommitPolicy() {
+        return commitPolicy;
+    }
+
+    /**
+     * @return true if the control holds text that was not written into the field yet
+     */
+    public boolean isPending() {
+        return pending;
+    }
+
+    /**
+     * Writes the text of the control into the field, if it was not written yet.
+     */
+    public void flush() {
+        if (!pending) {
+            return;
+        }
+        pending = false;
+        if (debounce != null) {
+            debounce.stop();
+        }
+        writeText(getControl().getText());
+    }
+
+    private void writeText(String text) {
+        write(text);
+        if (parser != null) {
+            setValidationState(parser.getState());
+        }
+    }
+
+    @Override
+    protected void onControlChanged(String value) {
+        if (parser != null && commitPolicy.getMode() != CommitPolicy.Mode.EVERY_CHANGE) {
+            setValidationState(parser.parse(value));
+        }
+        switch (commitPolicy.getMode()) {
+            case ON_ACTION:
+                pending = true;
+                break;
+            case DEBOUNCED:
+                pending = true;
+                if (debounce == null) {
+                    debounce = new PauseTransition(Duration.millis(commitPolicy.getDelay()));
+                    debounce.setOnFinished(event -> flush());
+                }
+                debounce.playFromStart();
+                break;
+            default:
+                writeText(value);
+        }
+    }
+
+    @Override
+    public boolean pushValue() {
+        return !pending && super.pushValue();
+    }
+
+    @Override
+    public void rebind(Object handle, Object masterObject) {
+        flush();
+        super.rebind(handle, masterObject);
+    }
+
+    @Override
+    public void detach() {
+        flush();
+        getControl().focusedProperty().removeListener(focusListener);
+        getControl().removeEventHandler(ActionEvent.ACTION, actionHandler);
+        super.detach();
+    }
+
+    @Override
+    protected ObservableValue<String> observedValue() {
+        return getControl().textProperty();
+    }
+
+    @Override
+    protected boolean isShowing(Object value) {
+        return toText(value).equals(getControl().getText());
+    }
+
+    @Override
+    protected void showValue(Object value) {
+        getControl().setPromptText(null);
+        getControl().setText(toText(value));
+    }
+
+    @Override
+    protected void showMixed() {
+        getControl().setText("");
+        getControl().setPromptText(ObjectGroup.MIXED_TEXT);
+    }
+
+    /**
+     * @param value the value of the field
+     * @return the text a TextField or TextArea shows for the value
+     */
+    public static String toText(Object value) {
+        return objectToString(value);
+    }
+
+    @Override
+    protected Consumer<String> createWriter(Object handle, Object masterObject) {
+        if (parser != null) {
+            Consumer<CharSequence> listener = ListenerCollection.getPrimitiveListener(getDescriptor(), handle, parser);
+            return listener::accept;
+        }
+        return ListenerCollection.getStringListener(getDescriptor(), handle, masterObject);
+    }
+}
@@ -0,0 +1,123 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2019 Ricardo Daniel Monteiro Simoes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package ch.hephaistos.utilities.loki.util.binding;
+
+import ch.hephaistos.utilities.loki.util.schema.EditorKind;
+import ch.hephaistos.utilities.loki.util.schema.FieldDescriptor;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The values of the fields of an object graph, read and converted into the text their input fields show
+ * ahead of time.
+ * <p>
+ * Reading the values and calling toString() on them can take a while for big objects. A snapshot allows
+ * this to happen on a background thread, so that the JavaFX Application Thread only has to create the
+ * nodes. A snapshot is not thread safe; it is meant to be filled by one thread and then handed over.
+ *
+ * @author Ricardo Daniel Monteiro Simoes
+ */
+public final class ValueSnapshot {
+
+    /**
+     * The immutable types whose text only depends on their value. The accessor boxes primitives again on every
+     * read, so their values are compared with equals instead of by identity.
+     */
+    private static final Set<Class<?>> VALUE_TYPES = new HashSet<>(Arrays.asList(String.class, Boolean.class,
+            Character.class, Byte.class, Short.class, Integer.class, Long.class, Float.class, Double.class));
+
+    private final Map<Object, Map<FieldDescriptor, Entry>> entries = new IdentityHashMap<>();
+
+    /**
+     * Reads the field of the given object and remembers its value, as well as its text if the field is
+     * shown in a TextField or TextArea.
+     *
+     * @param descriptor the descriptor of the field
+     * @param handle the object the field belongs to
+     */
+    public void record(FieldDescriptor descriptor, Object handle) {
+        Object value = descriptor.getAccessor().get(handle);
+        String text = isText(descriptor) ? TextInputBinding.toText(value) : null;
+        entries.computeIfAbsent(handle, key -> new HashMap<>()).put(descriptor, new Entry(value, text));
+    }
+
+    /**
+     * Returns the text of the field. If the field holds another value than when the snapshot was taken,
+     * the text is computed from the current value instead. Mutable objects are only seen as the same value if
+     * they are the same instance.
+     *
+     * @param descriptor the descriptor of the field
+     * @param handle the object the field belongs to
+     * @return the text of the current value
+     */
+    public String getText(FieldDescriptor descriptor, Object handle) {
+        Object value = descriptor.getAccessor().get(handle);
+        Map<FieldDescriptor, Entry> fields = entries.get(handle);
+        Entry entry = fields == null ? null : fields.get(descriptor);
+        if (entry != null && entry.text != null && isSame(entry.value, value)) {
+            return entry.text;
+        }
+        return TextInputBinding.toText(value);
+    }
+
+    /**
+     * @return the amount of fields in this snapshot
+     */
+    public int size() {
+        int size = 0;
+        for (Map<FieldDescriptor, Entry> fields : entries.values()) {
+            size += fields.size();
+        }
+        return size;
+    }
+
+    private static boolean isSame(Object recorded, Object value) {
+        if (recorded == value) {
+            return true;
+        }
+        return recorded != null && VALUE_TYPES.contains(recorded.getClass()) && Objects.equals(recorded, value);
+    }
+
+    private static boolean isText(FieldDescriptor descriptor) {
+        return descriptor.getEditorKind() == EditorKind.TEXT_FIELD || descriptor.getEditorKind() == EditorKind.TEXT_AREA;
+    }
+
+    private static final class Entry {
+
+        private final Object value;
+        private final String text;
+
+        private Entry(Object value, String text) {
+            this.value = value;
+            this.text = text;
+        }
+    }
+}
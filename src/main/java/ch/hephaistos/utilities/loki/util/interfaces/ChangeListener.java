@@ -25,8 +25,10 @@
 package ch.hephaistos.utilities.loki.util.interfaces;
 
 import ch.hephaistos.utilities.loki.ReflectorGrid;
+import ch.hephaistos.utilities.loki.util.ChangeSet;
 
 import java.lang.reflect.Field;
+import java.util.List;
 
 /**
  * This interface is intended to be used in combination with TransferGrid.
@@ -72,4 +74,49 @@ public interface ChangeListener {
      */
     void onObjectValueChanged(Field field, Object oldValue, Object newValue, Object object);
 
+    /**
+     * This function gets called when the ReflectorGrid set the same new value in the same field of several
+     * objects at once, instead of calling {@link #onObjectValueChanged(Field, Object, Object, Object)} for every
+     * object. By default it calls onObjectValueChanged for every object.
+     *
+     * @param field The field that was updated in every object
+     * @param oldValues The previous values of the field, in the same order as the objects
+     * @param newValue The newly set value
+     * @param objects The objects that were updated
+     */
+    default void onObjectsValueChanged(Field field, List<?> oldValues, Object newValue, List<?> objects) {
+        for (int i = 0; i < objects.size(); i++) {
+            onObjectValueChanged(field, oldValues.get(i), newValue, objects.get(i));
+        }
+    }
+
+    /**
+     * This function gets called when the ReflectorGrid changed a range of elements of a primitive array,
+     * instead of calling {@link #onObjectValueChanged(Field, Object, Object, Object)} for every element.
+     * By default it calls onObjectValueChanged once, with the array as the old and the new value.
+     *
+     * @param field The field holding the array
+     * @param array The array that was updated
+     * @param fromIndex The index of the first changed element
+     * @param toIndex The index after the last changed element
+     * @param object The object that was updated
+     */
+    default void onArrayRangeChanged(Field field, Object array, int fromIndex, int toIndex, Object object) {
+        onObjectValueChanged(field, array, array, object);
+    }
+
+    /**
+     * This function gets called once for all changes made during a transaction, see
+     * {@link ch.hephaistos.utilities.loki.util.statics.ReflectionHelper#beginTransaction()}, instead of calling
+     * {@link #onObjectValueChanged(Field, Object, Object, Object)} for every change.
+     * By default it calls onObjectValueChanged for every change, in the order they were made.
+     *
+     * @param changeSet The changes made during the transaction
+     */
+    default void onChangeSet(ChangeSet changeSet) {
+        for (ChangeSet.Change change : changeSet.getChanges()) {
+            onObjectValueChanged(change.getField(), change.getOldValue(), change.getNewValue(), change.getObject());
+        }
+    }
+
 }
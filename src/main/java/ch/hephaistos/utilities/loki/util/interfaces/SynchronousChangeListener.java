@@ -0,0 +1,48 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2019 Ricardo Daniel Monteiro Simoes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package ch.hephaistos.utilities.loki.util.interfaces;
+
+/**
+ * Marks a {@link ChangeListener} that is always called right away on the thread that changed the value,
+ * even if a {@link ch.hephaistos.utilities.loki.util.ChangeDispatcher} delivers the changes to all other
+ * listeners asynchronously.
+ * <p>
+ * Implement this interface instead of ChangeListener if your listener updates the GUI, or has to see the
+ * change before the grid continues.
+ *
+ * <b>Example:</b>
+ *
+ *<pre> <code>
+ * {
+ * reflectorGrid.addChangeListener((SynchronousChangeListener) (field, oldValue, newValue, object) -&gt;
+ *         statusLabel.setText(field.getName() + " changed"));
+ * }
+ * </code> </pre>
+ *
+ * @author Ricardo Daniel Monteiro Simoes
+ */
+@FunctionalInterface
+public interface SynchronousChangeListener extends ChangeListener {
+}
@@ -0,0 +1,141 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2019 Ricardo Daniel Monteiro Simoes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package ch.hephaistos.utilities.loki.util.schema;
+
+import ch.hephaistos.utilities.loki.util.annotations.TransferGrid;
+import ch.hephaistos.utilities.loki.util.annotations.TransferMethod;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable description of all members of a class that are shown in a grid.
+ * <p>
+ * The class hierarchy is only scanned once per {@link Class}; afterwards every grid that shows an
+ * object of this class reads the members from here instead of using reflection again.
+ * The members are kept in the order the grid displays them: starting with the class itself and
+ * going up the hierarchy, first the fields and then the methods of every class.
+ *
+ * @author Ricardo Daniel Monteiro Simoes
+ */
+public final class ClassDescriptor {
+
+    private static final ClassValue<ClassDescriptor> CACHE = new ClassValue<ClassDescriptor>() {
+        @Override
+        protected ClassDescriptor computeValue(Class<?> type) {
+            return new ClassDescriptor(type);
+        }
+    };
+
+    private final Class<?> type;
+    private final List<MemberDescriptor> members;
+    private final List<FieldDescriptor> fields;
+    private final List<MethodDescriptor> methods;
+    private final Map<Field, FieldDescriptor> fieldIndex;
+
+    private ClassDescriptor(Class<?> type) {
+        this.type = type;
+
+        List<MemberDescriptor> members = new ArrayList<>();
+        List<FieldDescriptor> fields = new ArrayList<>();
+        List<MethodDescriptor> methods = new ArrayList<>();
+        Map<Field, FieldDescriptor> fieldIndex = new HashMap<>();
+
+        Class<?> clazz = type;
+        while (clazz != null) {
+            for (Field field : clazz.getDeclaredFields()) {
+                TransferGrid annotation = field.getAnnotation(TransferGrid.class);
+                if (annotation != null) {
+                    FieldDescriptor descriptor = new FieldDescriptor(field, annotation);
+                    members.add(descriptor);
+                    fields.add(descriptor);
+                    fieldIndex.put(field, descriptor);
+                }
+            }
+            for (Method method : clazz.getDeclaredMethods()) {
+                TransferMethod annotation = method.getAnnotation(TransferMethod.class);
+                if (annotation != null) {
+                    MethodDescriptor descriptor = new MethodDescriptor(method, annotation);
+                    members.add(descriptor);
+                    methods.add(descriptor);
+                }
+            }
+            clazz = clazz.getSuperclass();
+        }
+
+        this.members = Collections.unmodifiableList(members);
+        this.fields = Collections.unmodifiableList(fields);
+        this.methods = Collections.unmodifiableList(methods);
+        this.fieldIndex = fieldIndex;
+    }
+
+    /**
+     * Returns the descriptor of the given class. It is only built the first time a class is requested.
+     *
+     * @param type the class to describe
+     * @return the cached descriptor of the class
+     */
+    public static ClassDescriptor of(Class<?> type) {
+        return CACHE.get(type);
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * @return all annotated fields and methods, in the order in which they are displayed
+     */
+    public List<MemberDescriptor> getMembers() {
+        return members;
+    }
+
+    /**
+     * @return all fields annotated with {@link TransferGrid}, including the inherited ones
+     */
+    public List<FieldDescriptor> getFields() {
+        return fields;
+    }
+
+    /**
+     * @return all methods annotated with {@link TransferMethod}, including the inherited ones
+     */
+    public List<MethodDescriptor> getMethods() {
+        return methods;
+    }
+
+    /**
+     * @param field a field of this class or one of its superclasses
+     * @return the descriptor of the field, or null if the field is not annotated with {@link TransferGrid}
+     */
+    public FieldDescriptor getFieldDescriptor(Field field) {
+        return fieldIndex.get(field);
+    }
+}
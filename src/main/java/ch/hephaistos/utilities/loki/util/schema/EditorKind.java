@@ -0,0 +1,74 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2019 Ricardo Daniel Monteiro Simoes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package ch.hephaistos.utilities.loki.util.schema;
+
+/**
+ * Describes which kind of editor is used to display a field annotated with
+ * {@link ch.hephaistos.utilities.loki.util.annotations.TransferGrid}.
+ *
+ * The kind is resolved once per field when its {@link FieldDescriptor} is built, so the
+ * grid does not have to inspect the type and annotation again every time it is generated.
+ *
+ * @author Ricardo Daniel Monteiro Simoes
+ */
+public enum EditorKind {
+    /**
+     * A ComboBox filled with the values of
+     * {@link ch.hephaistos.utilities.loki.util.annotations.TransferGrid#options()}.
+     */
+    COMBO_BOX,
+    /**
+     * A ComboBox filled with the constants of an enum.
+     */
+    ENUM_COMBO_BOX,
+    /**
+     * A Spinner for any numeric field.
+     */
+    SPINNER,
+    /**
+     * A single-line TextField.
+     */
+    TEXT_FIELD,
+    /**
+     * A multiple-line TextArea.
+     */
+    TEXT_AREA,
+    /**
+     * The field holds another object, whose fields are shown as a sub-grid.
+     */
+    SUB_OBJECT,
+    /**
+     * A {@link java.util.Collection}, whose elements are listed on demand.
+     */
+    COLLECTION,
+    /**
+     * A {@link java.util.Map}, whose entries are listed on demand.
+     */
+    MAP,
+    /**
+     * An array of a primitive type, whose elements are shown in chunks on demand.
+     */
+    PRIMITIVE_ARRAY
+}
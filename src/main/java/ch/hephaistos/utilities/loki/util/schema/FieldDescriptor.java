@@ -0,0 +1,252 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2019 Ricardo Daniel Monteiro Simoes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package ch.hephaistos.utilities.loki.util.schema;
+
+import ch.hephaistos.utilities.loki.util.CommitPolicy;
+import ch.hephaistos.utilities.loki.util.FieldNamingStrategy;
+import ch.hephaistos.utilities.loki.util.access.Accessors;
+import ch.hephaistos.utilities.loki.util.access.FieldAccessor;
+import ch.hephaistos.utilities.loki.util.annotations.TransferGrid;
+import ch.hephaistos.utilities.loki.util.statics.ListenerCollection;
+import ch.hephaistos.utilities.loki.util.statics.TypeHelper;
+import javafx.util.StringConverter;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Holds everything the grid needs to know about a field annotated with {@link TransferGrid}:
+ * the resolved annotation values, the {@link EditorKind} and the converter used to turn
+ * user input into the type of the field.
+ *
+ * @author Ricardo Daniel Monteiro Simoes
+ */
+public final class FieldDescriptor extends MemberDescriptor {
+
+    private static final String[] NO_OPTIONS = new String[0];
+
+    private final Field field;
+    private final TransferGrid annotation;
+    private final EditorKind editorKind;
+    private final StringConverter<?> converter;
+    private final FieldAccessor accessor;
+    private final boolean editable;
+    private final String[] options;
+    private final Class<?> elementType;
+    private final Class<?> keyType;
+    private final CommitPolicy commitPolicy;
+
+    FieldDescriptor(Field field, TransferGrid annotation) {
+        super(annotation == null ? "" : annotation.tooltip());
+        this.field = field;
+        this.annotation = annotation;
+        this.editable = annotation == null || annotation.editable();
+        this.options = annotation == null ? NO_OPTIONS : annotation.options();
+        this.editorKind = resolveEditorKind(field.getType(), annotation);
+        this.converter = needsConverter(editorKind) ? ListenerCollection.getConverter(field.getType()) : null;
+        this.elementType = editorKind == EditorKind.COLLECTION ? typeArgument(field, 0)
+                : editorKind == EditorKind.MAP ? typeArgument(field, 1) : null;
+        this.keyType = editorKind == EditorKind.MAP ? typeArgument(field, 0) : null;
+        this.accessor = Accessors.forField(field);
+        this.commitPolicy = resolveCommitPolicy(annotation);
+    }
+
+    /**
+     * Returns the descriptor of a field. Annotated fields are taken from the cached
+     * {@link ClassDescriptor} of their declaring class, for any other field a new descriptor
+     * with the default values of {@link TransferGrid} is built.
+     *
+     * @param field the field to describe
+     * @return the descriptor of the field
+     */
+    public static FieldDescriptor of(Field field) {
+        FieldDescriptor descriptor = ClassDescriptor.of(field.getDeclaringClass()).getFieldDescriptor(field);
+        return descriptor != null ? descriptor : new FieldDescriptor(field, field.getAnnotation(TransferGrid.class));
+    }
+
+    private static CommitPolicy resolveCommitPolicy(TransferGrid annotation) {
+        if (annotation == null) {
+            return null;
+        }
+        switch (annotation.commit()) {
+            case EVERY_CHANGE:
+                return CommitPolicy.EVERY_CHANGE;
+            case ON_ACTION:
+                return CommitPolicy.ON_ACTION;
+            case DEBOUNCED:
+                return CommitPolicy.debounced(annotation.commitDelay());
+            default:
+                return null;
+        }
+    }
+
+    private static EditorKind resolveEditorKind(Class<?> type, TransferGrid annotation) {
+        if (TypeHelper.isPrimitiveArray(type)) {
+            return EditorKind.PRIMITIVE_ARRAY;
+        } else if (Collection.class.isAssignableFrom(type)) {
+            return EditorKind.COLLECTION;
+        } else if (Map.class.isAssignableFrom(type)) {
+            return EditorKind.MAP;
+        }
+        if (!TypeHelper.isNumericType(type) && !type.isPrimitive() && !TypeHelper.isJavaLang(type)
+                && !TypeHelper.isEnum(type)) {
+            return EditorKind.SUB_OBJECT;
+        }
+        if (annotation != null && annotation.options().length > 0) {
+            return EditorKind.COMBO_BOX;
+        } else if (TypeHelper.isNumericType(type)) {
+            return EditorKind.SPINNER;
+        } else if (TypeHelper.isEnum(type)) {
+            return EditorKind.ENUM_COMBO_BOX;
+        }
+        TransferGrid.Fieldtype fieldtype = annotation == null ? TransferGrid.Fieldtype.TEXT_FIELD : annotation.fieldtype();
+        switch (fieldtype) {
+            case TEXT_FIELD:
+                return EditorKind.TEXT_FIELD;
+            case TEXT_AREA:
+                return EditorKind.TEXT_AREA;
+            default:
+                throw new IllegalArgumentException("Unknown field type: " + fieldtype);
+        }
+    }
+
+    private static boolean needsConverter(EditorKind kind) {
+        return kind != EditorKind.SUB_OBJECT && kind != EditorKind.COLLECTION && kind != EditorKind.MAP
+                && kind != EditorKind.PRIMITIVE_ARRAY;
+    }
+
+    /**
+     * Resolves a type argument of the declared type of the field, for example the element type of a List.
+     *
+     * @return the class of the type argument, or Object if it can't be resolved
+     */
+    private static Class<?> typeArgument(Field field, int index) {
+        Type type = field.getGenericType();
+        if (!(type instanceof ParameterizedType)) {
+            return Object.class;
+        }
+        Type[] arguments = ((ParameterizedType) type).getActualTypeArguments();
+        if (index >= arguments.length) {
+            return Object.class;
+        }
+        Type argument = arguments[index];
+        if (argument instanceof WildcardType) {
+            argument = ((WildcardType) argument).getUpperBounds()[0];
+        }
+        if (argument instanceof ParameterizedType) {
+            argument = ((ParameterizedType) argument).getRawType();
+        }
+        return argument instanceof Class ? (Class<?>) argument : Object.class;
+    }
+
+    @Override
+    public Field getMember() {
+        return field;
+    }
+
+    public Field getField() {
+        return field;
+    }
+
+    public Class<?> getType() {
+        return field.getType();
+    }
+
+    /**
+     * @return the annotation of the field, or null if the field is not annotated
+     */
+    public TransferGrid getAnnotation() {
+        return annotation;
+    }
+
+    public EditorKind getEditorKind() {
+        return editorKind;
+    }
+
+    /**
+     * @return the converter for the type of the field, or null if the value does not need to be converted
+     */
+    public StringConverter<?> getConverter() {
+        return converter;
+    }
+
+    /**
+     * @return the accessor used to read and write the field
+     */
+    public FieldAccessor getAccessor() {
+        return accessor;
+    }
+
+    public boolean isEditable() {
+        return editable;
+    }
+
+    /**
+     * @return the options defined in the annotation. The returned array must not be modified.
+     */
+    public String[] getOptions() {
+        return options;
+    }
+
+    /**
+     * @return the type of the elements of a Collection, or of the values of a Map. Null for any other field.
+     */
+    public Class<?> getElementType() {
+        return elementType;
+    }
+
+    /**
+     * @return the type of the keys of a Map. Null for any other field.
+     */
+    public Class<?> getKeyType() {
+        return keyType;
+    }
+
+    /**
+     * @return the commit policy defined in the annotation, or null if the policy of the grid is used
+     */
+    public CommitPolicy getCommitPolicy() {
+        return commitPolicy;
+    }
+
+    /**
+     * @return true if the field is shown as a sub-grid instead of a single editor
+     */
+    public boolean isSubObject() {
+        return editorKind == EditorKind.SUB_OBJECT;
+    }
+
+    /**
+     * @param strategy the strategy used by the grid
+     * @return the text of the label in front of the editor
+     */
+    public String getLabelText(FieldNamingStrategy strategy) {
+        return labelText(strategy, () -> strategy.toString(field));
+    }
+}
@@ -0,0 +1,96 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2019 Ricardo Daniel Monteiro Simoes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package ch.hephaistos.utilities.loki.util.schema;
+
+import java.lang.reflect.Member;
+import java.util.function.Supplier;
+
+/**
+ * The common part of {@link FieldDescriptor} and {@link MethodDescriptor}.
+ * A member descriptor is built once per member and afterwards only read from.
+ *
+ * The only thing that is not fixed at construction time is the label text, since it depends on
+ * the naming strategy of the grid that displays the member. It is computed the first time it is
+ * requested for a strategy and then reused until another strategy asks for it.
+ *
+ * @author Ricardo Daniel Monteiro Simoes
+ */
+public abstract class MemberDescriptor {
+
+    private final String tooltip;
+
+    private volatile LabelText labelText;
+
+    MemberDescriptor(String tooltip) {
+        this.tooltip = tooltip;
+    }
+
+    /**
+     * @return the reflected member this descriptor belongs to
+     */
+    public abstract Member getMember();
+
+    /**
+     * @return the tooltip of the annotation, or an empty String if there is none
+     */
+    public String getTooltip() {
+        return tooltip;
+    }
+
+    /**
+     * @return true if the annotation defines a tooltip
+     */
+    public boolean hasTooltip() {
+        return !tooltip.isEmpty();
+    }
+
+    /**
+     * Returns the label text for the given strategy, computing it only if the last request
+     * was made with a different strategy.
+     *
+     * @param strategy the naming strategy the text belongs to
+     * @param computation computes the text if it is not yet known
+     * @return the label text
+     */
+    String labelText(Object strategy, Supplier<String> computation) {
+        LabelText current = labelText;
+        if (current == null || current.strategy != strategy) {
+            current = new LabelText(strategy, computation.get());
+            labelText = current;
+        }
+        return current.text;
+    }
+
+    private static final class LabelText {
+
+        private final Object strategy;
+        private final String text;
+
+        private LabelText(Object strategy, String text) {
+            this.strategy = strategy;
+            this.text = text;
+        }
+    }
+}
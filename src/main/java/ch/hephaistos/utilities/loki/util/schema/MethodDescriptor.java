@@ -0,0 +1,93 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2019 Ricardo Daniel Monteiro Simoes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package ch.hephaistos.utilities.loki.util.schema;
+
+import ch.hephaistos.utilities.loki.util.MethodNamingStrategy;
+import ch.hephaistos.utilities.loki.util.access.Accessors;
+import ch.hephaistos.utilities.loki.util.access.MethodInvoker;
+import ch.hephaistos.utilities.loki.util.annotations.TransferMethod;
+
+import java.lang.reflect.Method;
+
+/**
+ * Holds everything the grid needs to know about a method annotated with {@link TransferMethod}.
+ *
+ * @author Ricardo Daniel Monteiro Simoes
+ */
+public final class MethodDescriptor extends MemberDescriptor {
+
+    private final Method method;
+    private final TransferMethod annotation;
+    private final MethodInvoker invoker;
+
+    MethodDescriptor(Method method, TransferMethod annotation) {
+        super(annotation.tooltip());
+        this.method = method;
+        this.annotation = annotation;
+        this.invoker = Accessors.forMethod(method);
+    }
+
+    @Override
+    public Method getMember() {
+        return method;
+    }
+
+    public Method getMethod() {
+        return method;
+    }
+
+    public TransferMethod getAnnotation() {
+        return annotation;
+    }
+
+    /**
+     * @return the invoker used to call the method
+     */
+    public MethodInvoker getInvoker() {
+        return invoker;
+    }
+
+    /**
+     * @return the text shown inside the button
+     */
+    public String getButtonText() {
+        return annotation.name();
+    }
+
+    /**
+     * @return true if the button can be pressed
+     */
+    public boolean isEnabled() {
+        return annotation.enabled();
+    }
+
+    /**
+     * @param strategy the strategy used by the grid
+     * @return the text of the label in front of the button
+     */
+    public String getLabelText(MethodNamingStrategy strategy) {
+        return labelText(strategy, () -> strategy.toString(method));
+    }
+}
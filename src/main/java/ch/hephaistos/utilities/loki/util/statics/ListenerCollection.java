@@ -23,8 +23,12 @@
  */
 package ch.hephaistos.utilities.loki.util.statics;
 
+import ch.hephaistos.utilities.loki.util.schema.FieldDescriptor;
 import ch.hephaistos.utilities.loki.util.typeconversion.EnumStringConverter;
+import ch.hephaistos.utilities.loki.util.typeconversion.PrimitiveParser;
 import ch.hephaistos.utilities.loki.util.typeconversion.TypeConverterCollection;
+import ch.hephaistos.utilities.loki.util.typeconversion.ValidationState;
+import javafx.util.StringConverter;
 
 import java.lang.reflect.Field;
 import java.math.BigDecimal;
@@ -45,6 +49,76 @@ public class ListenerCollection {
      */
     private static TypeConverterCollection typeConverterCollection = new TypeConverterCollection();
 
+    /**
+     * Returns the converter that is used for fields of the given type. Enum converters are
+     * registered the first time they are requested.
+     *
+     * @param type the type of a field
+     * @return the converter, or null if values of this type are not converted
+     */
+    @SuppressWarnings("unchecked")
+    public static StringConverter<?> getConverter(Class<?> type) {
+        if (Enum.class.isAssignableFrom(type)) {
+            Class<Enum> clazz = (Class<Enum>) type;
+            return typeConverterCollection.computeConverterIfAbsent(clazz, EnumStringConverter::new);
+        }
+        return typeConverterCollection.getConverter(type);
+    }
+
+    /**
+     * Creates a listener that converts the String with the converter resolved in the
+     * {@link FieldDescriptor}, instead of looking it up for every change.
+     * Values equal to the current value of the field are not written.
+     */
+    public static Consumer<String> getStringListener(FieldDescriptor descriptor, Object handle, Object fieldObject) {
+        @SuppressWarnings("unchecked")
+        StringConverter<Object> converter = (StringConverter<Object>) descriptor.getConverter();
+        if (String.class.isAssignableFrom(descriptor.getType())) {
+            return string -> ReflectionHelper.setFieldValueIfChanged(descriptor, handle, string);
+        }
+        if (converter == null) {
+            return getStringListener(descriptor.getField(), handle, fieldObject);
+        }
+        return string -> ReflectionHelper.setFieldValueIfChanged(descriptor, handle,
+                string == null ? null : converter.fromString(string));
+    }
+
+    /**
+     * Creates a listener that parses the text with the given {@link PrimitiveParser} and writes the value trough the
+     * primitive functions of the accessor, so typing a number creates neither a wrapper object nor an exception.
+     * Text that is not valid is not written, the state of the last text can be read from the parser.
+     * Values equal to the current value of the field are not written.
+     *
+     * @param parser a parser for the type of the field, see {@link PrimitiveParser#supports(Class)}
+     */
+    public static Consumer<CharSequence> getPrimitiveListener(FieldDescriptor descriptor, Object handle,
+                                                              PrimitiveParser parser) {
+        return text -> {
+            if (parser.parse(text) == ValidationState.VALID) {
+                ReflectionHelper.setPrimitiveValueIfChanged(descriptor, handle, parser);
+            }
+        };
+    }
+
+    /**
+     * Creates a listener that converts the Object with the converter resolved in the
+     * {@link FieldDescriptor}, instead of looking it up for every change.
+     * Values equal to the current value of the field are not written.
+     */
+    public static Consumer<Object> getObjectListener(FieldDescriptor descriptor, Object handle, Object fieldObject) {
+        @SuppressWarnings("unchecked")
+        StringConverter<Object> converter = (StringConverter<Object>) descriptor.getConverter();
+        if (converter == null) {
+            return getObjectListener(descriptor.getField(), handle, fieldObject);
+        }
+        Class<?> type = descriptor.getType();
+        return object -> {
+            Object value = object == null || object.getClass().isAssignableFrom(type)
+                    ? object : converter.fromString(object.toString());
+            ReflectionHelper.setFieldValueIfChanged(descriptor, handle, value);
+        };
+    }
+
     public static Consumer<String> getStringListener(Field field, Object handle, Object fieldObject) {
         Consumer<String> changeListener = string -> {
             Object value = typeConverterCollection.fromString(field.getType(), string);
@@ -55,8 +129,8 @@ public class ListenerCollection {
 
 
     public static Consumer<Enum> getEnumListener(Field field, Object handle, Object fieldObject) {
-        Class<? extends Enum> clazz = (Class<? extends Enum>) field.getType();
-        typeConverterCollection.addConverter(clazz, new EnumStringConverter(clazz));
+        Class<Enum> clazz = (Class<Enum>) field.getType();
+        typeConverterCollection.computeConverterIfAbsent(clazz, EnumStringConverter::new);
         Consumer<Enum> changeListener = enumType -> {
             Object value = typeConverterCollection.fromObject(field.getType(), enumType);
             ReflectionHelper.setFieldValue(field, handle, value);
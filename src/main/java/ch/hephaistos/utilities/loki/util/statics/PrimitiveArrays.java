@@ -0,0 +1,234 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2019 Ricardo Daniel Monteiro Simoes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package ch.hephaistos.utilities.loki.util.statics;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+
+/**
+ * Reads and writes the elements of primitive arrays without boxing them. Every function accepts an array of any
+ * primitive type and handles the elements in the type of the array, so a double[] is only ever read as doubles.
+ * <p>
+ * Text is parsed with the parse functions of the wrapper classes, invalid text throws a NumberFormatException.
+ *
+ * @author Ricardo Daniel Monteiro Simoes
+ */
+public class PrimitiveArrays {
+
+    /**
+     * @param array a primitive array
+     * @return the amount of elements in the array
+     */
+    public static int length(Object array) {
+        return Array.getLength(array);
+    }
+
+    /**
+     * @param array a primitive array
+     * @param index the index of the element
+     * @return the element as text
+     */
+    public static String toText(Object array, int index) {
+        if (array instanceof double[]) {
+            return Double.toString(((double[]) array)[index]);
+        } else if (array instanceof int[]) {
+            return Integer.toString(((int[]) array)[index]);
+        } else if (array instanceof long[]) {
+            return Long.toString(((long[]) array)[index]);
+        } else if (array instanceof float[]) {
+            return Float.toString(((float[]) array)[index]);
+        } else if (array instanceof short[]) {
+            return Short.toString(((short[]) array)[index]);
+        } else if (array instanceof byte[]) {
+            return Byte.toString(((byte[]) array)[index]);
+        } else if (array instanceof char[]) {
+            return String.valueOf(((char[]) array)[index]);
+        } else if (array instanceof boolean[]) {
+            return Boolean.toString(((boolean[]) array)[index]);
+        }
+        throw notPrimitive(array);
+    }
+
+    /**
+     * Parses the text and writes it into the array.
+     *
+     * @param array a primitive array
+     * @param index the index of the element
+     * @param text the new value of the element
+     * @throws NumberFormatException if the text is not a valid value for the type of the array
+     */
+    public static void setFromText(Object array, int index, String text) {
+        String trimmed = text.trim();
+        if (array instanceof double[]) {
+            ((double[]) array)[index] = Double.parseDouble(trimmed);
+        } else if (array instanceof int[]) {
+            ((int[]) array)[index] = Integer.parseInt(trimmed);
+        } else if (array instanceof long[]) {
+            ((long[]) array)[index] = Long.parseLong(trimmed);
+        } else if (array instanceof float[]) {
+            ((float[]) array)[index] = Float.parseFloat(trimmed);
+        } else if (array instanceof short[]) {
+            ((short[]) array)[index] = Short.parseShort(trimmed);
+        } else if (array instanceof byte[]) {
+            ((byte[]) array)[index] = Byte.parseByte(trimmed);
+        } else if (array instanceof char[]) {
+            if (text.length() != 1) {
+                throw new NumberFormatException("Not a single character: \"" + text + "\"");
+            }
+            ((char[]) array)[index] = text.charAt(0);
+        } else if (array instanceof boolean[]) {
+            ((boolean[]) array)[index] = parseBoolean(trimmed);
+        } else {
+            throw notPrimitive(array);
+        }
+    }
+
+    /**
+     * Sets the elements from fromIndex (inclusive) to toIndex (exclusive) to the value of the text.
+     *
+     * @param array a primitive array
+     * @param fromIndex the index of the first element to set
+     * @param toIndex the index after the last element to set
+     * @param text the value for every element in the range
+     * @throws NumberFormatException if the text is not a valid value for the type of the array
+     */
+    public static void fill(Object array, int fromIndex, int toIndex, String text) {
+        Object value = Array.newInstance(array.getClass().getComponentType(), 1);
+        setFromText(value, 0, text);
+        if (array instanceof double[]) {
+            Arrays.fill((double[]) array, fromIndex, toIndex, ((double[]) value)[0]);
+        } else if (array instanceof int[]) {
+            Arrays.fill((int[]) array, fromIndex, toIndex, ((int[]) value)[0]);
+        } else if (array instanceof long[]) {
+            Arrays.fill((long[]) array, fromIndex, toIndex, ((long[]) value)[0]);
+        } else if (array instanceof float[]) {
+            Arrays.fill((float[]) array, fromIndex, toIndex, ((float[]) value)[0]);
+        } else if (array instanceof short[]) {
+            Arrays.fill((short[]) array, fromIndex, toIndex, ((short[]) value)[0]);
+        } else if (array instanceof byte[]) {
+            Arrays.fill((byte[]) array, fromIndex, toIndex, ((byte[]) value)[0]);
+        } else if (array instanceof char[]) {
+            Arrays.fill((char[]) array, fromIndex, toIndex, ((char[]) value)[0]);
+        } else {
+            Arrays.fill((boolean[]) array, fromIndex, toIndex, ((boolean[]) value)[0]);
+        }
+    }
+
+    /**
+     * Multiplies the elements from fromIndex (inclusive) to toIndex (exclusive) with the factor.
+     * The results are rounded for integral arrays, and results beyond the range of the type are clamped to its
+     * smallest or largest value instead of overflowing.
+     *
+     * @param array a numeric primitive array
+     * @param fromIndex the index of the first element to scale
+     * @param toIndex the index after the last element to scale
+     * @param factor the factor every element is multiplied with
+     * @throws IllegalArgumentException if the array is a char[] or boolean[]
+     */
+    public static void scale(Object array, int fromIndex, int toIndex, double factor) {
+        checkRange(array, fromIndex, toIndex);
+        if (array instanceof double[]) {
+            double[] values = (double[]) array;
+            for (int i = fromIndex; i < toIndex; i++) {
+                values[i] *= factor;
+            }
+        } else if (array instanceof int[]) {
+            int[] values = (int[]) array;
+            for (int i = fromIndex; i < toIndex; i++) {
+                values[i] = (int) clamp(Math.round(values[i] * factor), Integer.MIN_VALUE, Integer.MAX_VALUE);
+            }
+        } else if (array instanceof long[]) {
+            long[] values = (long[]) array;
+            for (int i = fromIndex; i < toIndex; i++) {
+                values[i] = Math.round(values[i] * factor);
+            }
+        } else if (array instanceof float[]) {
+            float[] values = (float[]) array;
+            for (int i = fromIndex; i < toIndex; i++) {
+                values[i] *= factor;
+            }
+        } else if (array instanceof short[]) {
+            short[] values = (short[]) array;
+            for (int i = fromIndex; i < toIndex; i++) {
+                values[i] = (short) clamp(Math.round(values[i] * factor), Short.MIN_VALUE, Short.MAX_VALUE);
+            }
+        } else if (array instanceof byte[]) {
+            byte[] values = (byte[]) array;
+            for (int i = fromIndex; i < toIndex; i++) {
+                values[i] = (byte) clamp(Math.round(values[i] * factor), Byte.MIN_VALUE, Byte.MAX_VALUE);
+            }
+        } else {
+            throw new IllegalArgumentException("Can't scale an array of " + array.getClass().getComponentType());
+        }
+    }
+
+    /**
+     * Parses the values and writes them into the array, starting at fromIndex. Either all values are written or,
+     * if one of them is invalid, none of them.
+     *
+     * @param array a primitive array
+     * @param fromIndex the index the first value is written to
+     * @param values the values, for example the lines of a column that was copied
+     * @return the index after the last written element
+     * @throws NumberFormatException if one of the values is not valid for the type of the array
+     * @throws IndexOutOfBoundsException if the values don't fit into the array
+     */
+    public static int paste(Object array, int fromIndex, String[] values) {
+        checkRange(array, fromIndex, fromIndex + values.length);
+        Object parsed = Array.newInstance(array.getClass().getComponentType(), values.length);
+        for (int i = 0; i < values.length; i++) {
+            setFromText(parsed, i, values[i]);
+        }
+        System.arraycopy(parsed, 0, array, fromIndex, values.length);
+        return fromIndex + values.length;
+    }
+
+    /**
+     * @return the value, or min or max if it lies outside of them. Math.round already saturates at the range of long.
+     */
+    private static long clamp(long value, long min, long max) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    private static boolean parseBoolean(String text) {
+        if ("true".equalsIgnoreCase(text)) {
+            return true;
+        } else if ("false".equalsIgnoreCase(text)) {
+            return false;
+        }
+        throw new NumberFormatException("Not a boolean: \"" + text + "\"");
+    }
+
+    private static void checkRange(Object array, int fromIndex, int toIndex) {
+        int length = length(array);
+        if (fromIndex < 0 || toIndex > length || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("Range [" + fromIndex + ", " + toIndex + ") of length " + length);
+        }
+    }
+
+    private static IllegalArgumentException notPrimitive(Object array) {
+        return new IllegalArgumentException("Not a primitive array: " + array);
+    }
+}
@@ -24,15 +24,30 @@
 
 package ch.hephaistos.utilities.loki.util.statics;
 
+import ch.hephaistos.utilities.loki.util.ChangeDispatcher;
+import ch.hephaistos.utilities.loki.util.ChangeSet;
+import ch.hephaistos.utilities.loki.util.ListenerRegistry;
+import ch.hephaistos.utilities.loki.util.access.Accessors;
+import ch.hephaistos.utilities.loki.util.access.FieldAccessor;
+import ch.hephaistos.utilities.loki.util.access.PathAccessor;
+import ch.hephaistos.utilities.loki.util.binding.ObjectGroup;
 import ch.hephaistos.utilities.loki.util.interfaces.ChangeListener;
 import ch.hephaistos.utilities.loki.util.interfaces.ObjectChangeListener;
+import ch.hephaistos.utilities.loki.util.schema.FieldDescriptor;
+import ch.hephaistos.utilities.loki.util.typeconversion.PrimitiveParser;
 
 import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -43,13 +58,44 @@ import java.util.stream.Collectors;
  */
 public class ReflectionHelper {
 
+    /**
+     * The amount of objects {@link #setFieldValues(FieldDescriptor, List, Object)} writes on the calling thread.
+     * More objects are split up and written in parallel.
+     */
+    public static final int PARALLEL_WRITE_THRESHOLD = 256;
+
     private static List<ChangeListener> interfacesToInvoke = new LinkedList<ChangeListener>();
 
+    /**
+     * Delivers the changes to the global listeners on other threads if set.
+     */
+    private static volatile ChangeDispatcher changeDispatcher;
+
+    /**
+     * The transaction running on the current thread, see {@link #beginTransaction()}.
+     */
+    private static final ThreadLocal<Transaction> TRANSACTION = new ThreadLocal<>();
+
 
     public static void addInterfaceToUpdate(ChangeListener interfaceToAdd){
         interfacesToInvoke.add(interfaceToAdd);
     }
 
+    /**
+     * Lets the given dispatcher deliver the changes to the listeners added with
+     * {@link #addInterfaceToUpdate(ChangeListener)}, so that they are not called on the thread changing the
+     * value. {@link ChangeDispatcher} for more information
+     *
+     * @param dispatcher the dispatcher to use, or null to call the listeners right away again
+     */
+    public static void setChangeDispatcher(ChangeDispatcher dispatcher) {
+        changeDispatcher = dispatcher;
+    }
+
+    public static ChangeDispatcher getChangeDispatcher() {
+        return changeDispatcher;
+    }
+
     /**
      * Returns all fields from the class and all superclasses.
      *
@@ -75,6 +121,7 @@ public class ReflectionHelper {
 
     /**
      * Returns the value of a field.
+     * The field is read trough its cached {@link FieldAccessor}, see {@link Accessors}.
      *
      * @param field  The {@link Field} to get the value from.
      * @param handle The handle object to use (according to
@@ -82,18 +129,36 @@ public class ReflectionHelper {
      * @param <T>    The type of the return value you expect
      * @return The value of the field.
      * @throws ClassCastException        if the type is not what you stored it as
-     * @throws ReflectionHelperException if any
-     *                                   {@link ReflectiveOperationException} occurs.
+     * @throws ReflectionHelperException if the field can not be accessed.
      */
     public static <T> T getFieldValue(Field field, Object handle) {
+        @SuppressWarnings("unchecked")
+        T t = (T) resolveAccessor(field).get(handle);
+        return t;
+    }
+
+    /**
+     * Returns the value at the end of a dotted path of fields, like {@code "data.port"}.
+     * The path is read trough its cached {@link ch.hephaistos.utilities.loki.util.access.PathAccessor},
+     * see {@link Accessors#forPath(Class, String)}.
+     *
+     * @param handle The object the path starts at
+     * @param path   The names of the fields, separated by dots
+     * @param <T>    The type of the return value you expect
+     * @return The value at the end of the path, or null if one of the objects on the path is null.
+     * @throws ClassCastException        if the type is not what you stored it as
+     * @throws ReflectionHelperException if a field of the path can not be accessed.
+     */
+    public static <T> T getPathValue(Object handle, String path) {
+        PathAccessor accessor;
         try {
-            field.setAccessible(true);
-            @SuppressWarnings("unchecked")
-            T t = (T) field.get(handle);
-            return t;
-        } catch (ReflectiveOperationException e) {
-            throw new ReflectionHelperException(e);
+            accessor = Accessors.forPath(handle.getClass(), path);
+        } catch (IllegalArgumentException e) {
+            throw new ReflectionHelperException(e.getCause() != null ? e.getCause() : e);
         }
+        @SuppressWarnings("unchecked")
+        T t = (T) accessor.get(handle);
+        return t;
     }
 
     /**
@@ -114,24 +179,168 @@ public class ReflectionHelper {
      * @param object The object object to use (according to
      * {@link Field#set(Object, Object)})
      * @param newValue  The newValue to set it to
-     * @throws ReflectionHelperException if any
-     * {@link ReflectiveOperationException} occurs.
+     * @throws ReflectionHelperException if the field can not be accessed.
      */
     public static void setFieldValue(Field field, Object object, Object newValue) {
-        try {
-            field.setAccessible(true);
-            Object oldValue = field.get(object);
-            field.set(object, newValue);
+        if (object instanceof ObjectGroup) {
+            ((ObjectGroup) object).write(FieldDescriptor.of(field), newValue);
+            return;
+        }
+        setFieldValue(field, resolveAccessor(field), object, newValue);
+    }
 
-            if(object instanceof ObjectChangeListener){
-                ((ObjectChangeListener) object).onFieldValueChanged(field);
+    /**
+     * Same as {@link #setFieldValue(Field, Object, Object)}, but uses the accessor that was already
+     * resolved in the {@link FieldDescriptor}.
+     *
+     * @param descriptor The descriptor of the field to set the newValue for.
+     * @param object The object to use
+     * @param newValue  The newValue to set it to
+     */
+    public static void setFieldValue(FieldDescriptor descriptor, Object object, Object newValue) {
+        if (object instanceof ObjectGroup) {
+            ((ObjectGroup) object).write(descriptor, newValue);
+            return;
+        }
+        setFieldValue(descriptor.getField(), descriptor.getAccessor(), object, newValue);
+    }
+
+    /**
+     * Same as {@link #setFieldValue(FieldDescriptor, Object, Object)}, but does nothing if the field already
+     * holds a value equal to newValue. No listener is called in that case.
+     *
+     * @param descriptor The descriptor of the field to set the newValue for.
+     * @param object The object to use
+     * @param newValue  The newValue to set it to
+     * @return true if the value was written
+     */
+    public static boolean setFieldValueIfChanged(FieldDescriptor descriptor, Object object, Object newValue) {
+        Object currentValue = object instanceof ObjectGroup
+                ? ((ObjectGroup) object).read(descriptor) : descriptor.getAccessor().get(object);
+        if (Objects.equals(currentValue, newValue)) {
+            return false;
+        }
+        setFieldValue(descriptor, object, newValue);
+        return true;
+    }
+
+    /**
+     * Writes the value of a {@link PrimitiveParser} into a field, trough the primitive functions of the accessor like
+     * {@link FieldAccessor#setInt(Object, int)}, unless the field already holds it. The value is only boxed if a
+     * listener has to receive it, or for fields of a wrapper type and {@link ObjectGroup}s.
+     *
+     * @param descriptor The descriptor of the field to set the value for.
+     * @param object The object to use
+     * @param parser The parser holding the value, created for the type of the field
+     * @return true if the value was written, false if the field already held it or the parser holds no valid value
+     */
+    public static boolean setPrimitiveValueIfChanged(FieldDescriptor descriptor, Object object, PrimitiveParser parser) {
+        if (!parser.isValid()) {
+            return false;
+        }
+        if (object instanceof ObjectGroup || !descriptor.getType().isPrimitive()) {
+            return setFieldValueIfChanged(descriptor, object, parser.getValue());
+        }
+        FieldAccessor accessor = descriptor.getAccessor();
+        if (parser.isHeldBy(accessor, object)) {
+            return false;
+        }
+        boolean observed = isObserved();
+        Object oldValue = observed ? accessor.get(object) : null;
+        parser.writeTo(accessor, object);
+
+        if (object instanceof ObjectChangeListener) {
+            ((ObjectChangeListener) object).onFieldValueChanged(descriptor.getField());
+        }
+        if (observed) {
+            notifyListeners(descriptor.getField(), oldValue, parser.getValue(), object);
+        }
+        return true;
+    }
+
+    /**
+     * @return true if a change written now would be passed to a listener or recorded by a transaction
+     */
+    private static boolean isObserved() {
+        if (!interfacesToInvoke.isEmpty() || TRANSACTION.get() != null) {
+            return true;
+        }
+        ListenerRegistry registry = ListenerRegistry.active();
+        return registry != null && !registry.isEmpty();
+    }
+
+    /**
+     * Sets the same newValue in the field of every object. For more than {@link #PARALLEL_WRITE_THRESHOLD}
+     * objects, the values are written in parallel on the common {@link ForkJoinPool}, but only if the field is
+     * accessed directly (see {@link Accessors#isDirect(FieldAccessor)}): the accessors of a generated binder may
+     * call setters, which are always called on the calling thread, one object after the other.
+     * <p>
+     * Afterwards, the objects that implement {@link ObjectChangeListener} are called one after the other on the
+     * calling thread, and every {@link ChangeListener} is called once with
+     * {@link ChangeListener#onObjectsValueChanged(Field, List, Object, List)} for all objects.
+     *
+     * @param descriptor The descriptor of the field to set the newValue for.
+     * @param objects The objects to set the newValue in, all of the class declaring the field
+     * @param newValue  The newValue to set it to
+     */
+    public static void setFieldValues(FieldDescriptor descriptor, List<?> objects, Object newValue) {
+        Object[] oldValues = new Object[objects.size()];
+        FieldAccessor accessor = descriptor.getAccessor();
+        WriteTask task = new WriteTask(accessor, objects, newValue, oldValues, 0, objects.size());
+        if (objects.size() > PARALLEL_WRITE_THRESHOLD && Accessors.isDirect(accessor)) {
+            ForkJoinPool.commonPool().invoke(task);
+        } else {
+            task.compute();
+        }
+
+        for (Object object : objects) {
+            if (object instanceof ObjectChangeListener) {
+                ((ObjectChangeListener) object).onFieldValueChanged(descriptor.getField());
             }
+        }
 
+        Transaction transaction = TRANSACTION.get();
+        if (transaction != null) {
+            for (int i = 0; i < oldValues.length; i++) {
+                transaction.record(descriptor.getField(), objects.get(i), oldValues[i], newValue);
+            }
+            return;
+        }
 
-            notifyListeners(field, oldValue, newValue, object);
+        List<Object> oldValueList = Collections.unmodifiableList(Arrays.asList(oldValues));
+        List<?> objectList = Collections.unmodifiableList(objects);
+        ChangeDispatcher dispatcher = changeDispatcher;
+        for (ChangeListener i : interfacesToInvoke) {
+            if (dispatcher == null) {
+                i.onObjectsValueChanged(descriptor.getField(), oldValueList, newValue, objectList);
+            } else {
+                dispatcher.deliver(i, objects.isEmpty() ? descriptor : objects.get(0),
+                        l -> l.onObjectsValueChanged(descriptor.getField(), oldValueList, newValue, objectList));
+            }
+        }
+        ListenerRegistry registry = ListenerRegistry.active();
+        if (registry != null) {
+            registry.fireObjectsValueChanged(descriptor.getField(), oldValueList, newValue, objectList);
+        }
+    }
+
+    private static void setFieldValue(Field field, FieldAccessor accessor, Object object, Object newValue) {
+        Object oldValue = accessor.get(object);
+        accessor.set(object, newValue);
 
-        } catch (ReflectiveOperationException e) {
-            throw new ReflectionHelperException(e);
+        if(object instanceof ObjectChangeListener){
+            ((ObjectChangeListener) object).onFieldValueChanged(field);
+        }
+
+
+        notifyListeners(field, oldValue, newValue, object);
+    }
+
+    private static FieldAccessor resolveAccessor(Field field) {
+        try {
+            return Accessors.forField(field);
+        } catch (IllegalArgumentException e) {
+            throw new ReflectionHelperException(e.getCause() != null ? e.getCause() : e);
         }
     }
 
@@ -150,7 +359,277 @@ public class ReflectionHelper {
      * @param field is the field that was changed
      */
     public static void notifyListeners(Field field, Object oldValue, Object newValue, Object object){
-        for(ChangeListener i : interfacesToInvoke){i.onObjectValueChanged(field, oldValue, newValue, object);}
+        Transaction transaction = TRANSACTION.get();
+        if (transaction != null) {
+            transaction.record(field, object, oldValue, newValue);
+            return;
+        }
+        ChangeDispatcher dispatcher = changeDispatcher;
+        for(ChangeListener i : interfacesToInvoke){
+            if (dispatcher == null) {
+                i.onObjectValueChanged(field, oldValue, newValue, object);
+            } else {
+                dispatcher.deliver(i, object, l -> l.onObjectValueChanged(field, oldValue, newValue, object));
+            }
+        }
+        ListenerRegistry registry = ListenerRegistry.active();
+        if (registry != null) {
+            registry.fireObjectValueChanged(field, oldValue, newValue, object);
+        }
+    }
+
+    /**
+     * Notifies the listeners that the content of a Collection or Map held by a field changed, while the field
+     * still holds the same object. The listeners receive the collection as both the old and the new value.
+     *
+     * @param field the field holding the collection
+     * @param content the collection that changed
+     * @param object the object the field belongs to
+     */
+    public static void notifyContentChanged(Field field, Object content, Object object) {
+        if (object instanceof ObjectChangeListener) {
+            ((ObjectChangeListener) object).onFieldValueChanged(field);
+        }
+        notifyListeners(field, content, content, object);
+    }
+
+    /**
+     * Notifies the listeners that the elements from fromIndex (inclusive) to toIndex (exclusive) of a primitive
+     * array held by a field changed. This is a single notification, no matter how many elements changed.
+     *
+     * @param field the field holding the array
+     * @param array the array that changed
+     * @param fromIndex the index of the first changed element
+     * @param toIndex the index after the last changed element
+     * @param object the object the field belongs to
+     */
+    public static void notifyRangeChanged(Field field, Object array, int fromIndex, int toIndex, Object object) {
+        if (object instanceof ObjectChangeListener) {
+            ((ObjectChangeListener) object).onFieldValueChanged(field);
+        }
+        Transaction transaction = TRANSACTION.get();
+        if (transaction != null) {
+            transaction.record(field, object, array, array);
+            return;
+        }
+        ChangeDispatcher dispatcher = changeDispatcher;
+        for (ChangeListener i : interfacesToInvoke) {
+            if (dispatcher == null) {
+                i.onArrayRangeChanged(field, array, fromIndex, toIndex, object);
+            } else {
+                dispatcher.deliver(i, object, l -> l.onArrayRangeChanged(field, array, fromIndex, toIndex, object));
+            }
+        }
+        ListenerRegistry registry = ListenerRegistry.active();
+        if (registry != null) {
+            registry.fireArrayRangeChanged(field, array, fromIndex, toIndex, object);
+        }
+    }
+
+    /**
+     * Starts a transaction on the current thread. Until it is committed, the listeners are not called for the
+     * values set trough this class; the changes are collected instead and reported together with a single
+     * {@link ChangeListener#onChangeSet(ChangeSet)} call. The values are still written right away, and the
+     * objects implementing {@link ObjectChangeListener} are still called for every change.
+     * <p>
+     * Starting a transaction while one is running joins the running transaction at a savepoint: only the outermost
+     * {@link #commitTransaction()} reports the changes, and {@link #rollbackTransaction()} only undoes the changes
+     * made since the innermost transaction began.
+     *
+     * <b>Example:</b>
+     *  <pre> <code>
+     * {
+     * ReflectionHelper.beginTransaction();
+     * try {
+     *     ReflectionHelper.setFieldValue(widthField, config, 800);
+     *     ReflectionHelper.setFieldValue(heightField, config, 600);
+     * } catch (RuntimeException e) {
+     *     ReflectionHelper.rollbackTransaction();
+     *     throw e;
+     * }
+     * ReflectionHelper.commitTransaction();
+     * }
+     *  </code> </pre>
+     */
+    public static void beginTransaction() {
+        Transaction transaction = TRANSACTION.get();
+        if (transaction == null) {
+            TRANSACTION.set(new Transaction());
+        } else {
+            transaction.savepoints.add(transaction.changes.size());
+        }
+    }
+
+    /**
+     * @return true if a transaction is running on the current thread
+     */
+    public static boolean isInTransaction() {
+        return TRANSACTION.get() != null;
+    }
+
+    /**
+     * Ends the transaction of the current thread and reports its changes with a single
+     * {@link ChangeListener#onChangeSet(ChangeSet)} call to the global listeners, and one to every
+     * {@link ListenerRegistry} of a grid that made some of the changes. Nothing is reported if nothing changed.
+     * If the transaction was joined, only the inner transaction ends and its changes become part of the outer one.
+     *
+     * @throws IllegalStateException if no transaction is running on the current thread
+     */
+    public static void commitTransaction() {
+        Transaction transaction = currentTransaction();
+        if (!transaction.savepoints.isEmpty()) {
+            transaction.savepoints.remove(transaction.savepoints.size() - 1);
+            return;
+        }
+        TRANSACTION.remove();
+        if (transaction.changes.isEmpty()) {
+            return;
+        }
+
+        ChangeSet changeSet = new ChangeSet(transaction.changes);
+        Object object = transaction.changes.get(0).getObject();
+        ChangeDispatcher dispatcher = changeDispatcher;
+        for (ChangeListener i : interfacesToInvoke) {
+            if (dispatcher == null) {
+                i.onChangeSet(changeSet);
+            } else {
+                dispatcher.deliver(i, object, l -> l.onChangeSet(changeSet));
+            }
+        }
+        for (Map.Entry<ListenerRegistry, List<ChangeSet.Change>> entry : transaction.registryChanges.entrySet()) {
+            entry.getKey().fireChangeSet(new ChangeSet(entry.getValue()));
+        }
+    }
+
+    /**
+     * Ends the innermost transaction of the current thread and writes the old values of the changes made since it
+     * began back into the fields, starting with the last change. The outer transactions keep running with their own
+     * changes. No listener is called, but the objects implementing {@link ObjectChangeListener} are told about
+     * the restored fields.
+     * <p>
+     * The content of Collections, Maps and arrays modified in place can not be restored.
+     *
+     * @throws IllegalStateException if no transaction is running on the current thread
+     */
+    public static void rollbackTransaction() {
+        Transaction transaction = currentTransaction();
+        int savepoint = 0;
+        if (transaction.savepoints.isEmpty()) {
+            TRANSACTION.remove();
+        } else {
+            savepoint = transaction.savepoints.remove(transaction.savepoints.size() - 1);
+        }
+        List<ChangeSet.Change> undone = transaction.changes.subList(savepoint, transaction.changes.size());
+        for (int i = undone.size() - 1; i >= 0; i--) {
+            ChangeSet.Change change = undone.get(i);
+            if (change.getOldValue() == change.getNewValue()) {
+                continue;
+            }
+            resolveAccessor(change.getField()).set(change.getObject(), change.getOldValue());
+            if (change.getObject() instanceof ObjectChangeListener) {
+                ((ObjectChangeListener) change.getObject()).onFieldValueChanged(change.getField());
+            }
+        }
+        transaction.forget(undone.size());
+    }
+
+    private static Transaction currentTransaction() {
+        Transaction transaction = TRANSACTION.get();
+        if (transaction == null) {
+            throw new IllegalStateException("No transaction is running on this thread");
+        }
+        return transaction;
+    }
+
+    /**
+     * The changes collected by a transaction, and the registries of the grids that made them.
+     */
+    private static final class Transaction {
+
+        private final List<ChangeSet.Change> changes = new ArrayList<>();
+        private final Map<ListenerRegistry, List<ChangeSet.Change>> registryChanges = new LinkedHashMap<>();
+        /**
+         * The amount of changes made when each joined transaction began, the innermost last.
+         */
+        private final List<Integer> savepoints = new ArrayList<>();
+
+        private void record(Field field, Object object, Object oldValue, Object newValue) {
+            ChangeSet.Change change = new ChangeSet.Change(field, object, oldValue, newValue);
+            changes.add(change);
+            ListenerRegistry registry = ListenerRegistry.active();
+            if (registry != null) {
+                registryChanges.computeIfAbsent(registry, key -> new ArrayList<>()).add(change);
+            }
+        }
+
+        /**
+         * Removes the last changes. They are also the last changes of the registries, since both are recorded
+         * in the same order.
+         */
+        private void forget(int count) {
+            List<ChangeSet.Change> removed = changes.subList(changes.size() - count, changes.size());
+            Iterator<List<ChangeSet.Change>> registries = registryChanges.values().iterator();
+            while (registries.hasNext()) {
+                List<ChangeSet.Change> registryList = registries.next();
+                while (!registryList.isEmpty() && !removed.isEmpty()
+                        && containsSame(removed, registryList.get(registryList.size() - 1))) {
+                    registryList.remove(registryList.size() - 1);
+                }
+                if (registryList.isEmpty()) {
+                    registries.remove();
+                }
+            }
+            removed.clear();
+        }
+
+        private static boolean containsSame(List<ChangeSet.Change> list, ChangeSet.Change change) {
+            for (int i = list.size() - 1; i >= 0; i--) {
+                if (list.get(i) == change) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Writes the same value into the field of a range of objects, splitting the range in halves until it is
+     * small enough.
+     */
+    private static final class WriteTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final FieldAccessor accessor;
+        private final List<?> objects;
+        private final Object newValue;
+        private final Object[] oldValues;
+        private final int from;
+        private final int to;
+
+        private WriteTask(FieldAccessor accessor, List<?> objects, Object newValue, Object[] oldValues, int from, int to) {
+            this.accessor = accessor;
+            this.objects = objects;
+            this.newValue = newValue;
+            this.oldValues = oldValues;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_WRITE_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    Object object = objects.get(i);
+                    oldValues[i] = accessor.get(object);
+                    accessor.set(object, newValue);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new WriteTask(accessor, objects, newValue, oldValues, from, middle),
+                    new WriteTask(accessor, objects, newValue, oldValues, middle, to));
+        }
     }
 
     public static class ReflectionHelperException extends RuntimeException {
@@ -26,11 +26,25 @@ package ch.hephaistos.utilities.loki.util.statics;
 
 import ch.hephaistos.utilities.loki.util.annotations.TransferGrid;
 import ch.hephaistos.utilities.loki.util.NumberSpinnerValueFactory;
-import javafx.collections.FXCollections;
+import ch.hephaistos.utilities.loki.util.binding.ArrayBinding;
+import ch.hephaistos.utilities.loki.util.binding.ArrayEditor;
+import ch.hephaistos.utilities.loki.util.binding.CollectionBinding;
+import ch.hephaistos.utilities.loki.util.binding.CollectionEditor;
+import ch.hephaistos.utilities.loki.util.binding.ComboBoxBinding;
+import ch.hephaistos.utilities.loki.util.binding.ControlPool;
+import ch.hephaistos.utilities.loki.util.binding.EnumComboBoxBinding;
+import ch.hephaistos.utilities.loki.util.binding.FieldBinding;
+import ch.hephaistos.utilities.loki.util.binding.LabelBinding;
+import ch.hephaistos.utilities.loki.util.binding.SpinnerBinding;
+import ch.hephaistos.utilities.loki.util.binding.TextInputBinding;
+import ch.hephaistos.utilities.loki.util.binding.ValueSnapshot;
+import ch.hephaistos.utilities.loki.util.schema.EditorKind;
+import ch.hephaistos.utilities.loki.util.schema.FieldDescriptor;
 import javafx.scene.control.*;
 
 import java.lang.reflect.Field;
 import java.math.BigDecimal;
+import java.util.function.Supplier;
 
 /**
  * This "Collection" contains different functions to create Nodes that are connected to a
@@ -42,55 +56,149 @@ import java.math.BigDecimal;
  */
 public class ReflectionNodeCollection {
 
+    /**
+     * Creates the control for the given field, according to its {@link EditorKind}, and binds it to the field.
+     * The returned {@link FieldBinding} can later be used to show new values of the field in the control.
+     *
+     * @param descriptor the descriptor of the field
+     * @param handle the object in which the field is connected
+     * @param masterObject the masterObject of the field
+     * @return the binding between the field and its new control
+     */
+    public static FieldBinding<?, ?> createBinding(FieldDescriptor descriptor, Object handle, Object masterObject) {
+        return createBinding(descriptor, handle, masterObject, null);
+    }
+
+    /**
+     * Same as {@link #createBinding(FieldDescriptor, Object, Object)}, but takes the control from the given
+     * {@link ControlPool} if it holds one of the needed kind.
+     *
+     * @param descriptor the descriptor of the field
+     * @param handle the object in which the field is connected
+     * @param masterObject the masterObject of the field
+     * @param pool the pool to take the control from, or null to always create a new control
+     * @return the binding between the field and its control
+     */
+    public static FieldBinding<?, ?> createBinding(FieldDescriptor descriptor, Object handle, Object masterObject,
+                                                   ControlPool pool) {
+        return createBinding(descriptor, handle, masterObject, pool, null);
+    }
+
+    /**
+     * Same as {@link #createBinding(FieldDescriptor, Object, Object, ControlPool)}, but TextFields and TextAreas
+     * show the text from the given {@link ValueSnapshot} instead of converting the value again.
+     *
+     * @param descriptor the descriptor of the field
+     * @param handle the object in which the field is connected
+     * @param masterObject the masterObject of the field
+     * @param pool the pool to take the control from, or null to always create a new control
+     * @param snapshot the snapshot holding the text of the field, or null to convert the value
+     * @return the binding between the field and its control
+     */
+    public static FieldBinding<?, ?> createBinding(FieldDescriptor descriptor, Object handle, Object masterObject,
+                                                   ControlPool pool, ValueSnapshot snapshot) {
+        EditorKind kind = descriptor.getEditorKind();
+        switch (kind) {
+            case COMBO_BOX:
+                return bindComboBox(descriptor.getOptions(), descriptor, handle, masterObject, pool);
+            case ENUM_COMBO_BOX:
+                return bindEnumComboBox((Class) descriptor.getType(), descriptor, handle, masterObject, pool);
+            case SPINNER:
+                return new SpinnerBinding(descriptor, obtain(pool, kind, Spinner<BigDecimal>::new), handle, masterObject);
+            case TEXT_FIELD:
+                return bindTextInput(obtain(pool, kind, TextField::new), descriptor, handle, masterObject, snapshot);
+            case TEXT_AREA:
+                return bindTextInput(obtain(pool, kind, TextArea::new), descriptor, handle, masterObject, snapshot);
+            case COLLECTION:
+            case MAP:
+                return new CollectionBinding(descriptor, obtain(pool, kind, CollectionEditor::new), handle, masterObject);
+            case PRIMITIVE_ARRAY:
+                return new ArrayBinding(descriptor, obtain(pool, kind, ArrayEditor::new), handle, masterObject);
+            default:
+                throw new IllegalArgumentException("No editor for editor kind: " + kind);
+        }
+    }
+
+    /**
+     * Binds the field to a plain {@link Label} showing its value as text, instead of an editor.
+     *
+     * @param descriptor the descriptor of the field
+     * @param handle the object in which the field is connected
+     * @param masterObject the masterObject of the field
+     * @param snapshot the snapshot holding the text of the field, or null to convert the value
+     * @return the binding between the field and the label
+     */
+    public static LabelBinding createLabelBinding(FieldDescriptor descriptor, Object handle, Object masterObject,
+                                                  ValueSnapshot snapshot) {
+        if (snapshot == null) {
+            return new LabelBinding(descriptor, new Label(), handle, masterObject);
+        }
+        return new LabelBinding(descriptor, new Label(), handle, masterObject, snapshot.getText(descriptor, handle));
+    }
+
+    private static <C extends TextInputControl> TextInputBinding<C> bindTextInput(C control, FieldDescriptor descriptor,
+                                                                                Object handle, Object masterObject,
+                                                                                ValueSnapshot snapshot) {
+        if (snapshot == null) {
+            return new TextInputBinding<>(descriptor, control, handle, masterObject);
+        }
+        return new TextInputBinding<>(descriptor, control, handle, masterObject, snapshot.getText(descriptor, handle));
+    }
+
+    private static <C extends Control> C obtain(ControlPool pool, EditorKind kind, Supplier<C> factory) {
+        return pool == null ? factory.get() : pool.acquire(kind, factory);
+    }
+
     public static ComboBox<String> createComboBox(TransferGrid annotation, Field field,
                                                   Object handle, Object masterObject) {
+        return bindComboBox(annotation.options(), FieldDescriptor.of(field), handle, masterObject, null).getControl();
+    }
 
-        ComboBox<String> comboBox = new ComboBox<>(
-                FXCollections.observableArrayList(annotation.options())
-        );
-
-        comboBox.getSelectionModel().select(
-                objectToString(ReflectionHelper.getFieldValue(field, handle))
-        );
-        comboBox.getSelectionModel().selectedItemProperty()
-                .addListener((obs, ov, newValue)
-                        -> ListenerCollection.getStringListener(field, handle, masterObject).accept(newValue));
+    public static ComboBox<String> createComboBox(FieldDescriptor descriptor, Object handle, Object masterObject) {
+        return bindComboBox(descriptor.getOptions(), descriptor, handle, masterObject, null).getControl();
+    }
 
-        return comboBox;
+    private static ComboBoxBinding bindComboBox(String[] options, FieldDescriptor descriptor,
+                                                Object handle, Object masterObject, ControlPool pool) {
+        ComboBox<String> comboBox = obtain(pool, EditorKind.COMBO_BOX, ComboBox<String>::new);
+        comboBox.setItems(ControlPool.getOptionItems(options));
+        return new ComboBoxBinding(descriptor, comboBox, handle, masterObject);
     }
 
     public static <T extends Enum<T>> ComboBox<T> createEnumComboBox(Class<T> clazz, Field field,
                                                                       Object handle, Object masterObject) {
+        return bindEnumComboBox(clazz, FieldDescriptor.of(field), handle, masterObject, null).getControl();
+    }
 
-        ComboBox<T> comboBox = new ComboBox<>(FXCollections.observableArrayList(clazz.getEnumConstants()));
-        comboBox.getSelectionModel().select(
-                (ReflectionHelper.getFieldValue(field, handle))
-        );
-        comboBox.getSelectionModel().selectedItemProperty()
-                .addListener((obs, ov, newValue)
-                        -> ListenerCollection.getEnumListener(field, handle, masterObject).accept(newValue));
+    @SuppressWarnings("unchecked")
+    public static ComboBox<? extends Enum> createEnumComboBox(FieldDescriptor descriptor, Object handle,
+                                                              Object masterObject) {
+        return (ComboBox<? extends Enum>) bindEnumComboBox((Class) descriptor.getType(), descriptor, handle, masterObject,
+                null).getControl();
+    }
 
-        return comboBox;
+    private static <T extends Enum<T>> EnumComboBoxBinding<T> bindEnumComboBox(Class<T> clazz, FieldDescriptor descriptor,
+                                                                               Object handle, Object masterObject,
+                                                                               ControlPool pool) {
+        ComboBox<T> comboBox = obtain(pool, EditorKind.ENUM_COMBO_BOX, ComboBox<T>::new);
+        comboBox.setItems(ControlPool.getEnumItems(clazz));
+        return new EnumComboBoxBinding<>(descriptor, comboBox, handle, masterObject);
     }
 
     public static TextField createTextField(Field field, Object handle, Object masterObject) {
-        TextField textField = new TextField(
-                objectToString(ReflectionHelper.getFieldValue(field, handle))
-        );
-
-        textField.textProperty().addListener((obs, ov, newValue)
-                -> ListenerCollection.getStringListener(field, handle, masterObject).accept(newValue));
+        return createTextField(FieldDescriptor.of(field), handle, masterObject);
+    }
 
-        return textField;
+    public static TextField createTextField(FieldDescriptor descriptor, Object handle, Object masterObject) {
+        return new TextInputBinding<>(descriptor, new TextField(), handle, masterObject).getControl();
     }
 
     public static TextArea createTextArea(Field field, Object handle, Object masterObject) {
-        TextArea textArea = new TextArea(objectToString(ReflectionHelper.getFieldValue(field, handle)));
-
-        textArea.textProperty().addListener((obs, ov, newValue)
-                -> ListenerCollection.getStringListener(field, handle, masterObject).accept(newValue));
+        return createTextArea(FieldDescriptor.of(field), handle, masterObject);
+    }
 
-        return textArea;
+    public static TextArea createTextArea(FieldDescriptor descriptor, Object handle, Object masterObject) {
+        return new TextInputBinding<>(descriptor, new TextArea(), handle, masterObject).getControl();
     }
 
     /**
@@ -102,22 +210,19 @@ public class ReflectionNodeCollection {
      * @return a Spinner with the {@link NumberSpinnerValueFactory} built in aswell as all needed Listeners.
      */
     public static Spinner createSpinner(Field field, Object handle, Object masterObject) {
-
-        Spinner<BigDecimal> spinner = new Spinner<BigDecimal>();
-        SpinnerValueFactory<BigDecimal> valueFactory
-                = new NumberSpinnerValueFactory(Integer.MIN_VALUE, Integer.MAX_VALUE,
-                BigDecimal.valueOf(
-                        ReflectionHelper.<Number>getFieldValue(field, handle).doubleValue()), field.getType());
-
-        spinner.setValueFactory(valueFactory);
-        spinner.valueProperty().addListener((obs, ov, newValue)
-                -> ListenerCollection.getObjectListener(field, handle, masterObject).accept(newValue));
-        return spinner;
-
+        return createSpinner(FieldDescriptor.of(field), handle, masterObject);
     }
 
-    private static String objectToString(Object object) {
-        return object == null ? "" : object.toString();
+    /**
+     * Same as {@link #createSpinner(Field, Object, Object)}, but uses the converter that was already
+     * resolved in the {@link FieldDescriptor}.
+     * @param descriptor the descriptor of the field that gets connected to the spinner
+     * @param handle the object in which the field is connected
+     * @param masterObject the masterObject of the field
+     * @return a Spinner with the {@link NumberSpinnerValueFactory} built in aswell as all needed Listeners.
+     */
+    public static Spinner createSpinner(FieldDescriptor descriptor, Object handle, Object masterObject) {
+        return new SpinnerBinding(descriptor, new Spinner<>(), handle, masterObject).getControl();
     }
 
 }
@@ -63,6 +63,15 @@ public class TypeHelper {
         return Enum.class.isAssignableFrom(type);
     }
 
+    /**
+     * Checks to see if the given Class is an array of a primitive type, like int[] or double[]
+     * @param type the class you want to check
+     * @return true if the class is an array with primitive elements
+     */
+    public static boolean isPrimitiveArray(Class<?> type) {
+        return type.isArray() && type.getComponentType().isPrimitive();
+    }
+
     /**
      * Checks to see if the given Class is part of java.lang
      * @param type the class you want to check
@@ -0,0 +1,528 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2019 Ricardo Daniel Monteiro Simoes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package ch.hephaistos.utilities.loki.util.typeconversion;
+
+import ch.hephaistos.utilities.loki.util.access.FieldAccessor;
+
+/**
+ * Parses text into a primitive value without creating a String, a wrapper object or an exception.
+ * <p>
+ * The text is read directly from the CharSequence of a control. The result is kept in the parser and read with the
+ * getter of its type, like {@link #getInt()}, and whether the text was valid is reported as a
+ * {@link ValidationState}. A parser is meant to be reused for every change of one control, it is not thread safe.
+ * <p>
+ * Integral types accept an optional sign followed by decimal digits. Floating point types additionally accept a
+ * fraction, an exponent, "NaN" and "Infinity", like {@link Double#parseDouble(String)} without the hexadecimal form
+ * and the type suffixes. Booleans accept "true" and "false" in any case, chars exactly one character.
+ * Whitespace around numbers and booleans is ignored. For wrapper types, empty text is the valid value null.
+ *
+ * @author Ricardo Daniel Monteiro Simoes
+ */
+public final class PrimitiveParser {
+
+    /**
+     * The powers of ten that are exact in a double. A mantissa below 2^53 multiplied or divided by one of them is
+     * rounded correctly, so no further digits have to be looked at.
+     */
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    private static final long MAX_EXACT_DOUBLE = 1L << 53;
+    private static final long MAX_EXACT_FLOAT = 1L << 24;
+    private static final int MAX_EXACT_FLOAT_POWER = 10;
+    private static final int MAX_MANTISSA_DIGITS = 18;
+    private static final int MAX_EXPONENT = 100000;
+
+    private final Class<?> type;
+    private final boolean nullable;
+
+    private ValidationState state = ValidationState.INCOMPLETE;
+    private boolean isNull;
+    private long integral;
+    private double floating;
+    private boolean bool;
+    private char character;
+
+    /**
+     * @param type a primitive type or its wrapper class
+     * @throws IllegalArgumentException if the type is neither
+     */
+    public PrimitiveParser(Class<?> type) {
+        this.type = toPrimitive(type);
+        if (this.type == null) {
+            throw new IllegalArgumentException(type.getName() + " is not a primitive type or a wrapper class!");
+        }
+        this.nullable = !type.isPrimitive();
+    }
+
+    /**
+     * @param type the type of a field
+     * @return true if a parser can be created for the type
+     */
+    public static boolean supports(Class<?> type) {
+        return toPrimitive(type) != null;
+    }
+
+    private static Class<?> toPrimitive(Class<?> type) {
+        if (type.isPrimitive()) {
+            return type == void.class ? null : type;
+        } else if (type == Integer.class) {
+            return int.class;
+        } else if (type == Long.class) {
+            return long.class;
+        } else if (type == Double.class) {
+            return double.class;
+        } else if (type == Float.class) {
+            return float.class;
+        } else if (type == Short.class) {
+            return short.class;
+        } else if (type == Byte.class) {
+            return byte.class;
+        } else if (type == Boolean.class) {
+            return boolean.class;
+        } else if (type == Character.class) {
+            return char.class;
+        }
+        return null;
+    }
+
+    /**
+     * Parses the text. If the text is valid, its value replaces the value held by the parser.
+     *
+     * @param text the text of a control
+     * @return the state of the text, also returned by {@link #getState()} afterwards
+     */
+    public ValidationState parse(CharSequence text) {
+        state = text == null ? ValidationState.INCOMPLETE : parseText(text);
+        return state;
+    }
+
+    /**
+     * Takes the value from a number instead of text, for controls that hold a number already, like a Spinner.
+     * Fractions are {@link ValidationState#INVALID} for integral types.
+     *
+     * @param number the value of a control
+     * @return the state of the number, also returned by {@link #getState()} afterwards
+     */
+    public ValidationState load(Number number) {
+        state = number == null ? ValidationState.INCOMPLETE : loadNumber(number);
+        return state;
+    }
+
+    private ValidationState parseText(CharSequence text) {
+        int start = 0;
+        int end = text.length();
+        if (type != char.class) {
+            while (start < end && text.charAt(start) <= ' ') {
+                start++;
+            }
+            while (end > start && text.charAt(end - 1) <= ' ') {
+                end--;
+            }
+        }
+        if (start == end && nullable) {
+            isNull = true;
+            return ValidationState.VALID;
+        }
+        if (type == int.class) {
+            return parseIntegral(text, start, end, Integer.MIN_VALUE, Integer.MAX_VALUE);
+        } else if (type == long.class) {
+            return parseIntegral(text, start, end, Long.MIN_VALUE, Long.MAX_VALUE);
+        } else if (type == double.class) {
+            return parseFloating(text, start, end, false);
+        } else if (type == float.class) {
+            return parseFloating(text, start, end, true);
+        } else if (type == short.class) {
+            return parseIntegral(text, start, end, Short.MIN_VALUE, Short.MAX_VALUE);
+        } else if (type == byte.class) {
+            return parseIntegral(text, start, end, Byte.MIN_VALUE, Byte.MAX_VALUE);
+        } else if (type == boolean.class) {
+            return parseBoolean(text, start, end);
+        }
+        return parseChar(text, start, end);
+    }
+
+    private ValidationState parseIntegral(CharSequence text, int start, int end, long min, long max) {
+        if (start == end) {
+            return ValidationState.INCOMPLETE;
+        }
+        int i = start;
+        boolean negative = false;
+        char first = text.charAt(i);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            if (++i == end) {
+                return ValidationState.INCOMPLETE;
+            }
+        }
+        // accumulated negatively, like Long.parseLong, so Long.MIN_VALUE fits
+        long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long multiplyLimit = limit / 10;
+        long result = 0;
+        boolean overflow = false;
+        for (; i < end; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return ValidationState.INVALID;
+            }
+            if (overflow || result < multiplyLimit || result * 10 < limit + digit) {
+                overflow = true;
+                continue;
+            }
+            result = result * 10 - digit;
+        }
+        long value = negative ? result : -result;
+        if (overflow || value < min || value > max) {
+            return ValidationState.OUT_OF_RANGE;
+        }
+        isNull = false;
+        integral = value;
+        return ValidationState.VALID;
+    }
+
+    private ValidationState parseFloating(CharSequence text, int start, int end, boolean single) {
+        if (start == end) {
+            return ValidationState.INCOMPLETE;
+        }
+        int i = start;
+        boolean negative = false;
+        char c = text.charAt(i);
+        if (c == '-' || c == '+') {
+            negative = c == '-';
+            if (++i == end) {
+                return ValidationState.INCOMPLETE;
+            }
+            c = text.charAt(i);
+        }
+        if (c == 'N' || c == 'I') {
+            ValidationState word = matchWord(text, i, end, c == 'N' ? "NaN" : "Infinity", false);
+            if (word == ValidationState.VALID) {
+                isNull = false;
+                floating = c == 'N' ? Double.NaN
+                        : negative ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+            }
+            return word;
+        }
+
+        long mantissa = 0;
+        int mantissaDigits = 0;
+        int exponent = 0;
+        boolean exact = true;
+        boolean anyDigit = false;
+        for (; i < end && isDigit(c = text.charAt(i)); i++) {
+            anyDigit = true;
+            int digit = c - '0';
+            if (mantissaDigits < MAX_MANTISSA_DIGITS) {
+                if (mantissa != 0 || digit != 0) {
+                    mantissa = mantissa * 10 + digit;
+                    mantissaDigits++;
+                }
+            } else {
+                exponent++;
+                exact &= digit == 0;
+            }
+        }
+        if (i < end && text.charAt(i) == '.') {
+            for (i++; i < end && isDigit(c = text.charAt(i)); i++) {
+                anyDigit = true;
+                int digit = c - '0';
+                if (mantissaDigits < MAX_MANTISSA_DIGITS) {
+                    if (mantissa != 0 || digit != 0) {
+                        mantissa = mantissa * 10 + digit;
+                        mantissaDigits++;
+                    }
+                    exponent--;
+                } else {
+                    exact &= digit == 0;
+                }
+            }
+        }
+        if (!anyDigit) {
+            return i == end ? ValidationState.INCOMPLETE : ValidationState.INVALID;
+        }
+        if (i < end && ((c = text.charAt(i)) == 'e' || c == 'E')) {
+            if (++i == end) {
+                return ValidationState.INCOMPLETE;
+            }
+            boolean negativeExponent = false;
+            c = text.charAt(i);
+            if (c == '-' || c == '+') {
+                negativeExponent = c == '-';
+                if (++i == end) {
+                    return ValidationState.INCOMPLETE;
+                }
+            }
+            int written = 0;
+            for (; i < end; i++) {
+                int digit = text.charAt(i) - '0';
+                if (digit < 0 || digit > 9) {
+                    return ValidationState.INVALID;
+                }
+                if (written < MAX_EXPONENT) {
+                    written = written * 10 + digit;
+                }
+            }
+            exponent += negativeExponent ? -written : written;
+        }
+        if (i != end) {
+            return ValidationState.INVALID;
+        }
+
+        double value;
+        if (mantissa == 0) {
+            value = 0;
+        } else if (exact && single && mantissa <= MAX_EXACT_FLOAT && Math.abs(exponent) <= MAX_EXACT_FLOAT_POWER) {
+            float power = (float) POWERS_OF_TEN[Math.abs(exponent)];
+            value = exponent < 0 ? (float) mantissa / power : (float) mantissa * power;
+        } else if (exact && !single && mantissa <= MAX_EXACT_DOUBLE && Math.abs(exponent) < POWERS_OF_TEN.length) {
+            double power = POWERS_OF_TEN[Math.abs(exponent)];
+            value = exponent < 0 ? mantissa / power : mantissa * power;
+        } else {
+            // The syntax was checked above, so this can not throw. Only taken for long or very large numbers.
+            String number = text.subSequence(start, end).toString();
+            value = single ? Float.parseFloat(number) : Double.parseDouble(number);
+            if (Double.isInfinite(value)) {
+                return ValidationState.OUT_OF_RANGE;
+            }
+            negative = false;
+        }
+        isNull = false;
+        floating = negative ? -value : value;
+        return ValidationState.VALID;
+    }
+
+    private ValidationState parseBoolean(CharSequence text, int start, int end) {
+        ValidationState isTrue = matchWord(text, start, end, "true", true);
+        ValidationState isFalse = matchWord(text, start, end, "false", true);
+        if (isTrue == ValidationState.VALID || isFalse == ValidationState.VALID) {
+            isNull = false;
+            bool = isTrue == ValidationState.VALID;
+            return ValidationState.VALID;
+        }
+        return isTrue == ValidationState.INCOMPLETE || isFalse == ValidationState.INCOMPLETE
+                ? ValidationState.INCOMPLETE : ValidationState.INVALID;
+    }
+
+    private ValidationState parseChar(CharSequence text, int start, int end) {
+        if (end - start != 1) {
+            return start == end ? ValidationState.INCOMPLETE : ValidationState.INVALID;
+        }
+        isNull = false;
+        character = text.charAt(start);
+        return ValidationState.VALID;
+    }
+
+    private ValidationState loadNumber(Number number) {
+        if (type == boolean.class || type == char.class) {
+            return ValidationState.INVALID;
+        }
+        double value = number.doubleValue();
+        if (type == double.class || type == float.class) {
+            if (type == float.class && Float.isInfinite((float) value) && !Double.isInfinite(value)) {
+                return ValidationState.OUT_OF_RANGE;
+            }
+            isNull = false;
+            floating = type == float.class ? (float) value : value;
+            return ValidationState.VALID;
+        }
+        if (Double.isNaN(value) || (!Double.isInfinite(value) && value != Math.rint(value))) {
+            return ValidationState.INVALID;
+        }
+        long min = type == int.class ? Integer.MIN_VALUE : type == short.class ? Short.MIN_VALUE
+                : type == byte.class ? Byte.MIN_VALUE : Long.MIN_VALUE;
+        long max = type == int.class ? Integer.MAX_VALUE : type == short.class ? Short.MAX_VALUE
+                : type == byte.class ? Byte.MAX_VALUE : Long.MAX_VALUE;
+        if (value < min || value > max) {
+            return ValidationState.OUT_OF_RANGE;
+        }
+        isNull = false;
+        integral = number.longValue();
+        return ValidationState.VALID;
+    }
+
+    /**
+     * @return VALID if the text is the word, INCOMPLETE if it is the beginning of the word, INVALID otherwise
+     */
+    private static ValidationState matchWord(CharSequence text, int start, int end, String word, boolean ignoreCase) {
+        int length = end - start;
+        if (length > word.length()) {
+            return ValidationState.INVALID;
+        }
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(start + i);
+            if (c != word.charAt(i) && !(ignoreCase && Character.toLowerCase(c) == word.charAt(i))) {
+                return ValidationState.INVALID;
+            }
+        }
+        return length == word.length() ? ValidationState.VALID : ValidationState.INCOMPLETE;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * Writes the value held by the parser into a field of its primitive type, like
+     * {@link FieldAccessor#setInt(Object, int)} does.
+     *
+     * @param accessor the accessor of the field
+     * @param target the object the field belongs to
+     */
+    public void writeTo(FieldAccessor accessor, Object target) {
+        if (type == int.class) {
+            accessor.setInt(target, (int) integral);
+        } else if (type == long.class) {
+            accessor.setLong(target, integral);
+        } else if (type == double.class) {
+            accessor.setDouble(target, floating);
+        } else if (type == float.class) {
+            accessor.setFloat(target, (float) floating);
+        } else if (type == short.class) {
+            accessor.setShort(target, (short) integral);
+        } else if (type == byte.class) {
+            accessor.setByte(target, (byte) integral);
+        } else if (type == boolean.class) {
+            accessor.setBoolean(target, bool);
+        } else {
+            accessor.setChar(target, character);
+        }
+    }
+
+    /**
+     * Compares the value held by the parser with a field of its primitive type. Floating point values are
+     * compared like {@link Double#equals(Object)} does, so NaN equals NaN and 0.0 does not equal -0.0.
+     *
+     * @param accessor the accessor of the field
+     * @param target the object the field belongs to
+     * @return true if the field holds the value of the parser
+     */
+    public boolean isHeldBy(FieldAccessor accessor, Object target) {
+        if (type == int.class) {
+            return accessor.getInt(target) == (int) integral;
+        } else if (type == long.class) {
+            return accessor.getLong(target) == integral;
+        } else if (type == double.class) {
+            return Double.doubleToLongBits(accessor.getDouble(target)) == Double.doubleToLongBits(floating);
+        } else if (type == float.class) {
+            return Float.floatToIntBits(accessor.getFloat(target)) == Float.floatToIntBits((float) floating);
+        } else if (type == short.class) {
+            return accessor.getShort(target) == (short) integral;
+        } else if (type == byte.class) {
+            return accessor.getByte(target) == (byte) integral;
+        } else if (type == boolean.class) {
+            return accessor.getBoolean(target) == bool;
+        }
+        return accessor.getChar(target) == character;
+    }
+
+    /**
+     * @return the value held by the parser as a wrapper object, or null if the text of a wrapper type was empty.
+     * This is the only function that boxes the value.
+     */
+    public Object getValue() {
+        if (isNull) {
+            return null;
+        } else if (type == int.class) {
+            return (int) integral;
+        } else if (type == long.class) {
+            return integral;
+        } else if (type == double.class) {
+            return floating;
+        } else if (type == float.class) {
+            return (float) floating;
+        } else if (type == short.class) {
+            return (short) integral;
+        } else if (type == byte.class) {
+            return (byte) integral;
+        } else if (type == boolean.class) {
+            return bool;
+        }
+        return character;
+    }
+
+    /**
+     * @return the primitive type the text is parsed into
+     */
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * @return the state of the text that was parsed last
+     */
+    public ValidationState getState() {
+        return state;
+    }
+
+    /**
+     * @return true if the text that was parsed last is a valid value
+     */
+    public boolean isValid() {
+        return state == ValidationState.VALID;
+    }
+
+    /**
+     * @return true if the value is null, which is only the case for empty text and a wrapper type
+     */
+    public boolean isNull() {
+        return isNull;
+    }
+
+    public int getInt() {
+        return (int) integral;
+    }
+
+    public long getLong() {
+        return integral;
+    }
+
+    /**
+     * @return the value of a floating point type, or the value of an integral type as a double
+     */
+    public double getDouble() {
+        return type == double.class || type == float.class ? floating : integral;
+    }
+
+    public float getFloat() {
+        return (float) getDouble();
+    }
+
+    public short getShort() {
+        return (short) integral;
+    }
+
+    public byte getByte() {
+        return (byte) integral;
+    }
+
+    public boolean getBoolean() {
+        return bool;
+    }
+
+    public char getChar() {
+        return character;
+    }
+}
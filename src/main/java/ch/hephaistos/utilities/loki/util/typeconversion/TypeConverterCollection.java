@@ -28,12 +28,14 @@ import javafx.util.StringConverter;
 import javafx.util.converter.*;
 
 import java.math.BigDecimal;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 /**
  * Contains all Type converters that will be used.
  * Handles the conversion from String to Objects
+ * The converters can be looked up and added from any thread, since grids read their objects in the background.
  * @author I-Al-Istannen, : https://github.com/I-Al-Istannen
  */
 public class TypeConverterCollection {
@@ -41,7 +43,7 @@ public class TypeConverterCollection {
     private Map<Class<?>, StringConverter<?>> converterMap;
 
     public TypeConverterCollection() {
-        converterMap = new HashMap<>();
+        converterMap = new ConcurrentHashMap<>();
 
         converterMap.put(Byte.class, new ByteStringConverter());
         converterMap.put(Byte.TYPE, new ByteStringConverter());
@@ -62,17 +64,39 @@ public class TypeConverterCollection {
     }
 
     /**
-     * Adds a Converter to the HashMap. This will then be used to convert Types.
+     * Adds a Converter to the map. This will then be used to convert Types.
      * @param clazz The Class of the Type you want to add
      * @param converter The corresponding Converter for said Class
      * @param <T> The Type of the class
      */
     public <T> void addConverter(Class<T> clazz, StringConverter<T> converter) {
         //Addition by RDMS to check if a converter for said class is already in the map
-        if(converterMap.containsKey(clazz)){
-            return;
-        }
-        converterMap.put(clazz, converter);
+        converterMap.putIfAbsent(clazz, converter);
+    }
+
+    /**
+     * Returns the converter registered for the given class, creating and adding it first if there is none.
+     * @param clazz The Class of the Type you want to convert
+     * @param factory Creates the converter for said Class
+     * @param <T> The Type of the class
+     * @return the converter registered for said Class
+     */
+    @SuppressWarnings("unchecked")
+    public <T> StringConverter<T> computeConverterIfAbsent(Class<T> clazz,
+                                                           Function<Class<T>, StringConverter<T>> factory) {
+        return (StringConverter<T>) converterMap.computeIfAbsent(clazz, key -> factory.apply(clazz));
+    }
+
+    /**
+     * Returns the converter registered for the given class.
+     * @param clazz The Class of the Type you want to convert
+     * @param <T> The Type of the class
+     * @return the converter, or null if none is registered for said Class
+     */
+    public <T> StringConverter<T> getConverter(Class<T> clazz) {
+        @SuppressWarnings("unchecked")
+        StringConverter<T> stringConverter = (StringConverter<T>) converterMap.get(clazz);
+        return stringConverter;
     }
 
     public <T> String toString(Class<T> clazz, T object) {
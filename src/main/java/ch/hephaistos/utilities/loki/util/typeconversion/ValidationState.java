@@ -0,0 +1,63 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2019 Ricardo Daniel Monteiro Simoes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package ch.hephaistos.utilities.loki.util.typeconversion;
+
+/**
+ * The result of checking the text of a control before it is written into a field.
+ * The states are reported instead of throwing an exception, so text that is checked on every keystroke
+ * does not cost an exception for every character typed.
+ *
+ * @author Ricardo Daniel Monteiro Simoes
+ */
+public enum ValidationState {
+
+    /**
+     * The text is a valid value and can be written.
+     */
+    VALID,
+
+    /**
+     * The text is the beginning of a valid value, like "-" or "1e", but is not a value yet.
+     */
+    INCOMPLETE,
+
+    /**
+     * The text can not become a valid value by typing more.
+     */
+    INVALID,
+
+    /**
+     * The text is a number, but it does not fit into the type of the field.
+     */
+    OUT_OF_RANGE;
+
+    /**
+     * @return true if the text should be marked as wrong, which is the case for {@link #INVALID} and
+     * {@link #OUT_OF_RANGE}. Incomplete text is still being typed and is not marked.
+     */
+    public boolean isError() {
+        return this == INVALID || this == OUT_OF_RANGE;
+    }
+}
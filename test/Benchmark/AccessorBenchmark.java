@@ -0,0 +1,130 @@
+package Benchmark;
+
+import ch.hephaistos.utilities.loki.util.access.Accessors;
+import ch.hephaistos.utilities.loki.util.access.FieldAccessor;
+import ch.hephaistos.utilities.loki.util.access.PathAccessor;
+import ch.hephaistos.utilities.loki.util.annotations.TransferGrid;
+
+import java.lang.reflect.Field;
+
+/**
+ * A small benchmark comparing the old way of accessing fields (setAccessible + Field.get/set on every call)
+ * with the cached {@link FieldAccessor}s, and a compiled {@link PathAccessor} with plain Java code and with the two
+ * field accessors of its path called one after the other.
+ *
+ * Run it a couple of times, the numbers are only meant to show the difference between the two paths.
+ */
+public class AccessorBenchmark {
+
+    private static final int ITERATIONS = 20_000_000;
+    private static final int ROUNDS = 5;
+
+    @TransferGrid
+    private int counter;
+
+    @TransferGrid
+    private String text = "text";
+
+    @TransferGrid
+    private Inner inner = new Inner();
+
+    private static class Inner {
+        @TransferGrid
+        private int counter;
+    }
+
+    public static void main(String[] args) throws Exception {
+        AccessorBenchmark target = new AccessorBenchmark();
+        Field counterField = AccessorBenchmark.class.getDeclaredField("counter");
+        Field textField = AccessorBenchmark.class.getDeclaredField("text");
+        FieldAccessor counterAccessor = Accessors.forField(counterField);
+        FieldAccessor textAccessor = Accessors.forField(textField);
+        FieldAccessor innerAccessor = Accessors.forField(AccessorBenchmark.class.getDeclaredField("inner"));
+        FieldAccessor innerCounterAccessor = Accessors.forField(Inner.class.getDeclaredField("counter"));
+        PathAccessor pathAccessor = Accessors.forPath(AccessorBenchmark.class, "inner.counter");
+
+        for (int round = 1; round <= ROUNDS; round++) {
+            System.out.println("Round " + round);
+            report("Field.get/set (int)", measure(() -> {
+                long sum = 0;
+                for (int i = 0; i < ITERATIONS; i++) {
+                    counterField.setAccessible(true);
+                    counterField.set(target, i);
+                    counterField.setAccessible(true);
+                    sum += (Integer) counterField.get(target);
+                }
+                return sum;
+            }));
+            report("FieldAccessor (int)", measure(() -> {
+                long sum = 0;
+                for (int i = 0; i < ITERATIONS; i++) {
+                    counterAccessor.setInt(target, i);
+                    sum += counterAccessor.getInt(target);
+                }
+                return sum;
+            }));
+            report("Field.get/set (String)", measure(() -> {
+                long sum = 0;
+                for (int i = 0; i < ITERATIONS; i++) {
+                    textField.setAccessible(true);
+                    textField.set(target, "text");
+                    textField.setAccessible(true);
+                    sum += ((String) textField.get(target)).length();
+                }
+                return sum;
+            }));
+            report("FieldAccessor (String)", measure(() -> {
+                long sum = 0;
+                for (int i = 0; i < ITERATIONS; i++) {
+                    textAccessor.set(target, "text");
+                    sum += ((String) textAccessor.get(target)).length();
+                }
+                return sum;
+            }));
+            report("Direct (path)", measure(() -> {
+                long sum = 0;
+                for (int i = 0; i < ITERATIONS; i++) {
+                    target.inner.counter = i;
+                    Inner inner = target.inner;
+                    sum += inner == null ? 0 : inner.counter;
+                }
+                return sum;
+            }));
+            report("Two accessors (path)", measure(() -> {
+                long sum = 0;
+                for (int i = 0; i < ITERATIONS; i++) {
+                    target.inner.counter = i;
+                    sum += innerCounterAccessor.getInt(innerAccessor.get(target));
+                }
+                return sum;
+            }));
+            report("PathAccessor (path)", measure(() -> {
+                long sum = 0;
+                for (int i = 0; i < ITERATIONS; i++) {
+                    target.inner.counter = i;
+                    sum += pathAccessor.getInt(target);
+                }
+                return sum;
+            }));
+        }
+    }
+
+    private static long measure(Workload workload) throws Exception {
+        long start = System.nanoTime();
+        long result = workload.run();
+        long duration = System.nanoTime() - start;
+        if (result == 42) {
+            System.out.println("Unlikely result, only printed so the loop is not removed");
+        }
+        return duration;
+    }
+
+    private static void report(String name, long nanos) {
+        System.out.printf("  %-24s %6.2f ns/op%n", name, (double) nanos / ITERATIONS);
+    }
+
+    @FunctionalInterface
+    private interface Workload {
+        long run() throws Exception;
+    }
+}